@@ -0,0 +1,25 @@
+package com.axonivy.jmx;
+
+import java.net.InetSocketAddress;
+
+/**
+ * An embedded HTTP endpoint that serves the MBeans registered with {@link MBeans}.
+ * <ul>
+ * <li>{@code GET /metrics} serves the numeric attributes in the OpenMetrics text format (see {@link MBeans#writeOpenMetrics(Appendable)})</li>
+ * <li>{@code GET /mbeans?pattern=<object name pattern>} serves a JSON snapshot of the attributes of the MBeans that match the pattern.
+ * Without pattern all MBeans are served.</li>
+ * </ul>
+ * @see MBeans#startMetricsEndpoint(InetSocketAddress)
+ */
+public interface IMetricsEndpoint extends AutoCloseable {
+  /**
+   * @return address the endpoint listens on. Contains the real port if the endpoint was started with port 0.
+   */
+  InetSocketAddress getAddress();
+
+  /**
+   * Stops the endpoint
+   */
+  @Override
+  void close();
+}
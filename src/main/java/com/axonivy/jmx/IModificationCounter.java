@@ -0,0 +1,32 @@
+package com.axonivy.jmx;
+
+/**
+ * <p>Can be implemented by values of managed attributes to tell cheaply whether they have changed since the last read.
+ * Converters that cache the open data value of an attribute reuse the cached value as long as the modification count does not change.</p>
+ * <p>Currently used for {@link java.util.Properties}. Example:</p>
+ * <pre>
+ * public class Configuration extends Properties implements IModificationCounter
+ * {
+ * private final AtomicLong modifications = new AtomicLong();
+ *
+ * {@code @Override}
+ * public synchronized Object put(Object key, Object value)
+ * {
+ * modifications.incrementAndGet();
+ * return super.put(key, value);
+ * }
+ *
+ * {@code @Override}
+ * public long getModificationCount()
+ * {
+ * return modifications.get();
+ * }
+ * }
+ * </pre>
+ */
+public interface IModificationCounter {
+  /**
+   * @return a counter that changes every time the object is modified
+   */
+  long getModificationCount();
+}
@@ -0,0 +1,68 @@
+package com.axonivy.jmx;
+
+import java.lang.reflect.Type;
+
+import javax.management.openmbean.OpenType;
+
+/**
+ * <p>Strategy how to convert java types to {@link OpenType open types} and java values to open data values.
+ * Implement this interface to export attributes, items or operation parameters of types that are not supported out of the box.</p>
+ * <p>Strategies are either registered with {@link MBeans#addOpenTypeConverterStrategy(IOpenTypeConverterStrategy)}
+ * or discovered with the {@link java.util.ServiceLoader} by adding the fully qualified name of the implementation class
+ * to a <code>META-INF/services/com.axonivy.jmx.IOpenTypeConverterStrategy</code> file.
+ * Discovered strategies are loaded when the first type is converted, so their constructors may use {@link MBeans}.</p>
+ * <p>The strategy for a type is resolved once when the annotations of a {@link MBean} class are analyzed and not on every read of a value.</p>
+ * Example:
+ * <pre>
+ * public class DurationConverterStrategy implements IOpenTypeConverterStrategy
+ * {
+ * public boolean canHandle(Type type)
+ * {
+ * return Duration.class.equals(type);
+ * }
+ *
+ * public OpenType&lt;?&gt; toOpenType(Type type)
+ * {
+ * return SimpleType.LONG;
+ * }
+ *
+ * public IValueConverter getValueConverter(Type type)
+ * {
+ * return value -&gt; value == null ? null : ((Duration) value).toMillis();
+ * }
+ * }
+ * </pre>
+ */
+public interface IOpenTypeConverterStrategy {
+  /** Priority of the built-in strategies */
+  int DEFAULT_PRIORITY = 0;
+
+  /**
+   * @param type type
+   * @return true if the strategy can convert the given type to a {@link OpenType}.
+   */
+  boolean canHandle(Type type);
+
+  /**
+   * Convert the given java type to an {@link OpenType}.
+   * @param type type
+   * @return open type
+   */
+  OpenType<?> toOpenType(Type type);
+
+  /**
+   * @param type type
+   * @return a {@link IValueConverter converter} that can convert values of the given type to open data values
+   */
+  IValueConverter getValueConverter(Type type);
+
+  /**
+   * Strategies with a higher priority are asked first if they can handle a type.
+   * Strategies with a priority greater than {@link #DEFAULT_PRIORITY} are asked before the built-in strategies,
+   * all others after the built-in strategies.
+   * @return priority of the strategy
+   */
+  default int getPriority() {
+    return DEFAULT_PRIORITY;
+  }
+}
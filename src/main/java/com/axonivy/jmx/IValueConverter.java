@@ -0,0 +1,30 @@
+package com.axonivy.jmx;
+
+import javax.management.MBeanException;
+
+/**
+ * Converts java values of a certain type to jmx open data values and vice versa.
+ * @see IOpenTypeConverterStrategy#getValueConverter(java.lang.reflect.Type)
+ * @see javax.management.openmbean.OpenType
+ */
+public interface IValueConverter {
+  /**
+   * Converts the given java value to an open data value.
+   * The returned value must match the {@link IOpenTypeConverterStrategy#toOpenType(java.lang.reflect.Type) open type} of the strategy that provided this converter.
+   * @param javaValue java value to convert. May be null.
+   * @return open data value
+   * @throws MBeanException if the value cannot be converted
+   */
+  Object toOpenDataValue(Object javaValue) throws MBeanException;
+
+  /**
+   * Converts the given open data value back to a java value. Only called for writable attributes.
+   * The default implementation does not support the conversion.
+   * @param openDataValue open data value to convert. May be null.
+   * @return java value
+   * @throws MBeanException if the value cannot be converted
+   */
+  default Object toJavaValue(Object openDataValue) throws MBeanException {
+    throw new MBeanException(new IllegalStateException("Not supported"));
+  }
+}
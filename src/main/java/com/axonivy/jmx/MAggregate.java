@@ -0,0 +1,34 @@
+package com.axonivy.jmx;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Use this annotation together with {@link MAttribute} or {@link MSizeAttribute} on a numeric attribute to aggregate the attribute
+ * over all registered MBeans of the {@link MBean} class.<br>
+ * As long as MBeans of the class are registered an additional MBean {@code ivymx:type=Aggregate,mBeanType=<class name>} is registered.
+ * It provides the attribute {@code instances} and for every aggregated attribute a composite attribute with the same name and the items
+ * {@code count}, {@code sum}, {@code min}, {@code max} and {@code avg}. The aggregates are computed when they are read
+ * in one pass over the registered MBeans, which is done in parallel for many MBeans.<br>
+ * Example:
+ * <pre>
+ * package com.acme;
+ *
+ * {@code @MBean}("Engine:type=Worker,name=#{name}")
+ * class Worker
+ * {
+ * {@code @MAttribute}
+ * {@code @MAggregate}
+ * private int queueLength;
+ * }
+ * </pre>
+ * The total queue length of all workers is provided by the attribute {@code queueLength} of the MBean {@code ivymx:type=Aggregate,mBeanType=com.acme.Worker}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Inherited
+public @interface MAggregate {
+}
@@ -77,4 +77,13 @@ public @interface MAttribute {
    * @return real implementation type
    */
   Class<?> type() default Void.class;
+
+  /**
+   * If set to true then the attribute is read concurrently with the other attributes when a client reads several attributes of the MBean at once.
+   * Use it for attributes with slow getters, e.g. remote calls or database queries. Attributes that are not read within the
+   * {@link MBeans#setParallelAttributeReadTimeout(long, java.util.concurrent.TimeUnit) timeout} are left out of the result.
+   * @return true if the attribute should be read in parallel
+   * @see MBean#parallelAttributes()
+   */
+  boolean parallel() default false;
 }
@@ -43,4 +43,10 @@ public @interface MBean {
    * @return true if the name should be made unique.
    */
   boolean makeNameUnique() default false;
+
+  /**
+   * If set to true then all attributes of the bean are read in parallel like attributes with {@link MAttribute#parallel()}.
+   * @return true if all attributes should be read in parallel
+   */
+  boolean parallelAttributes() default false;
 }
@@ -1,8 +1,13 @@
 package com.axonivy.jmx;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import com.axonivy.jmx.internal.MBeanManager;
 
@@ -20,6 +25,7 @@ import com.axonivy.jmx.internal.MBeanManager;
  * }
  * }
  * </pre>
+ * <p>Registered objects are identified by identity. Their {@link Object#equals(Object)} and {@link Object#hashCode()} methods are never called.</p>
  */
 public class MBeans {
   private static MBeanManager manager = MBeanManager.getInstance();
@@ -30,8 +36,20 @@ public class MBeans {
     manager.registerMBeanFor(object);
   }
 
+  /**
+   * <p>Registers the object as MBean but does not prevent it from being garbage collected.
+   * Once the object is garbage collected its MBean and the MBeans of its composition references are unregistered in the background.
+   * The number of MBeans unregistered this way is provided by the MBean {@code ivymx:type=Diagnostics}.</p>
+   * <p>An object must not be registered weakly and with {@link #registerMBeanFor(Object)} at the same time.</p>
+   * @param object object to register as MBean
+   */
+  public static void registerMBeanWeaklyFor(Object object) {
+    manager.registerMBeanWeaklyFor(object);
+  }
+
   /**
    * Registers all objects in the given collection that are MBeans ({@link #isMBean(Object)}).
+   * The MBeans of large collections are prepared in parallel.
    * @param objects objects to register as MBeans
    * @see #isMBean(Object)
    * @see #registerMBeanFor(Object)
@@ -52,8 +70,31 @@ public class MBeans {
     manager.unregisterMBeanFor(object);
   }
 
+  /**
+   * Evaluates the {@link MCompositionReference composition references} of the given registered MBean and of its composition MBeans again.
+   * MBeans of objects that are no longer referenced are unregistered and MBeans of newly referenced objects are registered.
+   * Unchanged composition MBeans stay registered.
+   * @param parent registered MBean object
+   * @return number of composition references that changed
+   * @see #setCompositionRefreshInterval(long, TimeUnit)
+   */
+  public static int refreshCompositions(Object parent) {
+    return manager.refreshCompositions(parent);
+  }
+
+  /**
+   * Refreshes the {@link MCompositionReference composition references} of all registered MBeans periodically in the background.
+   * @param interval interval between two refreshes. 0 to stop refreshing
+   * @param unit unit of the interval
+   * @see #refreshCompositions(Object)
+   */
+  public static void setCompositionRefreshInterval(long interval, TimeUnit unit) {
+    manager.setCompositionRefreshInterval(interval, unit);
+  }
+
   /**
    * Unregisters all objects in the given collection that are MBeans ({@link #isMBean(Object)}).
+   * The MBeans of large collections are unregistered in parallel.
    * @param objects Objects to unregister
    * @see #isMBean(Object)
    * @see #unregisterMBeanFor(Object)
@@ -62,6 +103,41 @@ public class MBeans {
     manager.unregisterMBeansFor(objects);
   }
 
+  /**
+   * Queries the MBeans registered by this library. In contrast to {@link MBeanServer#queryNames(ObjectName, javax.management.QueryExp)}
+   * only the MBeans that match the domain and key properties of the pattern are evaluated and other MBeans of the MBean server are not considered.
+   * @param pattern object name or object name pattern, e.g. {@code Ivy:type=Case,app=X,*}
+   * @return names of the registered MBeans that match the pattern
+   */
+  public static Set<ObjectName> query(ObjectName pattern) {
+    return manager.queryNames(pattern);
+  }
+
+  /**
+   * Unregisters all MBeans registered by this library whose object name matches the pattern.
+   * MBeans of composition references are unregistered together with their parent.
+   * Use it for example to unregister all MBeans of an application that is undeployed.
+   * @param pattern object name or object name pattern
+   * @return number of MBeans that matched the pattern
+   */
+  public static int unregisterMBeans(ObjectName pattern) {
+    return manager.unregisterMBeans(pattern);
+  }
+
+  /**
+   * <p>Limits the rate at which the {@link MCollections managed collections} register MBeans, so that churn storms
+   * do not make the MBean server a bottleneck. Registrations never block. Registrations that exceed the limit are
+   * dropped, deferred or only counted according to the given policy. Unregistrations are not limited.
+   * MBeans registered directly with {@link #registerMBeanFor(Object)} are not limited.</p>
+   * <p>The limiter is registered as MBean {@code ivymx:type=RegistrationLimiter} that provides the number of dropped,
+   * deferred and aggregated registrations.</p>
+   * @param permitsPerSecond maximum number of registrations per second. 0 to not limit the registrations. Deferred registrations are then done immediately.
+   * @param policy what to do with registrations that exceed the limit
+   */
+  public static void setRegistrationRateLimit(int permitsPerSecond, MRateLimitPolicy policy) {
+    manager.setRegistrationRateLimit(permitsPerSecond, policy);
+  }
+
   public static void unregisterAllMBeans() {
     manager.unregisterAllMBeans();
   }
@@ -82,4 +158,91 @@ public class MBeans {
   public static void setRegisterMBeanErrorStrategy(IRegisterMBeanErrorStrategy strategy) {
     manager.setRegisterMBeanErrorStrategy(strategy);
   }
+
+  /**
+   * Enables or disables the recording of statistics about the management library itself, like registration latency, attribute read latency per
+   * MBean type and @MCache hit ratio. The statistics are provided by the MBean {@code ivymx:type=Diagnostics} and the MBeans
+   * {@code ivymx:type=Diagnostics,mBeanType=...}. By default the statistics are not recorded.
+   * @param enabled true to record statistics
+   */
+  public static void setDiagnosticsEnabled(boolean enabled) {
+    manager.setDiagnosticsEnabled(enabled);
+  }
+
+  /**
+   * Attribute reads and operation invocations that take longer than the given threshold are logged as warning.
+   * Only recorded if the diagnostics are {@link #setDiagnosticsEnabled(boolean) enabled}. The slowest calls of each MBean type are
+   * provided by the attribute {@code slowestCalls} of the MBeans {@code ivymx:type=Diagnostics,mBeanType=...}.
+   * @param threshold threshold. 0 to log no warnings
+   * @param unit unit of the threshold
+   */
+  public static void setSlowCallWarningThreshold(long threshold, TimeUnit unit) {
+    manager.setSlowCallWarningThreshold(threshold, unit);
+  }
+
+  /**
+   * Sets the time a client waits for the {@link MAttribute#parallel() parallel} attributes when it reads several attributes of an MBean at once.
+   * Attributes that are not read within the timeout are cancelled and left out of the result. The default is 10 seconds.
+   * @param timeout timeout. Must be greater than 0
+   * @param unit unit of the timeout
+   */
+  public static void setParallelAttributeReadTimeout(long timeout, TimeUnit unit) {
+    manager.setParallelAttributeReadTimeout(timeout, unit);
+  }
+
+  /**
+   * <p>Writes the numeric and boolean attributes of all registered MBeans in the OpenMetrics text format.
+   * The values are read directly from the MBeans without a round trip through the MBean server.</p>
+   * <p>The name of a metric is built from the domain and the {@code type} key property of the object name and the name of the attribute.
+   * All other key properties become labels. E.g. the attribute {@code count} of the MBean {@code Engine:type=Process,name=order} is exported as
+   * {@code Engine_Process_count{name="order"}}.</p>
+   * <p>Pass a reused {@link StringBuilder} as buffer or use {@link java.nio.channels.Channels#newWriter} to write to a channel.</p>
+   * @param out output to write to
+   * @throws IOException if writing to the output fails
+   */
+  public static void writeOpenMetrics(Appendable out) throws IOException {
+    manager.writeOpenMetrics(out);
+  }
+
+  /**
+   * Starts an embedded HTTP endpoint that serves the registered MBeans as OpenMetrics and as JSON snapshot.
+   * Scrapers can use it instead of a JMX connector.
+   * @param address address to listen on, e.g. {@code new InetSocketAddress(InetAddress.getLoopbackAddress(), 9400)}
+   * @return started endpoint. Close it to stop it.
+   * @throws IOException if the endpoint cannot be started
+   * @see IMetricsEndpoint
+   */
+  public static IMetricsEndpoint startMetricsEndpoint(InetSocketAddress address) throws IOException {
+    return manager.startMetricsEndpoint(address);
+  }
+
+  /**
+   * Limits the stack traces that are rendered for attributes of type {@link Throwable}.
+   * By default stack traces are not limited.
+   * @param maxFrames maximum number of stack frames rendered per throwable. Negative for no limit.
+   * @param maxCauses maximum number of causes rendered. Negative for no limit.
+   */
+  public static void setThrowableStackTraceLimits(int maxFrames, int maxCauses) {
+    manager.setThrowableStackTraceLimits(maxFrames, maxCauses);
+  }
+
+  /**
+   * Adds a strategy that converts java types to open types. Strategies can also be provided with the {@link java.util.ServiceLoader}.
+   * The strategy is only used for {@link MBean} classes that are analyzed after the strategy was added.
+   * @param strategy the strategy to add
+   * @see IOpenTypeConverterStrategy
+   */
+  public static void addOpenTypeConverterStrategy(IOpenTypeConverterStrategy strategy) {
+    manager.addOpenTypeConverterStrategy(strategy);
+  }
+
+  /**
+   * Removes a strategy that was added with {@link #addOpenTypeConverterStrategy(IOpenTypeConverterStrategy)} or provided with the {@link java.util.ServiceLoader}.
+   * {@link MBean} classes that were analyzed before the strategy was removed keep converting their types with it.
+   * @param strategy the strategy to remove. Nothing is done if the strategy was not added.
+   * @see IOpenTypeConverterStrategy
+   */
+  public static void removeOpenTypeConverterStrategy(IOpenTypeConverterStrategy strategy) {
+    manager.removeOpenTypeConverterStrategy(strategy);
+  }
 }
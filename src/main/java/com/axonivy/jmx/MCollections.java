@@ -1,10 +1,23 @@
 package com.axonivy.jmx;
 
+import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
+import javax.management.ObjectName;
+
+import com.axonivy.jmx.internal.MBeanManager;
+import com.axonivy.jmx.internal.MConcurrentMap;
+import com.axonivy.jmx.internal.MDeferredMap;
+import com.axonivy.jmx.internal.MDeque;
 import com.axonivy.jmx.internal.MList;
 import com.axonivy.jmx.internal.MMap;
+import com.axonivy.jmx.internal.MQueue;
+import com.axonivy.jmx.internal.MSet;
 
 /**
  * A managed collection automatically registers MBeans added to the collection and unregister them if they are removed from the collection.<br>
@@ -24,6 +37,19 @@ public class MCollections {
     return new MList<>(originalList);
   }
 
+  /**
+   * Converts the given list to a managed list that registers only a sample of the added MBeans. MBeans removed are unregistered.
+   * The sampling policy is registered as MBean that counts the added, removed and sampled MBeans.
+   * @param originalList list to convert to a managed list.
+   * @param sampling sampling policy
+   * @param <T> list element type
+   * @return managed list
+   */
+  public static <T> List<T> managedList(List<T> originalList, MSampling sampling) {
+    MBeans.registerMBeanFor(sampling);
+    return new MList<>(originalList, sampling.getSampler());
+  }
+
   /**
    * Converts the given map to a managed map. MBeans put are automatically register. MBeans removed are unregistered.
    * @param originalMap map to convert to a managed map.
@@ -34,4 +60,101 @@ public class MCollections {
   public static <T, V> Map<T, V> managedMap(Map<T, V> originalMap) {
     return new MMap<>(originalMap);
   }
+
+  /**
+   * Converts the given map to a managed map that registers only a sample of the put MBeans. MBeans removed are unregistered.
+   * The sampling policy is registered as MBean that counts the added, removed and sampled MBeans.
+   * @param originalMap map to convert to a managed map.
+   * @param sampling sampling policy
+   * @param <T> map key type
+   * @param <V> map value type
+   * @return managed map
+   */
+  public static <T, V> Map<T, V> managedMap(Map<T, V> originalMap, MSampling sampling) {
+    MBeans.registerMBeanFor(sampling);
+    return new MMap<>(originalMap, sampling.getSampler());
+  }
+
+  /**
+   * Converts the given set to a managed set. MBeans added are automatically register. MBeans removed are unregistered, also if they are removed by an iterator.
+   * No additional locks are taken on the original set.
+   * @param originalSet set to convert to a managed set.
+   * @param <T> set element type
+   * @return managed set
+   */
+  public static <T> Set<T> managedSet(Set<T> originalSet) {
+    return new MSet<>(originalSet);
+  }
+
+  /**
+   * Converts the given queue to a managed queue. MBeans added are automatically register. MBeans removed are unregistered, also if they are removed by an iterator.
+   * No additional locks are taken on the original queue.
+   * @param originalQueue queue to convert to a managed queue.
+   * @param <T> queue element type
+   * @return managed queue
+   */
+  public static <T> Queue<T> managedQueue(Queue<T> originalQueue) {
+    return new MQueue<>(originalQueue);
+  }
+
+  /**
+   * Converts the given deque to a managed deque. MBeans added are automatically register. MBeans removed are unregistered, also if they are removed by an iterator.
+   * No additional locks are taken on the original deque.
+   * @param originalDeque deque to convert to a managed deque.
+   * @param <T> deque element type
+   * @return managed deque
+   */
+  public static <T> Deque<T> managedDeque(Deque<T> originalDeque) {
+    return new MDeque<>(originalDeque);
+  }
+
+  /**
+   * Removes the given keys from the map. The MBeans of a {@link #managedMap(Map) managed map} are unregistered in one batch.
+   * @param map map to remove the keys from
+   * @param keys keys to remove
+   * @param <T> map key type
+   */
+  public static <T> void removeAll(Map<T, ?> map, Collection<? extends T> keys) {
+    if (map instanceof MMap) {
+      ((MMap<T, ?>) map).removeAll(keys);
+    } else if (map instanceof MConcurrentMap) {
+      ((MConcurrentMap<T, ?>) map).removeAll(keys);
+    } else {
+      for (T key : keys) {
+        map.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Converts the given concurrent map to a managed concurrent map. MBeans put are automatically register. MBeans removed are unregistered.<br>
+   * In contrast to {@link #managedMap(Map)} the MBeans are not registered within the locks of the original map,
+   * but after the update of a key is done. Concurrent updates of the same key leave the current value of the key registered.
+   * @param originalMap concurrent map to convert to a managed concurrent map.
+   * @param <T> map key type
+   * @param <V> map value type
+   * @return managed concurrent map
+   */
+  public static <T, V> ConcurrentMap<T, V> managedConcurrentMap(ConcurrentMap<T, V> originalMap) {
+    return new MConcurrentMap<>(originalMap);
+  }
+
+  /**
+   * Converts the given map to a deferred managed map. MBeans put are not registered. Instead the map is registered as one MBean with the given name
+   * that provides the number of entries and operations to list the keys and to look up an entry. The MBean of an entry is registered on first interest,
+   * i.e. if it is looked up or if it is {@link MBeans#query(ObjectName) queried} by its exact object name. Queries with object name patterns do not register entries.
+   * Registered entry MBeans are unregistered if they are removed from the map.
+   * Unregister the map with {@link MBeans#unregisterMBeanFor(Object)} to unregister it together with all registered entry MBeans.<br>
+   * Use it for maps with many entries of which only a few are ever inspected.
+   * @param originalMap concurrent map to convert to a deferred managed map. The JMX operations of the map iterate it concurrently to the application.
+   * @param name object name of the MBean of the map
+   * @param <T> map key type
+   * @param <V> map value type
+   * @return deferred managed map
+   */
+  public static <T, V> Map<T, V> managedDeferredMap(ConcurrentMap<T, V> originalMap, ObjectName name) {
+    MDeferredMap<T, V> map = new MDeferredMap<>(originalMap);
+    MBeanManager.getInstance().registerDeferredMBeans(map, name);
+    return map;
+  }
 }
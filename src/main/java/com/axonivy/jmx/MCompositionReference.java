@@ -11,8 +11,10 @@ import java.lang.annotation.Target;
  *  if the parent {@link MBean mbean} (the {@link MBean mbean} containing the annotated fields or methods) is registered or unregistered.</p>
  *  <p>Warning:<br>
  *  Only use this annotation on fields or methods that references the same composition {@link MBean mbean} during the whole lifecycle of the parent {@link MBean mbean}.<br>
- *  If one changes the referenced object after the parent {@link MBean mbean} is registered then the framework <b>does not</b> unregister the old composition {@link MBean mbean}<br>
- *  and registers the new referenced composition {@link MBean mbean}. Moreover the old composition {@link MBean mbean} will still be strong referenced by the framework and therefore
+ *  The composition references are evaluated once when the parent {@link MBean mbean} is registered.
+ *  If one changes the referenced object after the parent {@link MBean mbean} is registered then the framework <b>does not</b> register the new referenced composition {@link MBean mbean}
+ *  until {@link MBeans#refreshCompositions(Object)} is called or the {@link MBeans#setCompositionRefreshInterval(long, java.util.concurrent.TimeUnit) periodic refresh} runs.<br>
+ *  Until then the old composition {@link MBean mbean} stays registered. It will still be strong referenced by the framework and therefore
  *  not garbage collected as long as the parent bean is registered.</p>
  *  <p>Example:</p>
  *  <pre>
@@ -0,0 +1,17 @@
+package com.axonivy.jmx;
+
+/**
+ * What to do with the registrations of managed collections that exceed the
+ * {@link MBeans#setRegistrationRateLimit(int, MRateLimitPolicy) registration rate limit}
+ */
+public enum MRateLimitPolicy {
+  /** The MBean is not registered. The number of dropped registrations is counted */
+  DROP,
+  /**
+   * The registration is queued and done as soon as the rate limit allows it. The queue coalesces registrations:
+   * An object is queued once and an object removed from its collection before it is registered is never registered.
+   */
+  DEFER,
+  /** The MBean is not registered but counted per MBean type as long as its object is in its collection */
+  AGGREGATE_ONLY
+}
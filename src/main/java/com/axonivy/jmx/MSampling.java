@@ -0,0 +1,74 @@
+package com.axonivy.jmx;
+
+import java.util.List;
+import java.util.Map;
+
+import com.axonivy.jmx.internal.MSampler;
+
+/**
+ * <p>Sampling policy for {@link MCollections#managedList(List, MSampling) managed lists} and {@link MCollections#managedMap(Map, MSampling) managed maps}
+ * with a high churn, e.g. of objects that live for one request only. Only a sample of the added MBeans is registered.
+ * The others are only counted. The sampling decision takes no locks.</p>
+ * <p>The policy itself is an MBean that provides the counters. It is registered by the managed collections that use it.</p>
+ * Example:
+ * <pre>{@code private Map<String, Request> requests = MCollections.managedMap(new ConcurrentHashMap<>(), MSampling.reservoir("requests", 20));}</pre>
+ */
+@MBean(value = "ivymx:type=Sampling,name=#{name}", description = "Counters of a sampled managed collection")
+public final class MSampling {
+  private final String name;
+  private final MSampler sampler;
+
+  private MSampling(String name, MSampler sampler) {
+    this.name = name;
+    this.sampler = sampler;
+  }
+
+  /**
+   * Registers every n-th added MBean
+   * @param name name of the policy MBean
+   * @param n sample interval. 1 registers every MBean
+   * @return sampling policy
+   */
+  public static MSampling everyNth(String name, int n) {
+    return new MSampling(name, MSampler.everyNth(n));
+  }
+
+  /**
+   * Registers a random sample of at most the given size of the added MBeans (reservoir sampling).
+   * Samples that are removed from the collection are replaced by the next added MBeans.
+   * @param name name of the policy MBean
+   * @param size maximum number of registered MBeans
+   * @return sampling policy
+   */
+  public static MSampling reservoir(String name, int size) {
+    return new MSampling(name, MSampler.reservoir(size));
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  @MAttribute(description = "Number of MBeans added to the collections")
+  public long getAddedCount() {
+    return sampler.getAddedCount();
+  }
+
+  @MAttribute(description = "Number of MBeans removed from the collections")
+  public long getRemovedCount() {
+    return sampler.getRemovedCount();
+  }
+
+  @MAttribute(description = "Number of MBeans in the collections that are registered")
+  public long getSampledCount() {
+    return sampler.getSampledCount();
+  }
+
+  @MAttribute(description = "Number of MBeans in the collections that are not registered")
+  public long getUnsampledCount() {
+    return sampler.getAddedCount() - sampler.getRemovedCount() - sampler.getSampledCount();
+  }
+
+  MSampler getSampler() {
+    return sampler;
+  }
+}
@@ -0,0 +1,50 @@
+package com.axonivy.jmx.internal;
+
+import javax.management.ObjectName;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the read of an MBean attribute
+ */
+@Name("com.axonivy.jmx.AttributeRead")
+@Label("MBean Attribute Read")
+@Description("Read of an MBean attribute")
+@Category("ivymx")
+class AttributeReadEvent extends Event {
+  private static final AttributeReadEvent PROTOTYPE = new AttributeReadEvent();
+
+  @Label("Object Name")
+  String objectName;
+
+  @Label("Attribute")
+  String attribute;
+
+  @Label("Outcome")
+  String outcome;
+
+  /**
+   * @return started event or null if the event is disabled
+   */
+  static AttributeReadEvent start() {
+    if (!PROTOTYPE.isEnabled()) {
+      return null;
+    }
+    AttributeReadEvent event = new AttributeReadEvent();
+    event.begin();
+    return event;
+  }
+
+  void end(ObjectName name, String attributeName, Throwable error) {
+    if (shouldCommit()) {
+      objectName = String.valueOf(name);
+      attribute = attributeName;
+      outcome = MEvents.outcome(error);
+      commit();
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.axonivy.jmx.internal;
+
+import java.util.Map;
+
+import javax.management.ObjectName;
+
+/**
+ * Values of one attribute read from many MBeans. Converted to tabular data by {@link AttributeValuesConverterStrategy}.
+ */
+final class AttributeValues {
+  private final Map<ObjectName, String> values;
+
+  AttributeValues(Map<ObjectName, String> values) {
+    this.values = values;
+  }
+
+  Map<ObjectName, String> getValues() {
+    return values;
+  }
+}
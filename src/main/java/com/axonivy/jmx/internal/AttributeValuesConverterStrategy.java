@@ -0,0 +1,80 @@
+package com.axonivy.jmx.internal;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+import javax.management.MBeanException;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+
+import com.axonivy.jmx.MException;
+
+/**
+ * Strategy that converts {@link AttributeValues} to tabular data with the object name of the MBean as index and the value of the attribute
+ */
+class AttributeValuesConverterStrategy implements OpenTypeConverterStrategy {
+  private static final String OBJECT_NAME_ITEM = "objectName";
+  private static final String VALUE_ITEM = "value";
+  private static final String[] ITEMS = {OBJECT_NAME_ITEM, VALUE_ITEM};
+  private static final CompositeType ATTRIBUTE_VALUE;
+  private static final TabularType ATTRIBUTE_VALUES;
+
+  static {
+    try {
+      ATTRIBUTE_VALUE = new CompositeType("AttributeValue", "Value of an attribute of an MBean", ITEMS, new String[] {"Object name of the MBean", "Value of the attribute"},
+          new OpenType<?>[] {SimpleType.OBJECTNAME, SimpleType.STRING});
+      ATTRIBUTE_VALUES = new TabularType("AttributeValues", "Values of an attribute of many MBeans", ATTRIBUTE_VALUE, new String[] {OBJECT_NAME_ITEM});
+    } catch (OpenDataException ex) {
+      throw new MException(ex);
+    }
+  }
+
+  @Override
+  public boolean canHandle(Type type) {
+    return AttributeValues.class.equals(type);
+  }
+
+  @Override
+  public OpenType<?> toOpenType(Type type) {
+    return ATTRIBUTE_VALUES;
+  }
+
+  @Override
+  public AbstractValueConverter getValueConverter(Type type) {
+    return AttributeValuesConverter.INSTANCE;
+  }
+
+  private static class AttributeValuesConverter extends AbstractValueConverter {
+    static final AbstractValueConverter INSTANCE = new AttributeValuesConverter();
+
+    private AttributeValuesConverter() {}
+
+    @Override
+    protected Object toOpenDataValue(Object javaValue) throws MBeanException {
+      if (javaValue == null) {
+        return null;
+      }
+      try {
+        TabularData tabularData = new TabularDataSupport(ATTRIBUTE_VALUES);
+        for (Map.Entry<ObjectName, String> entry : ((AttributeValues) javaValue).getValues().entrySet()) {
+          tabularData.put(new CompositeDataSupport(ATTRIBUTE_VALUE, ITEMS, new Object[] {entry.getKey(), entry.getValue()}));
+        }
+        return tabularData;
+      } catch (OpenDataException ex) {
+        throw new MBeanException(ex);
+      }
+    }
+
+    @Override
+    protected Object toJavaValue(Object openDataValue) throws MBeanException {
+      throw new MBeanException(new UnsupportedOperationException("Attribute values cannot be converted from open data"));
+    }
+  }
+}
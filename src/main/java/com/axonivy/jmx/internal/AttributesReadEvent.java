@@ -0,0 +1,50 @@
+package com.axonivy.jmx.internal;
+
+import javax.management.ObjectName;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the bulk read of multiple attributes of an MBean
+ */
+@Name("com.axonivy.jmx.AttributesRead")
+@Label("MBean Attributes Read")
+@Description("Bulk read of multiple attributes of an MBean")
+@Category("ivymx")
+class AttributesReadEvent extends Event {
+  private static final AttributesReadEvent PROTOTYPE = new AttributesReadEvent();
+
+  @Label("Object Name")
+  String objectName;
+
+  @Label("Requested Attributes")
+  int requestedAttributes;
+
+  @Label("Failed Attributes")
+  int failedAttributes;
+
+  /**
+   * @return started event or null if the event is disabled
+   */
+  static AttributesReadEvent start() {
+    if (!PROTOTYPE.isEnabled()) {
+      return null;
+    }
+    AttributesReadEvent event = new AttributesReadEvent();
+    event.begin();
+    return event;
+  }
+
+  void end(ObjectName name, int requested, int failed) {
+    if (shouldCommit()) {
+      objectName = String.valueOf(name);
+      requestedAttributes = requested;
+      failedAttributes = failed;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.axonivy.jmx.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import com.axonivy.jmx.MCache;
+
+/**
+ * Flight recorder event for the refresh of the value of an attribute that is cached with {@link MCache}
+ */
+@Name("com.axonivy.jmx.CacheRefresh")
+@Label("MBean Attribute Cache Refresh")
+@Description("Refresh of the cached value of an MBean attribute")
+@Category("ivymx")
+class CacheRefreshEvent extends Event {
+  private static final CacheRefreshEvent PROTOTYPE = new CacheRefreshEvent();
+
+  @Label("Accessor")
+  @Description("Method that provides the cached value")
+  String accessor;
+
+  @Label("Outcome")
+  String outcome;
+
+  /**
+   * @return started event or null if the event is disabled
+   */
+  static CacheRefreshEvent start() {
+    if (!PROTOTYPE.isEnabled()) {
+      return null;
+    }
+    CacheRefreshEvent event = new CacheRefreshEvent();
+    event.begin();
+    return event;
+  }
+
+  void end(String accessName, Throwable error) {
+    if (shouldCommit()) {
+      accessor = accessName;
+      outcome = MEvents.outcome(error);
+      commit();
+    }
+  }
+}
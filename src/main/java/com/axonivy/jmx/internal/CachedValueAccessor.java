@@ -7,22 +7,41 @@ import com.axonivy.jmx.MCache;
 class CachedValueAccessor extends AbstractValueAccessor {
   private final MethodBasedValueAccessor methodAccessor;
   private final MCache config;
+  private final MDiagnostics diagnostics;
   private Object cache;
   private long lastReadTimestamp = 0;
 
-  CachedValueAccessor(MethodBasedValueAccessor methodAccessor, MCache config) {
+  CachedValueAccessor(MethodBasedValueAccessor methodAccessor, MCache config, MDiagnostics diagnostics) {
     this.methodAccessor = methodAccessor;
     this.config = config;
+    this.diagnostics = diagnostics;
   }
 
   @Override
   protected Object getValueFromTarget(Object target) throws MBeanException {
     if (isOutdated()) {
+      diagnostics.cacheMissed();
+      return refreshCache(target);
+    }
+    diagnostics.cacheHit();
+    return getCache();
+  }
+
+  private Object refreshCache(Object target) throws MBeanException {
+    CacheRefreshEvent event = MEvents.isRecording() ? CacheRefreshEvent.start() : null;
+    Throwable error = null;
+    try {
       Object value = methodAccessor.getValue(target);
       setCache(value);
       return value;
+    } catch (Throwable ex) {
+      error = ex;
+      throw ex;
+    } finally {
+      if (event != null) {
+        event.end(getAccessName(), error);
+      }
     }
-    return getCache();
   }
 
   @Override
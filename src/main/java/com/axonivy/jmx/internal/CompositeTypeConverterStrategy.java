@@ -1,7 +1,6 @@
 package com.axonivy.jmx.internal;
 
 import java.lang.reflect.Type;
-import java.util.concurrent.ConcurrentHashMap;
 
 import javax.management.openmbean.CompositeType;
 import javax.management.openmbean.OpenType;
@@ -14,8 +13,13 @@ import com.axonivy.jmx.MComposite;
  * @since 01.07.2013
  */
 class CompositeTypeConverterStrategy implements OpenTypeConverterStrategy {
-  private ConcurrentHashMap<Class<?>, MCompositeType> mCompositeTypes = new ConcurrentHashMap<Class<?>, MCompositeType>();
-  private MBeanManager manager;
+  private final ClassValue<MCompositeType> mCompositeTypes = new ClassValue<MCompositeType>() {
+    @Override
+    protected MCompositeType computeValue(Class<?> mCompositeClass) {
+      return new MCompositeType(manager, mCompositeClass);
+    }
+  };
+  private final MBeanManager manager;
 
   CompositeTypeConverterStrategy(MBeanManager manager) {
     this.manager = manager;
@@ -36,16 +40,7 @@ class CompositeTypeConverterStrategy implements OpenTypeConverterStrategy {
   }
 
   private MCompositeType getMCompositeType(Type mCompositeClass) {
-    Class<?> clazz = (Class<?>) mCompositeClass;
-    MCompositeType mCompositeType = mCompositeTypes.get(clazz);
-    if (mCompositeType == null) {
-      mCompositeType = new MCompositeType(manager, clazz);
-      MCompositeType alreadyRegistered = mCompositeTypes.putIfAbsent(clazz, mCompositeType);
-      if (alreadyRegistered != null) {
-        mCompositeType = alreadyRegistered;
-      }
-    }
-    return mCompositeType;
+    return mCompositeTypes.get((Class<?>) mCompositeClass);
   }
 
   @Override
@@ -0,0 +1,66 @@
+package com.axonivy.jmx.internal;
+
+import java.lang.reflect.Type;
+
+import javax.management.MBeanException;
+import javax.management.openmbean.OpenType;
+
+import com.axonivy.jmx.IOpenTypeConverterStrategy;
+import com.axonivy.jmx.IValueConverter;
+
+/**
+ * Adapts a public {@link IOpenTypeConverterStrategy} to the internal {@link OpenTypeConverterStrategy}.
+ */
+class CustomOpenTypeConverterStrategy implements OpenTypeConverterStrategy {
+  private final IOpenTypeConverterStrategy strategy;
+
+  CustomOpenTypeConverterStrategy(IOpenTypeConverterStrategy strategy) {
+    this.strategy = strategy;
+  }
+
+  @Override
+  public boolean canHandle(Type type) {
+    return strategy.canHandle(type);
+  }
+
+  @Override
+  public OpenType<?> toOpenType(Type type) {
+    return strategy.toOpenType(type);
+  }
+
+  @Override
+  public AbstractValueConverter getValueConverter(Type type) {
+    IValueConverter converter = strategy.getValueConverter(type);
+    if (converter == null) {
+      throw new IllegalArgumentException("Strategy '" + strategy + "' does not provide a value converter for type '" + type + "'");
+    }
+    return new CustomValueConverter(converter);
+  }
+
+  @Override
+  public int getPriority() {
+    return strategy.getPriority();
+  }
+
+  IOpenTypeConverterStrategy getStrategy() {
+    return strategy;
+  }
+
+  private static class CustomValueConverter extends AbstractValueConverter {
+    private final IValueConverter converter;
+
+    private CustomValueConverter(IValueConverter converter) {
+      this.converter = converter;
+    }
+
+    @Override
+    protected Object toOpenDataValue(Object javaValue) throws MBeanException {
+      return converter.toOpenDataValue(javaValue);
+    }
+
+    @Override
+    protected Object toJavaValue(Object openDataValue) throws MBeanException {
+      return converter.toJavaValue(openDataValue);
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.axonivy.jmx.internal;
+
+import javax.management.ObjectName;
+
+/**
+ * MBean that holds objects whose MBeans are only registered on demand.
+ * @see MDeferredMap
+ */
+public interface DeferredMBeans {
+  /**
+   * Registers the MBean of the held object with the given object name
+   * @param name object name. Not a pattern
+   */
+  void materialize(ObjectName name);
+
+  /**
+   * Unregisters all MBeans registered on demand
+   */
+  void release();
+}
@@ -3,6 +3,7 @@ package com.axonivy.jmx.internal;
 import javax.management.MBeanException;
 import javax.management.openmbean.OpenMBeanAttributeInfo;
 import javax.management.openmbean.OpenMBeanAttributeInfoSupport;
+import javax.management.openmbean.OpenType;
 
 import com.axonivy.jmx.MException;
 
@@ -17,6 +18,8 @@ class DynamicMAttribute {
   private Instruction nameInstruction;
   private Instruction descriptionInstruction;
   private AbstractValueAccessor targetAccessor;
+  private boolean aggregated;
+  private boolean parallel;
 
   DynamicMAttribute(AbstractValueAccessor valueAccessor, AbstractValueAccessor targetAccessor, OpenMBeanAttributeInfo mBeanInfo, Instruction nameInstruction, Instruction descriptionInstruction) {
     this.valueAccessor = valueAccessor;
@@ -67,6 +70,38 @@ class DynamicMAttribute {
     mBeanInstanceInfo.addAttribute(this, evaluateInfo(mBean));
   }
 
+  String getName() {
+    return mBeanInfo.getName();
+  }
+
+  OpenType<?> getOpenType() {
+    return mBeanInfo.getOpenType();
+  }
+
+  /**
+   * Marks the attribute to be aggregated over all MBeans of its type
+   * @see com.axonivy.jmx.MAggregate
+   */
+  void setAggregated() {
+    aggregated = true;
+  }
+
+  boolean isAggregated() {
+    return aggregated;
+  }
+
+  /**
+   * Marks the attribute to be read concurrently with the other attributes of a getAttributes call
+   * @see com.axonivy.jmx.MAttribute#parallel()
+   */
+  void setParallel() {
+    parallel = true;
+  }
+
+  boolean isParallel() {
+    return parallel;
+  }
+
   boolean isWritable() {
     return mBeanInfo.isWritable();
   }
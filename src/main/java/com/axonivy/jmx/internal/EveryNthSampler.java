@@ -0,0 +1,23 @@
+package com.axonivy.jmx.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registers every n-th added MBean. The decision is a single atomic increment.
+ */
+class EveryNthSampler extends MSampler {
+  private final AtomicLong addCount = new AtomicLong();
+  private final int n;
+
+  EveryNthSampler(int n) {
+    if (n < 1) {
+      throw new IllegalArgumentException("Sample interval must be at least 1 but was " + n);
+    }
+    this.n = n;
+  }
+
+  @Override
+  protected boolean sample(Object object) {
+    return addCount.getAndIncrement() % n == 0;
+  }
+}
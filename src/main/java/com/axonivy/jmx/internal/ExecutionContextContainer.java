@@ -26,6 +26,24 @@ public class ExecutionContextContainer implements IExecutionContext {
     return context.call();
   }
 
+  /**
+   * Executes the callee like {@link #executeInContext(Callable)} and records the time spent in the execution contexts without the time of the callee
+   * @param callee the callee to execute
+   * @param diagnostics diagnostics to record the overhead of the execution contexts to
+   * @return result of the callee
+   * @throws Exception if the callee or an execution context throws an exception
+   */
+  <T> T executeInContext(Callable<T> callee, MDiagnostics diagnostics) throws Exception {
+    long startTime = System.nanoTime();
+    ContainerExecutionContext<T> context = new ContainerExecutionContext<T>(callee);
+    context.fTimed = true;
+    try {
+      return context.call();
+    } finally {
+      diagnostics.executedInContext(System.nanoTime() - startTime - context.fCalleeTime);
+    }
+  }
+
   /**
    * Add the given execution context to the container
    * @param executionContext the execution context to add
@@ -58,6 +76,10 @@ public class ExecutionContextContainer implements IExecutionContext {
     private Callable<T> fCallee;
     /** The position inside the the execution environments to call next */
     private int fPosition = 0;
+    /** Whether the time of the callee is measured */
+    private boolean fTimed;
+    /** The time in nano seconds the callee took */
+    private long fCalleeTime;
 
     /**
      * Constructor
@@ -79,6 +101,13 @@ public class ExecutionContextContainer implements IExecutionContext {
         executionContext = fExecutionContexts.get(fPosition);
         fPosition++;
         return executionContext.executeInContext(this);
+      } else if (fTimed) {
+        long calleeStartTime = System.nanoTime();
+        try {
+          return fCallee.call();
+        } finally {
+          fCalleeTime = System.nanoTime() - calleeStartTime;
+        }
       } else {
         return fCallee.call();
       }
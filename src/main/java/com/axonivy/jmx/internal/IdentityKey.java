@@ -0,0 +1,30 @@
+package com.axonivy.jmx.internal;
+
+/**
+ * Key of a registered MBean. Two keys are equal if they reference the same object.
+ * Neither {@link Object#hashCode()} nor {@link Object#equals(Object)} of the object are called.
+ */
+final class IdentityKey {
+  private final Object referent;
+
+  IdentityKey(Object referent) {
+    this.referent = referent;
+  }
+
+  Object get() {
+    return referent;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(referent);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    return obj instanceof IdentityKey && ((IdentityKey) obj).referent == referent;
+  }
+}
@@ -1,5 +1,6 @@
 package com.axonivy.jmx.internal;
 
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
@@ -7,12 +8,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.management.openmbean.OpenMBeanAttributeInfo;
 import javax.management.openmbean.OpenMBeanAttributeInfoSupport;
 import javax.management.openmbean.OpenType;
 import javax.management.openmbean.SimpleType;
 
+import com.axonivy.jmx.MAggregate;
 import com.axonivy.jmx.MAttribute;
 import com.axonivy.jmx.MCache;
 import com.axonivy.jmx.MInclude;
@@ -24,6 +27,9 @@ import com.axonivy.jmx.MSizeAttribute;
  * @since 01.07.2013
  */
 class MAttributeCreator extends MCreator {
+  private static final Set<OpenType<?>> NUMERIC_TYPES = Set.of(SimpleType.BYTE, SimpleType.SHORT, SimpleType.INTEGER, SimpleType.LONG,
+      SimpleType.FLOAT, SimpleType.DOUBLE, SimpleType.BIGINTEGER, SimpleType.BIGDECIMAL);
+
   private MAttributeCreator(MBeanManager manager, Class<?> mBeanClass) {
     super(manager, mBeanClass);
   }
@@ -54,12 +60,12 @@ class MAttributeCreator extends MCreator {
       MAttribute attribute = method.getAnnotation(MAttribute.class);
       if (attribute != null) {
         DynamicMAttribute dynamicMAttribute = createAttribute(method, attribute);
-        attributes.add(dynamicMAttribute);
+        attributes.add(aggregateIfAnnotated(method, dynamicMAttribute));
       }
       MSizeAttribute sizeAttribute = method.getAnnotation(MSizeAttribute.class);
       if (sizeAttribute != null) {
         DynamicMAttribute fieldAttribute = createAttribute(method, sizeAttribute);
-        attributes.add(fieldAttribute);
+        attributes.add(aggregateIfAnnotated(method, fieldAttribute));
       }
       MInclude include = method.getAnnotation(MInclude.class);
       if (include != null) {
@@ -82,12 +88,12 @@ class MAttributeCreator extends MCreator {
       MAttribute attribute = field.getAnnotation(MAttribute.class);
       if (attribute != null) {
         DynamicMAttribute fieldAttribute = createAttribute(field, attribute);
-        attributes.add(fieldAttribute);
+        attributes.add(aggregateIfAnnotated(field, fieldAttribute));
       }
       MSizeAttribute sizeAttribute = field.getAnnotation(MSizeAttribute.class);
       if (sizeAttribute != null) {
         DynamicMAttribute fieldAttribute = createAttribute(field, sizeAttribute);
-        attributes.add(fieldAttribute);
+        attributes.add(aggregateIfAnnotated(field, fieldAttribute));
       }
       MInclude include = field.getAnnotation(MInclude.class);
       if (include != null) {
@@ -99,6 +105,16 @@ class MAttributeCreator extends MCreator {
     }
   }
 
+  private static DynamicMAttribute aggregateIfAnnotated(AnnotatedElement element, DynamicMAttribute attribute) {
+    if (element.isAnnotationPresent(MAggregate.class)) {
+      if (!NUMERIC_TYPES.contains(attribute.getOpenType())) {
+        throw new IllegalArgumentException("Annotation @" + MAggregate.class.getSimpleName() + " not allowed on attribute " + attribute.getName() + " with type " + attribute.getOpenType().getTypeName());
+      }
+      attribute.setAggregated();
+    }
+    return attribute;
+  }
+
   private DynamicMAttribute createAttribute(Field field, MSizeAttribute sizeAttribute) {
     OpenMBeanAttributeInfo mBeanInfo = createMBeanInfo(field, sizeAttribute);
 
@@ -124,7 +140,14 @@ class MAttributeCreator extends MCreator {
     Type managedType = MInternalUtils.getManagedTyped(field.getGenericType(), attribute.type());
     AbstractValueConverter valueConverter = manager.getValueConverter(managedType);
     AbstractValueAccessor valueAccessor = new FieldBasedValueAccessor(targetAccessor, valueConverter, field);
-    return createAttribute(mBeanInfo, valueAccessor);
+    return parallelIfFlagged(attribute, createAttribute(mBeanInfo, valueAccessor));
+  }
+
+  private static DynamicMAttribute parallelIfFlagged(MAttribute annotation, DynamicMAttribute attribute) {
+    if (annotation.parallel()) {
+      attribute.setParallel();
+    }
+    return attribute;
   }
 
   private DynamicMAttribute createAttribute(OpenMBeanAttributeInfo mBeanInfo,
@@ -144,7 +167,7 @@ class MAttributeCreator extends MCreator {
   private DynamicMAttribute createAttribute(Method method, MAttribute attribute) {
     OpenMBeanAttributeInfo mBeanInfo = createMBeanInfo(method, attribute);
     AbstractValueAccessor valueAccessor = createValueAccessor(method, mBeanInfo, attribute);
-    return createAttribute(mBeanInfo, valueAccessor);
+    return parallelIfFlagged(attribute, createAttribute(mBeanInfo, valueAccessor));
   }
 
   private AbstractValueAccessor createValueAccessor(Method getterMethod, OpenMBeanAttributeInfo mBeanInfo, MAttribute attribute) {
@@ -158,7 +181,7 @@ class MAttributeCreator extends MCreator {
       methodAccessor = new MethodBasedValueAccessor(manager, targetAccessor, manager.getValueConverter(managedTyped), getterMethod);
     }
     if (getterMethod.isAnnotationPresent(MCache.class)) {
-      return new CachedValueAccessor(methodAccessor, getterMethod.getAnnotation(MCache.class));
+      return new CachedValueAccessor(methodAccessor, getterMethod.getAnnotation(MCache.class), manager.getDiagnostics());
     }
     return methodAccessor;
   }
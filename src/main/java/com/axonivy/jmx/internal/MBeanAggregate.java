@@ -0,0 +1,235 @@
+package com.axonivy.jmx.internal;
+
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenMBeanAttributeInfo;
+import javax.management.openmbean.OpenMBeanAttributeInfoSupport;
+import javax.management.openmbean.OpenMBeanConstructorInfo;
+import javax.management.openmbean.OpenMBeanInfoSupport;
+import javax.management.openmbean.OpenMBeanOperationInfo;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.axonivy.jmx.MAggregate;
+import com.axonivy.jmx.MException;
+
+/**
+ * Synthetic MBean that aggregates the {@link MAggregate} attributes over all registered MBeans of one {@link MBeanType}.<br>
+ * It is registered directly on the MBean server while at least one MBean of the type is registered, so that it does not keep
+ * the class of the type alive after all its MBeans are unregistered.
+ * The aggregates are computed on read in one pass over the registered MBeans. The values of the attributes are read from the getters
+ * or fields and can change without notice, so they cannot be maintained incrementally.
+ */
+class MBeanAggregate implements DynamicMBean {
+  private static final Logger LOGGER = LoggerFactory.getLogger(MBeanAggregate.class);
+  private static final int PARALLEL_THRESHOLD = 1024;
+  private static final String INSTANCES = "instances";
+  private static final String[] ITEMS = {"count", "sum", "min", "max", "avg"};
+  private static final CompositeType AGGREGATE_TYPE = createAggregateType();
+
+  private final MBeanManager manager;
+  private final Map<String, DynamicMAttribute> attributes;
+  private final ObjectName objectName;
+  private final MBeanInfo mBeanInfo;
+  private final Set<MBeanProxy> instances = ConcurrentHashMap.newKeySet();
+  private volatile boolean registered;
+
+  MBeanAggregate(MBeanManager manager, Class<?> mBeanClass, Map<String, DynamicMAttribute> attributes) {
+    this.manager = manager;
+    this.attributes = attributes;
+    this.objectName = createObjectName(mBeanClass);
+    this.mBeanInfo = createMBeanInfo(mBeanClass, attributes);
+  }
+
+  /**
+   * Adds a registered MBean. Registers the aggregate if it is the first one.
+   * @param mBean registered MBean of the type
+   */
+  void add(MBeanProxy mBean) {
+    instances.add(mBean);
+    if (!registered) {
+      synchronized (this) {
+        if (!registered && !instances.isEmpty()) {
+          register();
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes an unregistered MBean. Unregisters the aggregate if it was the last one.
+   * The flag is cleared before the instances are checked, so that a concurrent {@link #add(MBeanProxy)} either is seen here or registers the aggregate again.
+   * @param mBean unregistered MBean of the type
+   */
+  void remove(MBeanProxy mBean) {
+    if (!instances.remove(mBean) || !instances.isEmpty()) {
+      return;
+    }
+    synchronized (this) {
+      if (!registered) {
+        return;
+      }
+      registered = false;
+      if (instances.isEmpty()) {
+        unregister();
+      } else {
+        registered = true;
+      }
+    }
+  }
+
+  private void register() {
+    try {
+      manager.getMBeanServer().registerMBean(this, objectName);
+      registered = true;
+    } catch (Exception ex) {
+      LOGGER.warn("Could not register aggregate MBean '" + objectName + "'", ex);
+    }
+  }
+
+  private void unregister() {
+    try {
+      manager.getMBeanServer().unregisterMBean(objectName);
+    } catch (Exception ex) {
+      LOGGER.debug("Could not unregister aggregate MBean '" + objectName + "'", ex);
+    }
+  }
+
+  @Override
+  public Object getAttribute(String attribute) throws AttributeNotFoundException, MBeanException, ReflectionException {
+    if (INSTANCES.equals(attribute)) {
+      return instances.size();
+    }
+    DynamicMAttribute dynamicAttribute = attributes.get(attribute);
+    if (dynamicAttribute == null) {
+      throw new AttributeNotFoundException("Aggregate attribute '" + attribute + "' not found");
+    }
+    return aggregate(dynamicAttribute);
+  }
+
+  private CompositeData aggregate(DynamicMAttribute attribute) {
+    DoubleSummaryStatistics statistics = instances.size() >= PARALLEL_THRESHOLD
+        ? manager.inBatchPool(() -> summarize(instances.parallelStream(), attribute))
+        : summarize(instances.stream(), attribute);
+    long count = statistics.getCount();
+    Object[] values = {
+        count,
+        statistics.getSum(),
+        count == 0 ? 0.0d : statistics.getMin(),
+        count == 0 ? 0.0d : statistics.getMax(),
+        statistics.getAverage()};
+    try {
+      return new CompositeDataSupport(AGGREGATE_TYPE, ITEMS, values);
+    } catch (OpenDataException ex) {
+      throw new MException(ex);
+    }
+  }
+
+  private static DoubleSummaryStatistics summarize(Stream<MBeanProxy> mBeans, DynamicMAttribute attribute) {
+    return mBeans
+        .mapToDouble(mBean -> readValue(mBean, attribute))
+        .filter(value -> !Double.isNaN(value))
+        .summaryStatistics();
+  }
+
+  /**
+   * @return value of the attribute or NaN if it cannot be read
+   */
+  private static double readValue(MBeanProxy mBean, DynamicMAttribute attribute) {
+    Object object = mBean.findOriginalObject();
+    if (object == null) {
+      return Double.NaN;
+    }
+    try {
+      Object value = attribute.getValue(object);
+      return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    } catch (Exception ex) {
+      LOGGER.debug("Could not read attribute '" + attribute + "' to aggregate it", ex);
+      return Double.NaN;
+    }
+  }
+
+  @Override
+  public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+    throw new AttributeNotFoundException("Aggregate attribute '" + attribute.getName() + "' is not writable");
+  }
+
+  @Override
+  public AttributeList getAttributes(String[] attributeNames) {
+    AttributeList readAttributes = new AttributeList();
+    for (String name : attributeNames) {
+      try {
+        readAttributes.add(new Attribute(name, getAttribute(name)));
+      } catch (Exception ex) {
+        LOGGER.warn("Could not read attribute with name '" + name + "'", ex);
+      }
+    }
+    return readAttributes;
+  }
+
+  @Override
+  public AttributeList setAttributes(AttributeList attributes) {
+    return new AttributeList();
+  }
+
+  @Override
+  public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException {
+    throw new MBeanException(new UnsupportedOperationException("Aggregate MBean has no operation '" + actionName + "'"));
+  }
+
+  @Override
+  public MBeanInfo getMBeanInfo() {
+    return mBeanInfo;
+  }
+
+  private static ObjectName createObjectName(Class<?> mBeanClass) {
+    try {
+      return new ObjectName("ivymx:type=Aggregate,mBeanType=" + mBeanClass.getName());
+    } catch (MalformedObjectNameException ex) {
+      throw new MException(ex);
+    }
+  }
+
+  private static MBeanInfo createMBeanInfo(Class<?> mBeanClass, Map<String, DynamicMAttribute> attributes) {
+    List<OpenMBeanAttributeInfo> infos = new ArrayList<OpenMBeanAttributeInfo>();
+    infos.add(new OpenMBeanAttributeInfoSupport(INSTANCES, "Number of registered MBeans", SimpleType.INTEGER, true, false, false));
+    for (String name : attributes.keySet()) {
+      infos.add(new OpenMBeanAttributeInfoSupport(name, "Aggregate of the attribute " + name + " over all registered MBeans", AGGREGATE_TYPE, true, false, false));
+    }
+    return new OpenMBeanInfoSupport(MBeanAggregate.class.getName(), "Aggregates of the MBeans of type " + mBeanClass.getName(),
+        infos.toArray(new OpenMBeanAttributeInfo[infos.size()]), new OpenMBeanConstructorInfo[0], new OpenMBeanOperationInfo[0], new MBeanNotificationInfo[0]);
+  }
+
+  private static CompositeType createAggregateType() {
+    try {
+      return new CompositeType("Aggregate", "Aggregate of a numeric attribute", ITEMS,
+          new String[] {"Number of MBeans whose attribute could be read", "Sum", "Minimum", "Maximum", "Average"},
+          new OpenType<?>[] {SimpleType.LONG, SimpleType.DOUBLE, SimpleType.DOUBLE, SimpleType.DOUBLE, SimpleType.DOUBLE});
+    } catch (OpenDataException ex) {
+      throw new MException(ex);
+    }
+  }
+}
@@ -31,6 +31,14 @@ class MBeanInstanceInfo {
     return dynamicAttribute;
   }
 
+  DynamicMAttribute findAttribute(String attribute) {
+    return attributes.get(attribute);
+  }
+
+  List<OpenMBeanAttributeInfo> getOpenAttributeInfos() {
+    return attributeInfos;
+  }
+
   MethodBasedMOperation getOperation(String actionName, String[] signature) throws ReflectionException {
     String methodSignature = MethodBasedMOperation.buildSignature(actionName, signature);
     MethodBasedMOperation operation = operations.get(methodSignature);
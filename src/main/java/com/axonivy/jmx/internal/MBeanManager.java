@@ -1,11 +1,37 @@
 package com.axonivy.jmx.internal;
 
+import java.io.IOException;
 import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.management.InstanceAlreadyExistsException;
 import javax.management.InstanceNotFoundException;
@@ -14,11 +40,18 @@ import javax.management.MBeanServer;
 import javax.management.NotCompliantMBeanException;
 import javax.management.ObjectName;
 import javax.management.openmbean.OpenType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.axonivy.jmx.IExecutionContext;
+import com.axonivy.jmx.IMetricsEndpoint;
+import com.axonivy.jmx.IOpenTypeConverterStrategy;
 import com.axonivy.jmx.IRegisterMBeanErrorStrategy;
 import com.axonivy.jmx.MBean;
 import com.axonivy.jmx.MConstants;
 import com.axonivy.jmx.MException;
+import com.axonivy.jmx.MRateLimitPolicy;
 
 /**
  * Global entry point for the management library implementation.<br>
@@ -28,13 +61,57 @@ import com.axonivy.jmx.MException;
  * @since 01.07.2013
  */
 public class MBeanManager {
+  private static final Logger LOGGER = LoggerFactory.getLogger(MBeanManager.class);
+  private static final String REGISTER = "register";
+  private static final String UNREGISTER = "unregister";
+  private static final int PARALLEL_UNREGISTRATION_THRESHOLD = 16;
+  private static final int PARALLEL_BATCH_THRESHOLD = 256;
+
   private final ExecutionContextContainer executionContexts = new ExecutionContextContainer();
 
-  private final ConcurrentHashMap<Object, MBeanProxy> proxyRegistry = new ConcurrentHashMap<Object, MBeanProxy>();
+  private final ConcurrentHashMap<IdentityKey, MBeanProxy> proxyRegistry = new ConcurrentHashMap<IdentityKey, MBeanProxy>();
+
+  private final ConcurrentHashMap<WeakIdentityKey, MBeanProxy> weakProxyRegistry = new ConcurrentHashMap<WeakIdentityKey, MBeanProxy>();
+
+  private final ReferenceQueue<Object> collectedMBeans = new ReferenceQueue<Object>();
+
+  private final MDiagnostics diagnostics = new MDiagnostics(this);
+
+  private final ObjectNameIndex objectNameIndex = new ObjectNameIndex();
+
+  private final ConcurrentHashMap<IdentityKey, DeferredMBeans> deferredMBeans = new ConcurrentHashMap<IdentityKey, DeferredMBeans>();
+
+  private final OpenMetricsExporter openMetricsExporter = new OpenMetricsExporter(this);
+
+  private Thread reaper;
+
+  private ScheduledExecutorService compositionRefresher;
+
+  private ForkJoinPool batchPool;
+
+  private ScheduledFuture<?> compositionRefresh;
+
+  private volatile RegistrationLimiter registrationLimiter;
 
-  private final ConcurrentHashMap<Class<?>, MBeanType> mBeanTypes = new ConcurrentHashMap<Class<?>, MBeanType>();
+  private boolean diagnosticsRegistered;
 
-  private final OpenTypeConverterStrategy[] openTypeConverterStrategies = {
+  private volatile boolean queryServiceRegistered;
+
+  /**
+   * The types are attached to the classes and not held by the manager. So they are garbage collected together with the class loader of the {@link MBean} class.
+   */
+  private final ClassValue<MBeanType> mBeanTypes = new ClassValue<MBeanType>() {
+    @Override
+    protected MBeanType computeValue(Class<?> mBeanClass) {
+      return new MBeanType(MBeanManager.this, mBeanClass);
+    }
+  };
+
+  private final ParallelAttributeReader parallelAttributeReader = new ParallelAttributeReader();
+
+  private final ThrowableConverterStrategy throwableConverterStrategy = new ThrowableConverterStrategy();
+
+  private final OpenTypeConverterStrategy[] builtInOpenTypeConverterStrategies = {
       new SimpleTypeConverterStrategy(),
       new NewDateTimeApiConverterStrategy(),
       new EnumTypeConverterStrategy(),
@@ -42,13 +119,28 @@ public class MBeanManager {
       new CompositeTypeConverterStrategy(this),
       new UriTypeConverterStrategy(),
       new MBeanConverterStrategy(this),
-      new ThrowableConverterStrategy(),
-      new PropertiesConverterStrategy()};
+      throwableConverterStrategy,
+      new PropertiesConverterStrategy(),
+      new AttributeValuesConverterStrategy()};
+
+  private final List<CustomOpenTypeConverterStrategy> customOpenTypeConverterStrategies = new ArrayList<CustomOpenTypeConverterStrategy>();
+
+  private volatile OpenTypeConverterStrategy[] openTypeConverterStrategies = builtInOpenTypeConverterStrategies;
+
+  private volatile ClassValue<OpenTypeConverterStrategy> resolvedOpenTypeConverterStrategies = createResolvedOpenTypeConverterStrategies();
+
+  private volatile boolean openTypeConverterStrategiesLoaded;
+
+  private boolean loadingOpenTypeConverterStrategies;
 
   private IRegisterMBeanErrorStrategy registerErrorStrategy = MConstants.DEFAULT_ERROR_STRATEGY;
 
   private static final MBeanManager INSTANCE = new MBeanManager();
 
+  private MBeanManager() {
+    MEvents.listenForRecordings();
+  }
+
   public static MBeanManager getInstance() {
     return INSTANCE;
   }
@@ -58,15 +150,85 @@ public class MBeanManager {
   }
 
   public void registerMBeanFor(Object object, ObjectName parentName) {
+    registerMBeanProxyFor(object, obj -> createMBeanProxy(obj, parentName));
+  }
+
+  /**
+   * Registers the given deferred MBeans under the given name. Their on demand MBeans are released if it is unregistered.
+   * @param deferred deferred MBeans to register
+   * @param name object name of the aggregate MBean
+   */
+  public void registerDeferredMBeans(DeferredMBeans deferred, ObjectName name) {
+    deferredMBeans.put(new IdentityKey(deferred), deferred);
+    if (registerMBeanProxyFor(deferred, obj -> createNamedMBeanProxy(obj, name)) == null) {
+      deferredMBeans.remove(new IdentityKey(deferred));
+    }
+  }
+
+  /**
+   * @return proxy of the object or null if it could not be registered
+   */
+  private MBeanProxy registerMBeanProxyFor(Object object, Function<Object, MBeanProxy> proxyFactory) {
+    long startTime = diagnostics.startTimer();
+    MBeanRegistrationEvent event = MEvents.isRecording() ? MBeanRegistrationEvent.start() : null;
     try {
-      var mBean = registerMBeanProxy(object, obj -> createMBeanProxy(obj, parentName));
+      var mBean = registerMBeanProxy(object, proxyFactory);
       if (mBean.register()) {
         registerMBean(mBean);
         registerCompositionMBeans(mBean);
+        diagnostics.registered(startTime);
+        if (event != null) {
+          event.end(REGISTER, object, mBean.getObjectName(), null);
+        }
       }
+      return mBean;
     } catch (Throwable error) {
+      if (event != null) {
+        event.end(REGISTER, object, null, error);
+      }
       unregisterMBeanProxy(object);
       registerErrorStrategy.errorRegisteringMBean(object, error);
+      return null;
+    }
+  }
+
+  /**
+   * Registers the object like {@link #registerMBeanFor(Object)} but does not prevent it from being garbage collected.
+   * Objects referenced by composition references are registered weakly too.
+   * Garbage collected objects are unregistered in the background.
+   * @param object object to register
+   */
+  public void registerMBeanWeaklyFor(Object object) {
+    registerMBeanWeaklyFor(object, null);
+  }
+
+  private MBeanProxy registerMBeanWeaklyFor(Object object, ObjectName parentName) {
+    WeakIdentityKey key = null;
+    long startTime = diagnostics.startTimer();
+    MBeanRegistrationEvent event = MEvents.isRecording() ? MBeanRegistrationEvent.start() : null;
+    try {
+      startReaper();
+      var mBean = weakProxyRegistry.computeIfAbsent(new WeakIdentityKey(object, collectedMBeans),
+          weakKey -> new MBeanProxy(getMBeanTypeFor(object), weakKey, parentName));
+      key = mBean.getWeakKey();
+      if (mBean.register()) {
+        registerMBean(mBean);
+        registerCompositionMBeans(mBean);
+        diagnostics.registered(startTime);
+        if (event != null) {
+          event.end(REGISTER, object, mBean.getObjectName(), null);
+        }
+      }
+      return mBean;
+    } catch (Throwable error) {
+      if (event != null) {
+        event.end(REGISTER, object, null, error);
+      }
+      if (key != null) {
+        weakProxyRegistry.remove(key);
+      }
+      registerErrorStrategy.errorRegisteringMBean(object, error);
+      return null;
     }
   }
 
@@ -75,24 +237,245 @@ public class MBeanManager {
     return new MBeanProxy(mBeanType, object, parentName);
   }
 
+  private MBeanProxy createNamedMBeanProxy(Object object, ObjectName name) {
+    MBeanProxy mBean = createMBeanProxy(object, null);
+    mBean.setObjectName(name);
+    return mBean;
+  }
+
+  /**
+   * Checks without evaluating the object name of the given MBean object whether it can be registered in the given domain
+   * @param object MBean object
+   * @param domain domain of an object name
+   * @return false if the object name of the object has another domain
+   */
+  boolean mayHaveDomain(Object object, String domain) {
+    return getMBeanTypeFor(object).mayHaveDomain(domain);
+  }
+
+  /**
+   * Evaluates the object name the given object would be registered with. The object is not registered.
+   * @param object MBean object
+   * @return object name
+   */
+  ObjectName evaluateObjectName(Object object) {
+    return createMBeanProxy(object, null).getObjectName();
+  }
+
+  /**
+   * @param object object
+   * @return true if exactly this object is registered as MBean
+   */
+  boolean isRegistered(Object object) {
+    return findMBeanProxy(object) != null;
+  }
+
+  /**
+   * @param object registered MBean object
+   * @return object name the object is registered with or null if it is not registered
+   */
+  ObjectName getObjectNameOf(Object object) {
+    MBeanProxy mBean = findMBeanProxy(object);
+    return mBean == null ? null : mBean.getObjectName();
+  }
+
+  /**
+   * Registers all MBeans of the collection in one batch. The proxies of large batches are created and analyzed in parallel
+   * before they are registered on the MBean server.
+   * @param objects objects to register. Objects that are not MBeans are ignored
+   */
   public void registerMBeansFor(Collection<? extends Object> objects) {
+    List<Object> mBeans = filterMBeans(objects);
+    List<MBeanProxy> prepared = mBeans.size() >= PARALLEL_BATCH_THRESHOLD ? prepareMBeanProxies(mBeans) : null;
+    for (int pos = 0; pos < mBeans.size(); pos++) {
+      MBeanProxy mBean = prepared == null ? null : prepared.get(pos);
+      if (mBean == null) {
+        registerMBeanFor(mBeans.get(pos));
+      } else {
+        registerMBeanProxyFor(mBeans.get(pos), obj -> mBean);
+      }
+    }
+  }
+
+  /**
+   * Creates the proxies and evaluates their names and MBean infos in parallel on the threads of the batch pool.
+   * The proxies are put into the registry only when they are registered, so that unregistered proxies are never visible.
+   * @param mBeans MBean objects
+   * @return proxies in the order of the objects. null for objects that could not be prepared. Errors are reported when the MBean is registered
+   */
+  private List<MBeanProxy> prepareMBeanProxies(List<Object> mBeans) {
+    return inBatchPool(() -> mBeans.parallelStream()
+        .map(this::prepareMBeanProxy)
+        .collect(Collectors.toList()));
+  }
+
+  private MBeanProxy prepareMBeanProxy(Object object) {
+    try {
+      MBeanProxy mBean = createMBeanProxy(object, null);
+      mBean.prepare();
+      return mBean;
+    } catch (RuntimeException ex) {
+      LOGGER.debug("Could not prepare MBean", ex);
+      return null;
+    }
+  }
+
+  /**
+   * Runs a parallel stream on the threads of the batch pool instead of the common pool.
+   * Batches run user code like name evaluation, attribute getters and notification listeners, which must not block the threads of the common pool.
+   * @param task task that uses parallel streams
+   * @return result of the task
+   */
+  <T> T inBatchPool(Supplier<T> task) {
+    ForkJoinPool pool = getBatchPool();
+    if (ForkJoinTask.getPool() == pool) {
+      return task.get();
+    }
+    return pool.submit(task::get).join();
+  }
+
+  private synchronized ForkJoinPool getBatchPool() {
+    if (batchPool == null) {
+      AtomicInteger threadNumber = new AtomicInteger();
+      batchPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("ivymx-batch-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }, null, false);
+    }
+    return batchPool;
+  }
+
+  private List<Object> filterMBeans(Collection<? extends Object> objects) {
+    List<Object> mBeans = new ArrayList<Object>(objects.size());
     for (Object object : objects) {
       if (isMBean(object)) {
-        registerMBeanFor(object);
+        mBeans.add(object);
       }
     }
+    return mBeans;
   }
 
   private void registerCompositionMBeans(MBeanProxy mBean) {
     for (MCompositionReferenceValue compositionReferenceValue : mBean.getCompositionReferences()) {
-      ObjectName parentName = null;
-      if (compositionReferenceValue.isConcatName()) {
-        parentName = mBean.getObjectName();
+      registerCompositionMBean(mBean, compositionReferenceValue);
+    }
+  }
+
+  private void registerCompositionMBean(MBeanProxy mBean, MCompositionReferenceValue compositionReferenceValue) {
+    ObjectName parentName = compositionReferenceValue.isConcatName() ? mBean.getObjectName() : null;
+    Object child = compositionReferenceValue.getReferencedMBean();
+    MBeanProxy childProxy = mBean.isWeak() ? registerMBeanWeaklyFor(child, parentName) : registerMBeanProxyFor(child, obj -> createMBeanProxy(obj, parentName));
+    if (childProxy != null) {
+      mBean.addChildProxy(childProxy);
+      if (!isInRegistry(mBean) && mBean.removeChildProxy(childProxy) && removeFromRegistry(childProxy)) {
+        unregisterMBeanTree(childProxy);
       }
-      registerMBeanFor(compositionReferenceValue.getReferencedMBean(), parentName);
     }
   }
 
+  /**
+   * The parent may be unregistered concurrently after its children were collected for unregistration.
+   * A child added afterwards would never be unregistered, so it is checked whether the parent is still registered.
+   */
+  private boolean isInRegistry(MBeanProxy mBean) {
+    if (mBean.isWeak()) {
+      return weakProxyRegistry.get(mBean.getWeakKey()) == mBean;
+    }
+    return proxyRegistry.get(new IdentityKey(mBean.findOriginalObject())) == mBean;
+  }
+
+  /**
+   * Evaluates the composition references of the registered parent and its registered composition children again.
+   * MBeans of objects that are no longer referenced are unregistered and MBeans of newly referenced objects are registered.
+   * Children are compared by identity. Unchanged children stay registered.
+   * @param parent registered parent object
+   * @return number of composition references that changed. 0 if the parent is not registered
+   */
+  public int refreshCompositions(Object parent) {
+    MBeanProxy mBean = findMBeanProxy(parent);
+    if (mBean == null) {
+      return 0;
+    }
+    return refreshCompositions(mBean, true);
+  }
+
+  private int refreshCompositions(MBeanProxy mBean, boolean recursive) {
+    Map<Object, MCompositionReferenceValue> references = new IdentityHashMap<Object, MCompositionReferenceValue>();
+    for (MCompositionReferenceValue compositionReferenceValue : mBean.getCompositionReferences()) {
+      references.put(compositionReferenceValue.getReferencedMBean(), compositionReferenceValue);
+    }
+    int changes = 0;
+    for (MBeanProxy childProxy : mBean.getChildProxies()) {
+      Object child = childProxy.findOriginalObject();
+      if (child != null && references.remove(child) != null) {
+        if (recursive) {
+          changes += refreshCompositions(childProxy, true);
+        }
+      } else if (mBean.removeChildProxy(childProxy)) {
+        if (removeFromRegistry(childProxy)) {
+          unregisterMBeanTree(childProxy);
+        }
+        changes++;
+      }
+    }
+    for (MCompositionReferenceValue compositionReferenceValue : references.values()) {
+      registerCompositionMBean(mBean, compositionReferenceValue);
+      changes++;
+    }
+    return changes;
+  }
+
+  /**
+   * Refreshes the composition references of all registered MBeans periodically
+   * @param interval interval between two refreshes. 0 to stop refreshing
+   * @param unit unit of the interval
+   * @see #refreshCompositions(Object)
+   */
+  public synchronized void setCompositionRefreshInterval(long interval, TimeUnit unit) {
+    if (compositionRefresh != null) {
+      compositionRefresh.cancel(false);
+      compositionRefresh = null;
+    }
+    if (interval <= 0) {
+      return;
+    }
+    if (compositionRefresher == null) {
+      compositionRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ivymx-composition-refresh");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    compositionRefresh = compositionRefresher.scheduleWithFixedDelay(this::refreshAllCompositions, interval, interval, unit);
+  }
+
+  /**
+   * Every MBean only diffs its own composition references, so that each MBean of a tree is evaluated once.
+   * Proxies whose registration is not yet done are skipped.
+   */
+  private void refreshAllCompositions() {
+    forEachMBeanProxy(mBean -> {
+      if (!mBean.isRegistered()) {
+        return;
+      }
+      try {
+        refreshCompositions(mBean, false);
+      } catch (RuntimeException ex) {
+        LOGGER.warn("Could not refresh composition references of MBean '" + mBean.getObjectName() + "'", ex);
+      }
+    });
+  }
+
+  private MBeanProxy findMBeanProxy(Object object) {
+    MBeanProxy mBean = proxyRegistry.get(new IdentityKey(object));
+    if (mBean == null) {
+      mBean = weakProxyRegistry.get(new WeakIdentityKey(object));
+    }
+    return mBean;
+  }
+
   private void registerMBean(MBeanProxy mBean) throws InstanceAlreadyExistsException,
       MBeanRegistrationException, NotCompliantMBeanException {
     ObjectName name = mBean.getObjectName();
@@ -102,15 +485,78 @@ public class MBeanManager {
       }
     }
     getMBeanServer().registerMBean(mBean, name);
+    objectNameIndex.add(name, mBean);
+    if (!queryServiceRegistered) {
+      registerQueryService();
+    }
+    mBean.getMBeanType().registered(mBean);
   }
 
   private MBeanProxy registerMBeanProxy(Object object, Function<Object, MBeanProxy> proxyFactory) {
-    return proxyRegistry.computeIfAbsent(object, proxyFactory);
+    return proxyRegistry.computeIfAbsent(new IdentityKey(object), key -> proxyFactory.apply(object));
   }
 
+  /**
+   * Registers the object if it is an MBean. Used by the managed collections, so the registration is subject to the
+   * {@link #setRegistrationRateLimit(int, MRateLimitPolicy) registration rate limit}.
+   * @param object object to register
+   */
   void ifAnnotatedRegisterMBeanFor(Object object) {
     if (isMBean(object)) {
-      registerMBeanFor(object);
+      RegistrationLimiter limiter = registrationLimiter;
+      if (limiter == null) {
+        registerMBeanFor(object);
+      } else if (!proxyRegistry.containsKey(new IdentityKey(object))) {
+        if (limiter.tryAcquire()) {
+          registerMBeanFor(object);
+        } else {
+          limiter.exceeded(object);
+        }
+      }
+    }
+  }
+
+  /**
+   * Registers the MBeans of the collection in one batch like {@link #registerMBeansFor(Collection)}.
+   * Only the registrations permitted by the {@link #setRegistrationRateLimit(int, MRateLimitPolicy) registration rate limit} are done.
+   * @param objects objects to register
+   */
+  void ifAnnotatedRegisterMBeansFor(Collection<? extends Object> objects) {
+    RegistrationLimiter limiter = registrationLimiter;
+    if (limiter == null) {
+      registerMBeansFor(objects);
+      return;
+    }
+    List<Object> permitted = new ArrayList<Object>();
+    for (Object object : filterMBeans(objects)) {
+      if (proxyRegistry.containsKey(new IdentityKey(object))) {
+        continue;
+      }
+      if (limiter.tryAcquire()) {
+        permitted.add(object);
+      } else {
+        limiter.exceeded(object);
+      }
+    }
+    registerMBeansFor(permitted);
+  }
+
+  /**
+   * Limits the registrations of the managed collections. Registrations that exceed the limit are handled according to the given policy.
+   * The limiter is registered as MBean {@code ivymx:type=RegistrationLimiter} that provides the number of dropped, deferred and aggregated registrations.
+   * @param permitsPerSecond maximum number of registrations per second. 0 to not limit the registrations
+   * @param policy what to do with registrations that exceed the limit
+   */
+  public synchronized void setRegistrationRateLimit(int permitsPerSecond, MRateLimitPolicy policy) {
+    RegistrationLimiter oldLimiter = registrationLimiter;
+    RegistrationLimiter newLimiter = permitsPerSecond > 0 ? new RegistrationLimiter(this, permitsPerSecond, policy) : null;
+    registrationLimiter = newLimiter;
+    if (oldLimiter != null) {
+      unregisterInternalMBean(oldLimiter);
+      oldLimiter.close();
+    }
+    if (newLimiter != null) {
+      registerInternalMBean(newLimiter);
     }
   }
 
@@ -126,28 +572,267 @@ public class MBeanManager {
   }
 
   public void unregisterMBeanFor(Object object) {
-    MBeanProxy mBean = unregisterMBeanProxy(object);
-    if (mBean != null) {
-      unregisterMBean(mBean);
-      unregisterCompositionMBeans(mBean);
+    long startTime = diagnostics.startTimer();
+    MBeanRegistrationEvent event = MEvents.isRecording() ? MBeanRegistrationEvent.start() : null;
+    MBeanProxy mBean = null;
+    Throwable error = null;
+    try {
+      mBean = unregisterMBeanProxy(object);
+      if (mBean == null) {
+        mBean = weakProxyRegistry.remove(new WeakIdentityKey(object));
+      }
+      if (mBean != null) {
+        unregisterMBeanTree(mBean);
+        diagnostics.unregistered(startTime);
+      }
+    } catch (Throwable ex) {
+      error = ex;
+      throw ex;
+    } finally {
+      if (event != null && mBean != null) {
+        event.end(UNREGISTER, object, mBean.getObjectName(), error);
+      }
     }
   }
 
-  public void unregisterMBeansFor(Collection<? extends Object> objects) {
-    for (Object object : objects) {
-      if (isMBean(object)) {
+  /**
+   * Unregisters the MBean and the MBeans of its composition references recorded at registration.
+   * The proxy must already be removed from its registry. Children that are not registered anymore are skipped.
+   * Many children are unregistered in parallel.
+   * @param mBean proxy of the MBean
+   * @return number of unregistered MBeans
+   */
+  private int unregisterMBeanTree(MBeanProxy mBean) {
+    unregisterMBean(mBean);
+    releaseDeferredMBeans(mBean);
+    List<MBeanProxy> childProxies = mBean.getChildProxies();
+    if (childProxies.isEmpty()) {
+      return 1;
+    }
+    if (childProxies.size() < PARALLEL_UNREGISTRATION_THRESHOLD) {
+      return 1 + unregisterMBeanTrees(childProxies.stream());
+    }
+    return 1 + inBatchPool(() -> unregisterMBeanTrees(childProxies.parallelStream()));
+  }
+
+  private int unregisterMBeanTrees(Stream<MBeanProxy> mBeans) {
+    return mBeans
+        .filter(this::removeFromRegistry)
+        .mapToInt(this::unregisterMBeanTree)
+        .sum();
+  }
+
+  private void releaseDeferredMBeans(MBeanProxy mBean) {
+    if (deferredMBeans.isEmpty() || mBean.isWeak()) {
+      return;
+    }
+    DeferredMBeans deferred = deferredMBeans.remove(new IdentityKey(mBean.findOriginalObject()));
+    if (deferred != null) {
+      deferred.release();
+    }
+  }
+
+  private boolean removeFromRegistry(MBeanProxy mBean) {
+    if (mBean.isWeak()) {
+      return weakProxyRegistry.remove(mBean.getWeakKey(), mBean);
+    }
+    return proxyRegistry.remove(new IdentityKey(mBean.findOriginalObject()), mBean);
+  }
+
+  private synchronized void startReaper() {
+    if (reaper != null) {
+      return;
+    }
+    registerDiagnostics();
+    reaper = new Thread(this::reapCollectedMBeans, "ivymx-mbean-reaper");
+    reaper.setDaemon(true);
+    reaper.start();
+  }
+
+  /**
+   * Unregisters the MBeans of garbage collected objects. All objects that are collected at the same time are unregistered in one batch.
+   */
+  private void reapCollectedMBeans() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        Reference<?> collected = collectedMBeans.remove();
+        int reaped = 0;
+        do {
+          MBeanProxy mBean = weakProxyRegistry.remove(collected);
+          if (mBean != null) {
+            reaped += unregisterMBeanTree(mBean);
+          }
+          collected = collectedMBeans.poll();
+        } while (collected != null);
+        diagnostics.mBeansReaped(reaped);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException ex) {
+        LOGGER.warn("Could not unregister MBean of garbage collected object", ex);
+      }
+    }
+  }
+
+  private synchronized void registerQueryService() {
+    if (!queryServiceRegistered) {
+      registerInternalMBean(new MQueryService(this));
+      queryServiceRegistered = true;
+    }
+  }
+
+  private synchronized void registerDiagnostics() {
+    if (!diagnosticsRegistered) {
+      registerInternalMBean(diagnostics);
+      diagnosticsRegistered = true;
+    }
+  }
+
+  /**
+   * Registers an MBean of the library itself directly on the MBean server. It is not unregistered by {@link #unregisterAllMBeans()}.
+   * @param object internal MBean
+   */
+  void registerInternalMBean(Object object) {
+    try {
+      MBeanProxy mBean = createMBeanProxy(object, null);
+      getMBeanServer().registerMBean(mBean, mBean.getObjectName());
+    } catch (InstanceAlreadyExistsException ex) {
+      LOGGER.debug("Internal MBean is already registered", ex);
+    } catch (Exception ex) {
+      LOGGER.warn("Could not register internal MBean", ex);
+    }
+  }
+
+  private void unregisterInternalMBean(Object object) {
+    try {
+      getMBeanServer().unregisterMBean(createMBeanProxy(object, null).getObjectName());
+    } catch (InstanceNotFoundException ex) {
+      LOGGER.debug("Internal MBean is not registered", ex);
+    } catch (Exception ex) {
+      LOGGER.warn("Could not unregister internal MBean", ex);
+    }
+  }
+
+  MDiagnostics getDiagnostics() {
+    return diagnostics;
+  }
+
+  /**
+   * Enables or disables the recording of statistics about the library itself. Registers the diagnostics MBean if necessary.
+   * @param enabled true to record statistics
+   */
+  public void setDiagnosticsEnabled(boolean enabled) {
+    if (enabled) {
+      registerDiagnostics();
+    }
+    diagnostics.setEnabled(enabled);
+  }
+
+  public void setSlowCallWarningThreshold(long threshold, TimeUnit unit) {
+    diagnostics.setSlowCallWarningThreshold(threshold, unit);
+  }
+
+  public void setParallelAttributeReadTimeout(long timeout, TimeUnit unit) {
+    parallelAttributeReader.setTimeout(timeout, unit);
+  }
+
+  ParallelAttributeReader getParallelAttributeReader() {
+    return parallelAttributeReader;
+  }
+
+  /**
+   * Writes the numeric attributes of all registered MBeans in the OpenMetrics text format
+   * @param out output to write to
+   * @throws IOException if writing to the output fails
+   */
+  public void writeOpenMetrics(Appendable out) throws IOException {
+    openMetricsExporter.write(out);
+  }
+
+  public IMetricsEndpoint startMetricsEndpoint(InetSocketAddress address) throws IOException {
+    return new MetricsEndpoint(this, address);
+  }
+
+  /**
+   * Calls the given consumer for all registered MBeans. Does not include the internal MBeans of the library.
+   * @param consumer consumer to call
+   */
+  void forEachMBeanProxy(Consumer<MBeanProxy> consumer) {
+    proxyRegistry.values().forEach(consumer);
+    weakProxyRegistry.values().forEach(consumer);
+  }
+
+  /**
+   * Queries the registered MBeans from an index. Other MBeans of the MBean server are not considered.
+   * @param pattern object name or object name pattern
+   * @return names of the registered MBeans that match the pattern
+   */
+  public Set<ObjectName> queryNames(ObjectName pattern) {
+    if (!pattern.isPattern()) {
+      for (DeferredMBeans deferred : deferredMBeans.values()) {
+        deferred.materialize(pattern);
+      }
+    }
+    Set<ObjectName> names = new HashSet<ObjectName>();
+    for (MBeanProxy mBean : query(pattern)) {
+      names.add(mBean.getObjectName());
+    }
+    return names;
+  }
+
+  /**
+   * Queries the registered MBeans from an index. {@link DeferredMBeans} are not materialized.
+   * @param pattern object name or object name pattern
+   * @return registered MBeans that match the pattern
+   */
+  List<MBeanProxy> query(ObjectName pattern) {
+    return objectNameIndex.query(pattern);
+  }
+
+  /**
+   * Unregisters all MBeans whose object name matches the pattern together with their composition children.
+   * @param pattern object name or object name pattern
+   * @return number of MBeans that matched the pattern
+   */
+  public int unregisterMBeans(ObjectName pattern) {
+    List<MBeanProxy> mBeans = objectNameIndex.query(pattern);
+    for (MBeanProxy mBean : mBeans) {
+      Object object = mBean.findOriginalObject();
+      if (object != null) {
         unregisterMBeanFor(object);
+      } else if (removeFromRegistry(mBean)) {
+        unregisterMBeanTree(mBean);
       }
     }
+    return mBeans.size();
   }
 
-  private void unregisterCompositionMBeans(MBeanProxy mBean) {
-    for (MCompositionReferenceValue compositionReferenceValue : mBean.getCompositionReferences()) {
-      unregisterMBeanFor(compositionReferenceValue.getReferencedMBean());
+  int getRegisteredMBeanCount() {
+    return proxyRegistry.size() + weakProxyRegistry.size();
+  }
+
+  int getWeaklyRegisteredMBeanCount() {
+    return weakProxyRegistry.size();
+  }
+
+  /**
+   * Unregisters all MBeans of the collection in one batch. Large batches are unregistered in parallel.
+   * @param objects objects to unregister. Objects that are not MBeans are ignored
+   */
+  public void unregisterMBeansFor(Collection<? extends Object> objects) {
+    List<Object> mBeans = filterMBeans(objects);
+    if (mBeans.size() >= PARALLEL_BATCH_THRESHOLD) {
+      inBatchPool(() -> {
+        mBeans.parallelStream().forEach(this::unregisterMBeanFor);
+        return null;
+      });
+    } else {
+      mBeans.forEach(this::unregisterMBeanFor);
     }
   }
 
   private void unregisterMBean(MBeanProxy mBean) {
+    objectNameIndex.remove(mBean.getObjectName(), mBean);
+    mBean.getMBeanType().unregistered(mBean);
     try {
       getMBeanServer().unregisterMBean(mBean.getObjectName());
     } catch (InstanceNotFoundException ex) {
@@ -158,19 +843,56 @@ public class MBeanManager {
   }
 
   private MBeanProxy unregisterMBeanProxy(Object object) {
-    return proxyRegistry.remove(object);
+    return proxyRegistry.remove(new IdentityKey(object));
   }
 
+  /**
+   * Unregisters the object if it is an MBean. Cancels a deferred or aggregated registration of the object instead if there is one.
+   * @param object object to unregister
+   */
   void ifAnnotatedUnregisterMBeanFor(Object object) {
     if (isMBean(object)) {
-      unregisterMBeanFor(object);
+      RegistrationLimiter limiter = registrationLimiter;
+      if (limiter == null || !limiter.cancel(object)) {
+        unregisterMBeanFor(object);
+      }
     }
   }
 
+  /**
+   * Unregisters the MBeans of the collection in one batch like {@link #unregisterMBeansFor(Collection)}.
+   * Cancels deferred and aggregated registrations.
+   * @param objects objects to unregister
+   */
+  void ifAnnotatedUnregisterMBeansFor(Collection<? extends Object> objects) {
+    RegistrationLimiter limiter = registrationLimiter;
+    if (limiter == null) {
+      unregisterMBeansFor(objects);
+      return;
+    }
+    List<Object> registered = new ArrayList<Object>(objects.size());
+    for (Object object : filterMBeans(objects)) {
+      if (!limiter.cancel(object)) {
+        registered.add(object);
+      }
+    }
+    unregisterMBeansFor(registered);
+  }
+
+  /**
+   * Unregisters all MBeans. Large registries are unregistered in parallel.
+   */
   public void unregisterAllMBeans() {
-    for (Object object : proxyRegistry.keySet().toArray()) {
-      unregisterMBeanFor(object);
+    RegistrationLimiter limiter = registrationLimiter;
+    if (limiter != null) {
+      limiter.clear();
     }
+    proxyRegistry.forEachKey(PARALLEL_UNREGISTRATION_THRESHOLD, key -> unregisterMBeanFor(key.get()));
+    weakProxyRegistry.forEachValue(PARALLEL_UNREGISTRATION_THRESHOLD, mBean -> {
+      if (removeFromRegistry(mBean)) {
+        unregisterMBeanTree(mBean);
+      }
+    });
   }
 
   public void addExecutionContext(IExecutionContext executionContext) {
@@ -182,20 +904,14 @@ public class MBeanManager {
   }
 
   <T> T executeInContext(Callable<T> callable) throws Exception {
-    return executionContexts.executeInContext(callable);
+    if (!diagnostics.isEnabled()) {
+      return executionContexts.executeInContext(callable);
+    }
+    return executionContexts.executeInContext(callable, diagnostics);
   }
 
   MBeanType getMBeanTypeFor(Object mBean) {
-    Class<?> mBeanClass = mBean.getClass();
-    MBeanType mBeanType = mBeanTypes.get(mBeanClass);
-    if (mBeanType == null) {
-      mBeanType = new MBeanType(this, mBeanClass);
-      MBeanType alreadyDefined = mBeanTypes.putIfAbsent(mBeanClass, mBeanType);
-      if (alreadyDefined != null) {
-        mBeanType = alreadyDefined;
-      }
-    }
-    return mBeanType;
+    return mBeanTypes.get(mBean.getClass());
   }
 
   OpenType<?> toOpenType(Type type) {
@@ -207,6 +923,16 @@ public class MBeanManager {
   }
 
   private OpenTypeConverterStrategy getOpenTypeConverterStrategy(Type type) {
+    if (!openTypeConverterStrategiesLoaded) {
+      loadOpenTypeConverterStrategies();
+    }
+    if (type instanceof Class) {
+      return resolvedOpenTypeConverterStrategies.get((Class<?>) type);
+    }
+    return findOpenTypeConverterStrategy(type);
+  }
+
+  private OpenTypeConverterStrategy findOpenTypeConverterStrategy(Type type) {
     for (OpenTypeConverterStrategy strategy : openTypeConverterStrategies) {
       if (strategy.canHandle(type)) {
         return strategy;
@@ -215,7 +941,70 @@ public class MBeanManager {
     throw new IllegalArgumentException("Type '" + type + "' cannot be converted to a jmx open type. No strategy found.");
   }
 
+  private ClassValue<OpenTypeConverterStrategy> createResolvedOpenTypeConverterStrategies() {
+    return new ClassValue<OpenTypeConverterStrategy>() {
+      @Override
+      protected OpenTypeConverterStrategy computeValue(Class<?> type) {
+        return findOpenTypeConverterStrategy(type);
+      }
+    };
+  }
+
+  public void addOpenTypeConverterStrategy(IOpenTypeConverterStrategy strategy) {
+    synchronized (customOpenTypeConverterStrategies) {
+      customOpenTypeConverterStrategies.add(new CustomOpenTypeConverterStrategy(strategy));
+      updateOpenTypeConverterStrategies();
+    }
+  }
+
+  public void removeOpenTypeConverterStrategy(IOpenTypeConverterStrategy strategy) {
+    synchronized (customOpenTypeConverterStrategies) {
+      customOpenTypeConverterStrategies.removeIf(custom -> custom.getStrategy() == strategy);
+      updateOpenTypeConverterStrategies();
+    }
+  }
+
+  /**
+   * Built-in strategies keep their order. Custom strategies are sorted in by priority.
+   * Already analyzed {@link MBean} classes are not affected by a change of the strategies.
+   */
+  private void updateOpenTypeConverterStrategies() {
+    List<OpenTypeConverterStrategy> strategies = new ArrayList<OpenTypeConverterStrategy>(Arrays.asList(builtInOpenTypeConverterStrategies));
+    strategies.addAll(customOpenTypeConverterStrategies);
+    strategies.sort(Comparator.comparingInt(OpenTypeConverterStrategy::getPriority).reversed());
+    openTypeConverterStrategies = strategies.toArray(new OpenTypeConverterStrategy[strategies.size()]);
+    resolvedOpenTypeConverterStrategies = createResolvedOpenTypeConverterStrategies();
+  }
+
+  /**
+   * The strategies of the {@link ServiceLoader} are loaded on the first conversion and not while the manager is created,
+   * so that they can use the manager in their constructors. Other threads wait until the strategies are loaded.
+   * A conversion of the loading thread itself uses the strategies loaded so far.
+   */
+  private void loadOpenTypeConverterStrategies() {
+    synchronized (customOpenTypeConverterStrategies) {
+      if (openTypeConverterStrategiesLoaded || loadingOpenTypeConverterStrategies) {
+        return;
+      }
+      loadingOpenTypeConverterStrategies = true;
+      try {
+        for (IOpenTypeConverterStrategy strategy : ServiceLoader.load(IOpenTypeConverterStrategy.class)) {
+          addOpenTypeConverterStrategy(strategy);
+        }
+      } catch (ServiceConfigurationError error) {
+        LOGGER.error("Could not load open type converter strategies", error);
+      } finally {
+        loadingOpenTypeConverterStrategies = false;
+        openTypeConverterStrategiesLoaded = true;
+      }
+    }
+  }
+
   public void setRegisterMBeanErrorStrategy(IRegisterMBeanErrorStrategy strategy) {
     registerErrorStrategy = strategy;
   }
+
+  public void setThrowableStackTraceLimits(int maxFrames, int maxCauses) {
+    throwableConverterStrategy.setStackTraceLimits(maxFrames, maxCauses);
+  }
 }
@@ -1,6 +1,8 @@
 package com.axonivy.jmx.internal;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.management.Attribute;
@@ -20,28 +22,73 @@ import org.slf4j.LoggerFactory;
 import com.axonivy.jmx.MException;
 
 /**
- * Proxy that implements a {@link DynamicMBean} but forwards all jmx requests (read/write attribute, execute operations) to the {@link #originalObject}
+ * Proxy that implements a {@link DynamicMBean} but forwards all jmx requests (read/write attribute, execute operations) to the {@link #originalObject}.<br>
+ * A proxy of a weakly registered MBean references the original object only through its {@link #weakKey}.<br>
+ * The composition references are evaluated once at registration. The proxy records the proxies of the MBeans registered for them,
+ * so that the whole composition tree can be unregistered without evaluating the composition references again.
  * @author rwei
  * @since 01.07.2013
  */
 class MBeanProxy implements DynamicMBean {
   private static final Logger LOGGER = LoggerFactory.getLogger(MBeanProxy.class);
-  private Object originalObject;
-  private ObjectName objectName;
-  private ObjectName uniqueObjectName;
-  private ObjectName parentName;
-  private MBeanType mBeanType;
+  private final Object originalObject;
+  private final WeakIdentityKey weakKey;
+  private final CopyOnWriteArrayList<MBeanProxy> childProxies;
+  private volatile ObjectName objectName;
+  private volatile ObjectName uniqueObjectName;
+  private final ObjectName parentName;
+  private final MBeanType mBeanType;
   private int uniqueId = 1;
-  private List<MCompositionReferenceValue> compositionReferences;
-  private MBeanInstanceInfo mBeanInstanceInfo;
-  private AtomicBoolean registered = new AtomicBoolean();
+  private volatile MBeanInstanceInfo mBeanInstanceInfo;
+  private final AtomicBoolean registered = new AtomicBoolean();
 
   MBeanProxy(MBeanType mBeanType, Object originalObject, ObjectName parentName) {
     this.mBeanType = mBeanType;
     this.originalObject = originalObject;
+    this.weakKey = null;
+    this.childProxies = new CopyOnWriteArrayList<MBeanProxy>();
     this.parentName = parentName;
   }
 
+  MBeanProxy(MBeanType mBeanType, WeakIdentityKey weakKey, ObjectName parentName) {
+    this.mBeanType = mBeanType;
+    this.originalObject = null;
+    this.weakKey = weakKey;
+    this.childProxies = new CopyOnWriteArrayList<MBeanProxy>();
+    this.parentName = parentName;
+  }
+
+  MBeanType getMBeanType() {
+    return mBeanType;
+  }
+
+  boolean isWeak() {
+    return weakKey != null;
+  }
+
+  WeakIdentityKey getWeakKey() {
+    return weakKey;
+  }
+
+  private Object getOriginalObject() throws MBeanException {
+    if (weakKey == null) {
+      return originalObject;
+    }
+    Object object = weakKey.get();
+    if (object == null) {
+      throw new MBeanException(new IllegalStateException("Object of MBean '" + getObjectName() + "' was garbage collected"));
+    }
+    return object;
+  }
+
+  private Object getOriginalObjectForRegistration() {
+    try {
+      return getOriginalObject();
+    } catch (MBeanException ex) {
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+
   ObjectName getObjectName() {
     if (uniqueObjectName != null) {
       return uniqueObjectName;
@@ -51,7 +98,7 @@ class MBeanProxy implements DynamicMBean {
 
   private ObjectName getSpecifiedObjectName() {
     if (objectName == null) {
-      String objectNameStr = mBeanType.evaluateName(originalObject);
+      String objectNameStr = mBeanType.evaluateName(getOriginalObjectForRegistration());
       if (parentName != null) {
         objectNameStr = parentName.toString() + "," + objectNameStr;
       }
@@ -64,6 +111,14 @@ class MBeanProxy implements DynamicMBean {
     return objectName;
   }
 
+  /**
+   * Uses the given object name instead of the name specified by the {@link com.axonivy.jmx.MBean} annotation
+   * @param name object name
+   */
+  void setObjectName(ObjectName name) {
+    objectName = name;
+  }
+
   boolean makeUniqueName() {
     return mBeanType.makeUniqueName();
   }
@@ -78,10 +133,20 @@ class MBeanProxy implements DynamicMBean {
   }
 
   List<MCompositionReferenceValue> getCompositionReferences() {
-    if (compositionReferences == null) {
-      compositionReferences = mBeanType.getCompositionReferences(originalObject);
-    }
-    return compositionReferences;
+    Object object = findOriginalObject();
+    return object == null ? Collections.emptyList() : mBeanType.getCompositionReferences(object);
+  }
+
+  void addChildProxy(MBeanProxy childProxy) {
+    childProxies.addIfAbsent(childProxy);
+  }
+
+  boolean removeChildProxy(MBeanProxy childProxy) {
+    return childProxies.remove(childProxy);
+  }
+
+  List<MBeanProxy> getChildProxies() {
+    return childProxies;
   }
 
   /**
@@ -90,8 +155,23 @@ class MBeanProxy implements DynamicMBean {
   @Override
   public Object getAttribute(String attribute) throws AttributeNotFoundException, MBeanException,
       ReflectionException {
-    DynamicMAttribute dynamicAttribute = getMBeanInstanceInfo().getAttribute(attribute);
-    return dynamicAttribute.getValue(originalObject);
+    AttributeReadEvent event = MEvents.isRecording() ? AttributeReadEvent.start() : null;
+    Throwable error = null;
+    try {
+      DynamicMAttribute dynamicAttribute = getMBeanInstanceInfo().getAttribute(attribute);
+      MDiagnostics diagnostics = mBeanType.getDiagnostics();
+      long startTime = diagnostics.startTimer();
+      Object value = dynamicAttribute.getValue(getOriginalObject());
+      diagnostics.attributeRead(mBeanType, attribute, startTime);
+      return value;
+    } catch (Throwable ex) {
+      error = ex;
+      throw ex;
+    } finally {
+      if (event != null) {
+        event.end(getObjectName(), attribute, error);
+      }
+    }
   }
 
   /**
@@ -107,7 +187,7 @@ class MBeanProxy implements DynamicMBean {
     if (LOGGER.isInfoEnabled()) {
       LOGGER.info("Attribute ''{0}'' of MBean ''{1}'' set to new value ''{2}''.", attribute.getName(), objectName, attribute.getValue());
     }
-    dynamicAttribute.setValue(originalObject, attribute.getValue());
+    dynamicAttribute.setValue(getOriginalObject(), attribute.getValue());
   }
 
   /**
@@ -115,19 +195,48 @@ class MBeanProxy implements DynamicMBean {
    */
   @Override
   public AttributeList getAttributes(String[] attributeNames) {
+    AttributesReadEvent event = MEvents.isRecording() ? AttributesReadEvent.start() : null;
     AttributeList readAttributes = new AttributeList();
-    for (String name : attributeNames) {
-      Object value;
-      try {
-        value = getAttribute(name);
-        readAttributes.add(new Attribute(name, value));
-      } catch (Exception ex) {
-        LOGGER.warn("Could not read attribute with name '" + name + "'", ex);
+    int failed = 0;
+    if (attributeNames.length > 1 && hasParallelAttribute(attributeNames)) {
+      failed = mBeanType.getParallelAttributeReader().read(this, attributeNames, readAttributes);
+    } else {
+      for (String name : attributeNames) {
+        Object value;
+        try {
+          value = getAttribute(name);
+          readAttributes.add(new Attribute(name, value));
+        } catch (Exception ex) {
+          failed++;
+          attributeReadFailed(name, ex);
+        }
       }
     }
+    if (event != null) {
+      event.end(getObjectName(), attributeNames.length, failed);
+    }
     return readAttributes;
   }
 
+  private boolean hasParallelAttribute(String[] attributeNames) {
+    for (String name : attributeNames) {
+      if (isParallelAttribute(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  boolean isParallelAttribute(String attribute) {
+    DynamicMAttribute dynamicAttribute = getMBeanInstanceInfo().findAttribute(attribute);
+    return dynamicAttribute != null && dynamicAttribute.isParallel();
+  }
+
+  void attributeReadFailed(String attribute, Throwable error) {
+    mBeanType.getDiagnostics().attributeReadFailed(mBeanType);
+    LOGGER.warn("Could not read attribute with name '" + attribute + "'", error);
+  }
+
   /**
    * @see javax.management.DynamicMBean#setAttributes(javax.management.AttributeList)
    */
@@ -151,11 +260,26 @@ class MBeanProxy implements DynamicMBean {
   @Override
   public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException,
       ReflectionException {
-    MethodBasedMOperation operation = getMBeanInstanceInfo().getOperation(actionName, signature);
-    if (LOGGER.isInfoEnabled()) {
-      LOGGER.info("Operation ''{0}'' invoked on MBean ''{1}''", MethodBasedMOperation.buildSignature(actionName, signature), objectName);
+    OperationInvocationEvent event = MEvents.isRecording() ? OperationInvocationEvent.start() : null;
+    Throwable error = null;
+    try {
+      MethodBasedMOperation operation = getMBeanInstanceInfo().getOperation(actionName, signature);
+      if (LOGGER.isInfoEnabled()) {
+        LOGGER.info("Operation ''{0}'' invoked on MBean ''{1}''", MethodBasedMOperation.buildSignature(actionName, signature), objectName);
+      }
+      MDiagnostics diagnostics = mBeanType.getDiagnostics();
+      long startTime = diagnostics.startTimer();
+      Object result = operation.invoke(getOriginalObject(), params);
+      diagnostics.operationInvoked(mBeanType, actionName, startTime);
+      return result;
+    } catch (Throwable ex) {
+      error = ex;
+      throw ex;
+    } finally {
+      if (event != null) {
+        event.end(getObjectName(), actionName, signature, error);
+      }
     }
-    return operation.invoke(originalObject, params);
   }
 
   /**
@@ -166,14 +290,33 @@ class MBeanProxy implements DynamicMBean {
     return getMBeanInstanceInfo().getMBeanInfo();
   }
 
-  private MBeanInstanceInfo getMBeanInstanceInfo() {
+  /**
+   * @return original object or null if the object of a weakly registered MBean was garbage collected
+   */
+  Object findOriginalObject() {
+    return weakKey == null ? originalObject : weakKey.get();
+  }
+
+  MBeanInstanceInfo getMBeanInstanceInfo() {
     if (mBeanInstanceInfo == null) {
-      mBeanInstanceInfo = mBeanType.getMBeanInstanceInfo(originalObject);
+      mBeanInstanceInfo = mBeanType.getMBeanInstanceInfo(getOriginalObjectForRegistration());
     }
     return mBeanInstanceInfo;
   }
 
+  /**
+   * Evaluates the object name and the MBean info, so that the registration on the MBean server does not need to
+   */
+  void prepare() {
+    getObjectName();
+    getMBeanInstanceInfo();
+  }
+
   public boolean register() {
     return registered.compareAndSet(false, true);
   }
+
+  boolean isRegistered() {
+    return registered.get();
+  }
 }
@@ -0,0 +1,55 @@
+package com.axonivy.jmx.internal;
+
+import javax.management.ObjectName;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the registration and unregistration of an MBean
+ */
+@Name("com.axonivy.jmx.MBeanRegistration")
+@Label("MBean Registration")
+@Description("Registration or unregistration of an MBean")
+@Category("ivymx")
+class MBeanRegistrationEvent extends Event {
+  private static final MBeanRegistrationEvent PROTOTYPE = new MBeanRegistrationEvent();
+
+  @Label("Action")
+  @Description("register or unregister")
+  String action;
+
+  @Label("Object Name")
+  String objectName;
+
+  @Label("MBean Class")
+  Class<?> mBeanClass;
+
+  @Label("Outcome")
+  String outcome;
+
+  /**
+   * @return started event or null if the event is disabled
+   */
+  static MBeanRegistrationEvent start() {
+    if (!PROTOTYPE.isEnabled()) {
+      return null;
+    }
+    MBeanRegistrationEvent event = new MBeanRegistrationEvent();
+    event.begin();
+    return event;
+  }
+
+  void end(String registrationAction, Object mBean, ObjectName name, Throwable error) {
+    if (shouldCommit()) {
+      action = registrationAction;
+      mBeanClass = mBean == null ? null : mBean.getClass();
+      objectName = name == null ? null : name.toString();
+      outcome = MEvents.outcome(error);
+      commit();
+    }
+  }
+}
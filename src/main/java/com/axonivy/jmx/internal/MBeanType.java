@@ -2,24 +2,26 @@ package com.axonivy.jmx.internal;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.axonivy.jmx.MBean;
 
 /**
- * Caches all relevant information about a class that is annotated with {@link MBean}
+ * Caches all relevant information about a class that is annotated with {@link MBean}.<br>
+ * The name is parsed when the type is created. The attributes, operations and composition references are analyzed only once
+ * when they are needed the first time. If multiple threads need them at the same time only one of them analyzes the class, the others wait for the result.
  * @author rwei
  * @since 01.07.2013
  */
 class MBeanType {
-  private MBean annotation;
-  private List<DynamicMAttribute> attributes;
-  private List<MethodBasedMOperation> operations;
-  private MBeanManager manager;
-  private Class<?> mBeanClass;
-  private Instruction descriptionInstruction;
-  private NameInstruction nameInstruction;
-  private List<MCompositionReferenceInfo> compositionReferenceInfos;
+  private final MBean annotation;
+  private final MBeanManager manager;
+  private final Class<?> mBeanClass;
+  private final NameInstruction nameInstruction;
+  private volatile Metadata metadata;
+  private volatile MBeanTypeStatistics statistics;
 
   MBeanType(MBeanManager manager, Class<?> mBeanClass) {
     this.manager = manager;
@@ -28,6 +30,21 @@ class MBeanType {
     if (annotation == null) {
       throw new IllegalArgumentException("Bean '" + mBeanClass + "' must contain a @MBean annotation");
     }
+    nameInstruction = NameInstruction.parseInstruction(manager, mBeanClass, annotation.value());
+  }
+
+  private Metadata getMetadata() {
+    Metadata compiled = metadata;
+    if (compiled == null) {
+      synchronized (this) {
+        compiled = metadata;
+        if (compiled == null) {
+          compiled = new Metadata();
+          metadata = compiled;
+        }
+      }
+    }
+    return compiled;
   }
 
   private void evaluateMBeanInfo(Object mBean, MBeanInstanceInfo mBeanInstanceInfo) {
@@ -37,43 +54,61 @@ class MBeanType {
   }
 
   private String evaluateDescription(Object mBean) {
-    if (descriptionInstruction == null) {
-      descriptionInstruction = Instruction.parseInstruction(manager, mBeanClass, annotation.description());
-    }
-    return descriptionInstruction.execute(mBean);
+    return getMetadata().descriptionInstruction.execute(mBean);
   }
 
   String evaluateName(Object mBean) {
-    if (nameInstruction == null) {
-      nameInstruction = NameInstruction.parseInstruction(manager, mBeanClass, annotation.value());
-    }
     return nameInstruction.execute(mBean);
   }
 
-  private void evaluateOperations(Object mBean, MBeanInstanceInfo mBeanInstanceInfo) {
-    if (operations == null) {
-      operations = MOperationCreator.create(manager, mBeanClass);
+  /**
+   * @param domain domain of an object name
+   * @return false if the domain of the name template is constant and differs from the given domain
+   */
+  boolean mayHaveDomain(String domain) {
+    String template = annotation.value();
+    int colon = template.indexOf(':');
+    if (colon < 0 || template.lastIndexOf("#{", colon) >= 0) {
+      return true;
     }
-    for (MethodBasedMOperation operation : operations) {
+    return template.substring(0, colon).equals(domain);
+  }
+
+  private void evaluateOperations(Object mBean, MBeanInstanceInfo mBeanInstanceInfo) {
+    for (MethodBasedMOperation operation : getMetadata().operations) {
       operation.evaluate(mBean, mBeanInstanceInfo);
     }
   }
 
   private void evaluateAttributes(Object mBean, MBeanInstanceInfo mBeanInstanceInfo) {
-    if (attributes == null) {
-      attributes = MAttributeCreator.create(manager, mBeanClass);
-    }
-    for (DynamicMAttribute attribute : attributes) {
+    for (DynamicMAttribute attribute : getMetadata().attributes) {
       attribute.evaluate(mBean, mBeanInstanceInfo);
     }
   }
 
+  MDiagnostics getDiagnostics() {
+    return manager.getDiagnostics();
+  }
+
+  ParallelAttributeReader getParallelAttributeReader() {
+    return manager.getParallelAttributeReader();
+  }
+
+  MBeanTypeStatistics getStatistics() {
+    MBeanTypeStatistics typeStatistics = statistics;
+    if (typeStatistics == null) {
+      typeStatistics = manager.getDiagnostics().getTypeStatistics(mBeanClass);
+      statistics = typeStatistics;
+    }
+    return typeStatistics;
+  }
+
   boolean makeUniqueName() {
     return annotation.makeNameUnique();
   }
 
   List<MCompositionReferenceValue> getCompositionReferences(Object parentMBean) {
-    List<MCompositionReferenceInfo> infos = getCompositionReferenceInfos();
+    List<MCompositionReferenceInfo> infos = getMetadata().compositionReferenceInfos;
     if (infos.isEmpty()) {
       return Collections.emptyList();
     }
@@ -87,11 +122,26 @@ class MBeanType {
     return compositionReferenceValues;
   }
 
-  private List<MCompositionReferenceInfo> getCompositionReferenceInfos() {
-    if (compositionReferenceInfos == null) {
-      compositionReferenceInfos = MCompositionReferenceCreator.create(manager, mBeanClass);
+  /**
+   * Called after an MBean of this type was registered
+   * @param mBean registered MBean
+   */
+  void registered(MBeanProxy mBean) {
+    MBeanAggregate aggregate = getMetadata().aggregate;
+    if (aggregate != null) {
+      aggregate.add(mBean);
+    }
+  }
+
+  /**
+   * Called after an MBean of this type was unregistered
+   * @param mBean unregistered MBean
+   */
+  void unregistered(MBeanProxy mBean) {
+    MBeanAggregate aggregate = getMetadata().aggregate;
+    if (aggregate != null) {
+      aggregate.remove(mBean);
     }
-    return compositionReferenceInfos;
   }
 
   MBeanInstanceInfo getMBeanInstanceInfo(Object originalObject) {
@@ -103,4 +153,39 @@ class MBeanType {
 
     return mBeanInstanceInfo;
   }
+
+  /**
+   * Result of the analysis of the {@link MBean} class. Immutable once created.
+   */
+  private final class Metadata {
+    private final Instruction descriptionInstruction;
+    private final List<DynamicMAttribute> attributes;
+    private final List<MethodBasedMOperation> operations;
+    private final List<MCompositionReferenceInfo> compositionReferenceInfos;
+    /** Null if the type has no aggregated attribute */
+    private final MBeanAggregate aggregate;
+
+    private Metadata() {
+      descriptionInstruction = Instruction.parseInstruction(manager, mBeanClass, annotation.description());
+      attributes = MAttributeCreator.create(manager, mBeanClass);
+      if (annotation.parallelAttributes()) {
+        for (DynamicMAttribute attribute : attributes) {
+          attribute.setParallel();
+        }
+      }
+      operations = MOperationCreator.create(manager, mBeanClass);
+      compositionReferenceInfos = MCompositionReferenceCreator.create(manager, mBeanClass);
+      aggregate = createAggregate();
+    }
+
+    private MBeanAggregate createAggregate() {
+      Map<String, DynamicMAttribute> aggregatedAttributes = new LinkedHashMap<String, DynamicMAttribute>();
+      for (DynamicMAttribute attribute : attributes) {
+        if (attribute.isAggregated()) {
+          aggregatedAttributes.put(attribute.getName(), attribute);
+        }
+      }
+      return aggregatedAttributes.isEmpty() ? null : new MBeanAggregate(manager, mBeanClass, aggregatedAttributes);
+    }
+  }
 }
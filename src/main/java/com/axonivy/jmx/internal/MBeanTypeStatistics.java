@@ -0,0 +1,62 @@
+package com.axonivy.jmx.internal;
+
+import java.util.List;
+
+import com.axonivy.jmx.MAttribute;
+import com.axonivy.jmx.MBean;
+import com.axonivy.jmx.MInclude;
+import com.axonivy.jmx.MOperation;
+import com.axonivy.jmx.util.EventCounter;
+import com.axonivy.jmx.util.OperationExecutionCounter;
+
+/**
+ * Statistics about the MBeans of one {@link MBean} class. Recorded by {@link MDiagnostics} if the diagnostics are enabled.
+ */
+@MBean(value = "ivymx:type=Diagnostics,mBeanType=#{mBeanType}", description = "Statistics about the MBeans of type #{mBeanType}")
+class MBeanTypeStatistics {
+  @MAttribute(description = "Name of the MBean class")
+  private final String mBeanType;
+
+  @MInclude
+  private final OperationExecutionCounter attributeReads = new OperationExecutionCounter("attributeReads", "Number of attribute reads", "attribute", "read");
+
+  @MInclude
+  private final EventCounter failedAttributeReads = new EventCounter("failedAttributeReads", "Number of attributes that could not be read by a bulk read");
+
+  @MInclude
+  private final OperationExecutionCounter operationInvocations = new OperationExecutionCounter("operationInvocations", "Number of operation invocations", "operation", "invoke");
+
+  private final SlowestCalls slowestCalls = new SlowestCalls();
+
+  MBeanTypeStatistics(String mBeanType) {
+    this.mBeanType = mBeanType;
+  }
+
+  String getMBeanType() {
+    return mBeanType;
+  }
+
+  @MAttribute(description = "The slowest attribute reads and operation invocations, slowest first")
+  public List<SlowestCalls.SlowCall> getSlowestCalls() {
+    return slowestCalls.getCalls();
+  }
+
+  @MOperation(description = "Forgets the slowest calls")
+  public void resetSlowestCalls() {
+    slowestCalls.reset();
+  }
+
+  void attributeRead(String attribute, long nanoTime) {
+    attributeReads.record(nanoTime);
+    slowestCalls.record("attribute", attribute, nanoTime);
+  }
+
+  void attributeReadFailed() {
+    failedAttributeReads.increase();
+  }
+
+  void operationInvoked(String operation, long nanoTime) {
+    operationInvocations.record(nanoTime);
+    slowestCalls.record("operation", operation, nanoTime);
+  }
+}
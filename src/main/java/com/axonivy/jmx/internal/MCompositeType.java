@@ -15,16 +15,16 @@ import com.axonivy.jmx.MComposite;
 import com.axonivy.jmx.MException;
 
 /**
- * Caches all relevant information about a class that is annotated with a {@link MComposite} annotation.
+ * Caches all relevant information about a class that is annotated with a {@link MComposite} annotation.<br>
+ * The annotations of the class are analyzed only once when the information is needed the first time.
  * @author rwei
  * @since 01.07.2013
  */
 class MCompositeType {
-  private Class<?> mCompositeClass;
-  private MComposite annotation;
-  private OpenType<?> openType;
-  private Map<String, DynamicMItem> items = new HashMap<String, DynamicMItem>();
-  private MBeanManager manager;
+  private final Class<?> mCompositeClass;
+  private final MComposite annotation;
+  private final MBeanManager manager;
+  private volatile Metadata metadata;
 
   MCompositeType(MBeanManager manager, Class<?> mCompositeClass) {
     this.manager = manager;
@@ -35,8 +35,36 @@ class MCompositeType {
     }
   }
 
+  private Metadata getMetadata() {
+    Metadata compiled = metadata;
+    if (compiled == null) {
+      synchronized (this) {
+        compiled = metadata;
+        if (compiled == null) {
+          compiled = new Metadata();
+          metadata = compiled;
+        }
+      }
+    }
+    return compiled;
+  }
+
   OpenType<?> getOpenType() {
-    if (openType == null) {
+    return getMetadata().openType;
+  }
+
+  AbstractValueConverter getValueConverter() {
+    return new CompositeValueConverter();
+  }
+
+  /**
+   * Result of the analysis of the {@link MComposite} class. Immutable once created.
+   */
+  private final class Metadata {
+    private final Map<String, DynamicMItem> items;
+    private final CompositeType openType;
+
+    private Metadata() {
       String name = mCompositeClass.getName();
       String description = MInternalUtils.getDescription(annotation.value(), name);
 
@@ -44,7 +72,12 @@ class MCompositeType {
       List<String> itemDescriptions = new ArrayList<String>();
       List<OpenType<?>> itemTypes = new ArrayList<OpenType<?>>();
 
-      addItems(itemNames, itemDescriptions, itemTypes);
+      items = MItemCreator.create(manager, mCompositeClass);
+      for (DynamicMItem item : items.values()) {
+        itemNames.add(item.getName());
+        itemDescriptions.add(item.getDescription());
+        itemTypes.add(item.getOpenType());
+      }
 
       try {
         openType = new CompositeType(name, description,
@@ -55,20 +88,6 @@ class MCompositeType {
         throw new MException(ex);
       }
     }
-    return openType;
-  }
-
-  private void addItems(List<String> itemNames, List<String> itemDescriptions, List<OpenType<?>> itemTypes) {
-    items = MItemCreator.create(manager, mCompositeClass);
-    for (DynamicMItem item : items.values()) {
-      itemNames.add(item.getName());
-      itemDescriptions.add(item.getDescription());
-      itemTypes.add(item.getOpenType());
-    }
-  }
-
-  AbstractValueConverter getValueConverter() {
-    return new CompositeValueConverter();
   }
 
   private class CompositeValueConverter extends AbstractValueConverter {
@@ -78,12 +97,13 @@ class MCompositeType {
       if (javaValue == null) {
         return null;
       }
+      Metadata compiled = getMetadata();
       Map<String, Object> values = new HashMap<String, Object>();
-      for (DynamicMItem item : items.values()) {
+      for (DynamicMItem item : compiled.items.values()) {
         values.put(item.getName(), item.getValue(javaValue));
       }
       try {
-        return new CompositeDataSupport((CompositeType) openType, values);
+        return new CompositeDataSupport(compiled.openType, values);
       } catch (OpenDataException ex) {
         throw new MBeanException(ex);
       }
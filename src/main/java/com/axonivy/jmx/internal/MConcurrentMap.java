@@ -0,0 +1,250 @@
+package com.axonivy.jmx.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.axonivy.jmx.MBean;
+
+/**
+ * Proxy for the given original concurrent map that:
+ * <ul>
+ * <li>Registers every {@link MBean} object that is added to the map.</li>
+ * <li>Unregisters every {@link MBean} object that is removed from the map.</li>
+ * </ul>
+ * In contrast to {@link MMap} no MBean is registered or unregistered within a mapping function of the original map.
+ * The functions only record the previous value of a key. After the original map has released its locks the registration
+ * of the key is reconciled with the current value of the key. Reconciliations of the same key are serialized by a lock stripe,
+ * so that concurrent updates of a key always leave the current value registered and all replaced values unregistered.
+ * @param <T> map key type
+ * @param <V> map value type
+ */
+public class MConcurrentMap<T, V> implements ConcurrentMap<T, V> {
+  private static final int LOCK_STRIPES = 64;
+
+  private final ConcurrentMap<T, V> originalMap;
+
+  private final Object[] locks = new Object[LOCK_STRIPES];
+
+  private final MBeanManager manager = MBeanManager.getInstance();
+
+  /**
+   * Constructor
+   * @param originalMap original map
+   */
+  public MConcurrentMap(ConcurrentMap<T, V> originalMap) {
+    this.originalMap = originalMap;
+    for (int pos = 0; pos < LOCK_STRIPES; pos++) {
+      locks[pos] = new Object();
+    }
+  }
+
+  @Override
+  public int size() {
+    return originalMap.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return originalMap.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return originalMap.containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    return originalMap.containsValue(value);
+  }
+
+  @Override
+  public V get(Object key) {
+    return originalMap.get(key);
+  }
+
+  @Override
+  public V put(T key, V value) {
+    V oldValue = originalMap.put(key, value);
+    reconcile(key, oldValue);
+    return oldValue;
+  }
+
+  @Override
+  public V remove(Object key) {
+    V oldValue = originalMap.remove(key);
+    if (oldValue != null) {
+      reconcile(key, oldValue);
+    }
+    return oldValue;
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    boolean removed = originalMap.remove(key, value);
+    if (removed) {
+      reconcile(key, value);
+    }
+    return removed;
+  }
+
+  @Override
+  public void putAll(Map<? extends T, ? extends V> m) {
+    for (Map.Entry<? extends T, ? extends V> entry : m.entrySet()) {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Removes the keys one by one. Keys added concurrently may stay in the map.
+   */
+  @Override
+  public void clear() {
+    for (T key : originalMap.keySet()) {
+      remove(key);
+    }
+  }
+
+  /**
+   * Removes the given keys. Every key is reconciled on its own, so that concurrent updates of the keys stay consistent.
+   * @param keys keys to remove
+   */
+  public void removeAll(Collection<?> keys) {
+    for (Object key : keys) {
+      remove(key);
+    }
+  }
+
+  @Override
+  public Set<T> keySet() {
+    return Collections.unmodifiableSet(originalMap.keySet());
+  }
+
+  @Override
+  public Collection<V> values() {
+    return Collections.unmodifiableCollection(originalMap.values());
+  }
+
+  @Override
+  public Set<Map.Entry<T, V>> entrySet() {
+    return Collections.unmodifiableSet(originalMap.entrySet());
+  }
+
+  @Override
+  public V putIfAbsent(T key, V value) {
+    V oldValue = originalMap.putIfAbsent(key, value);
+    if (oldValue == null) {
+      reconcile(key, null);
+    }
+    return oldValue;
+  }
+
+  @Override
+  public boolean replace(T key, V oldValue, V newValue) {
+    boolean replaced = originalMap.replace(key, oldValue, newValue);
+    if (replaced) {
+      reconcile(key, oldValue);
+    }
+    return replaced;
+  }
+
+  @Override
+  public V replace(T key, V value) {
+    V oldValue = originalMap.replace(key, value);
+    if (oldValue != null) {
+      reconcile(key, oldValue);
+    }
+    return oldValue;
+  }
+
+  @Override
+  public V computeIfAbsent(T key, Function<? super T, ? extends V> mappingFunction) {
+    V value = originalMap.computeIfAbsent(key, mappingFunction);
+    reconcile(key, null);
+    return value;
+  }
+
+  @Override
+  public V computeIfPresent(T key, BiFunction<? super T, ? super V, ? extends V> remappingFunction) {
+    PreviousValue<V> previous = new PreviousValue<>();
+    V value = originalMap.computeIfPresent(key, (k, oldValue) -> {
+      previous.value = oldValue;
+      return remappingFunction.apply(k, oldValue);
+    });
+    reconcile(key, previous.value);
+    return value;
+  }
+
+  @Override
+  public V compute(T key, BiFunction<? super T, ? super V, ? extends V> remappingFunction) {
+    PreviousValue<V> previous = new PreviousValue<>();
+    V value = originalMap.compute(key, (k, oldValue) -> {
+      previous.value = oldValue;
+      return remappingFunction.apply(k, oldValue);
+    });
+    reconcile(key, previous.value);
+    return value;
+  }
+
+  @Override
+  public V merge(T key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    PreviousValue<V> previous = new PreviousValue<>();
+    V newValue = originalMap.merge(key, value, (oldValue, v) -> {
+      previous.value = oldValue;
+      return remappingFunction.apply(oldValue, v);
+    });
+    reconcile(key, previous.value);
+    return newValue;
+  }
+
+  /**
+   * The original map may call the function more than once for a key if the key is modified concurrently.
+   * All previous values are reconciled.
+   */
+  @Override
+  public void replaceAll(BiFunction<? super T, ? super V, ? extends V> function) {
+    List<Map.Entry<T, V>> replaced = Collections.synchronizedList(new ArrayList<>());
+    originalMap.replaceAll((key, oldValue) -> {
+      V newValue = function.apply(key, oldValue);
+      if (newValue != oldValue) {
+        replaced.add(Map.entry(key, oldValue));
+      }
+      return newValue;
+    });
+    for (Map.Entry<T, V> entry : replaced) {
+      reconcile(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Unregisters the previous value of the key if it is no longer the current value and registers the current value.
+   * Registering an already registered value does nothing.
+   * @param key key that was updated
+   * @param previousValue value of the key before the update or null
+   */
+  private void reconcile(Object key, Object previousValue) {
+    synchronized (lockFor(key)) {
+      V currentValue = originalMap.get(key);
+      if (previousValue != null && previousValue != currentValue) {
+        manager.ifAnnotatedUnregisterMBeanFor(previousValue);
+      }
+      manager.ifAnnotatedRegisterMBeanFor(currentValue);
+    }
+  }
+
+  private Object lockFor(Object key) {
+    int hash = key.hashCode();
+    return locks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+  }
+
+  private static final class PreviousValue<V> {
+    private V value;
+  }
+}
@@ -0,0 +1,334 @@
+package com.axonivy.jmx.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import javax.management.ObjectName;
+
+import com.axonivy.jmx.MAttribute;
+import com.axonivy.jmx.MBean;
+import com.axonivy.jmx.MOperation;
+
+/**
+ * Proxy for the given original concurrent map that does not register its values when they are put into the map.
+ * Instead the map itself is registered as one aggregate MBean. The MBean of a value is only registered (materialized)
+ * if it is requested by the operation {@link #getEntry(String)} or by a query of {@link MBeanManager#queryNames(ObjectName)} for its exact name.
+ * Queries with object name patterns never materialize values.
+ * Materialized MBeans are unregistered if their value is removed from the map or by the operation {@link #releaseEntries()}.<br>
+ * Writes to the map only do JMX work if the value they replace or remove is materialized.
+ * @param <T> map key type
+ * @param <V> map value type
+ */
+@MBean(value = "ivymx:type=DeferredMap", description = "Map whose entries are only registered as MBeans on demand")
+public class MDeferredMap<T, V> implements Map<T, V>, DeferredMBeans {
+  private final ConcurrentMap<T, V> originalMap;
+
+  /** Values whose MBeans are registered. Also used as lock to materialize and dematerialize values */
+  private final Set<IdentityKey> materialized = ConcurrentHashMap.newKeySet();
+
+  private final MBeanManager manager = MBeanManager.getInstance();
+
+  /**
+   * Constructor
+   * @param originalMap original map. It must be concurrent, because the JMX operations iterate it concurrently to the application
+   */
+  public MDeferredMap(ConcurrentMap<T, V> originalMap) {
+    this.originalMap = originalMap;
+  }
+
+  @MAttribute(description = "Number of entries in the map")
+  public int getEntryCount() {
+    return originalMap.size();
+  }
+
+  @MAttribute(description = "Number of entries that are registered as MBeans")
+  public int getMaterializedEntries() {
+    return materialized.size();
+  }
+
+  /**
+   * @param key string representation of the key
+   * @return object name of the MBean of the entry with the given key. The MBean is registered if necessary.
+   * The string representation of the value if the value is not an MBean. Null if there is no such entry
+   */
+  @MOperation(description = "Registers the MBean of the entry with the given key and returns its object name")
+  @SuppressWarnings("unchecked")
+  public String getEntry(String key) {
+    V value = getByStringKey(key);
+    if (value != null) {
+      return entry((T) key, value);
+    }
+    for (Map.Entry<T, V> entry : originalMap.entrySet()) {
+      if (key.equals(String.valueOf(entry.getKey()))) {
+        return entry(entry.getKey(), entry.getValue());
+      }
+    }
+    return null;
+  }
+
+  private V getByStringKey(String key) {
+    try {
+      return originalMap.get(key);
+    } catch (ClassCastException ex) {
+      return null;
+    }
+  }
+
+  private String entry(T key, V value) {
+    if (!manager.isMBean(value)) {
+      return String.valueOf(value);
+    }
+    materialize(key, value);
+    ObjectName name = manager.getObjectNameOf(value);
+    return name == null ? null : name.toString();
+  }
+
+  /**
+   * @param offset number of keys to skip
+   * @param limit maximum number of keys to return
+   * @return string representation of the keys, one per line
+   */
+  @MOperation(description = "Lists the keys of the map, one per line")
+  public String listKeys(int offset, int limit) {
+    StringBuilder keys = new StringBuilder();
+    int pos = 0;
+    for (T key : originalMap.keySet()) {
+      if (pos >= offset + limit) {
+        break;
+      }
+      if (pos++ >= offset) {
+        if (keys.length() > 0) {
+          keys.append('\n');
+        }
+        keys.append(key);
+      }
+    }
+    return keys.toString();
+  }
+
+  @MOperation(description = "Unregisters the MBeans of all entries")
+  public void releaseEntries() {
+    release();
+  }
+
+  /**
+   * Evaluates the object names of the values until it finds the value with the given name.
+   * Values whose type has a constant domain that differs from the domain of the name are skipped without evaluating their name.
+   */
+  @Override
+  public void materialize(ObjectName name) {
+    String domain = name.getDomain();
+    for (Map.Entry<T, V> entry : originalMap.entrySet()) {
+      V value = entry.getValue();
+      if (manager.isMBean(value) && manager.mayHaveDomain(value, domain) && !materialized.contains(new IdentityKey(value))) {
+        if (name.equals(manager.evaluateObjectName(value))) {
+          materialize(entry.getKey(), value);
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * The value is marked as materialized before it is checked that the value is still mapped.
+   * A concurrent write checks the mark after it has changed the map. So either this method or the write sees the other.
+   */
+  private void materialize(T key, V value) {
+    IdentityKey identity = new IdentityKey(value);
+    synchronized (materialized) {
+      if (!materialized.add(identity)) {
+        return;
+      }
+      if (originalMap.get(key) != value) {
+        materialized.remove(identity);
+        return;
+      }
+      manager.registerMBeanFor(value);
+    }
+  }
+
+  /**
+   * Writes of values that are not materialized do not take the lock, which is held during the registration of materialized MBeans.
+   */
+  private void dematerialize(Object value) {
+    if (value == null || materialized.isEmpty()) {
+      return;
+    }
+    IdentityKey identity = new IdentityKey(value);
+    if (!materialized.contains(identity)) {
+      return;
+    }
+    synchronized (materialized) {
+      if (materialized.remove(identity)) {
+        manager.unregisterMBeanFor(value);
+      }
+    }
+  }
+
+  @Override
+  public void release() {
+    synchronized (materialized) {
+      List<Object> values = new ArrayList<>(materialized.size());
+      for (IdentityKey identity : materialized) {
+        values.add(identity.get());
+      }
+      materialized.clear();
+      manager.unregisterMBeansFor(values);
+    }
+  }
+
+  @Override
+  public int size() {
+    return originalMap.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return originalMap.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return originalMap.containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    return originalMap.containsValue(value);
+  }
+
+  @Override
+  public V get(Object key) {
+    return originalMap.get(key);
+  }
+
+  @Override
+  public V put(T key, V value) {
+    V oldValue = originalMap.put(key, value);
+    if (oldValue != value) {
+      dematerialize(oldValue);
+    }
+    return oldValue;
+  }
+
+  @Override
+  public V remove(Object key) {
+    V oldValue = originalMap.remove(key);
+    dematerialize(oldValue);
+    return oldValue;
+  }
+
+  @Override
+  public void putAll(Map<? extends T, ? extends V> m) {
+    for (Map.Entry<? extends T, ? extends V> entry : m.entrySet()) {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Override
+  public void clear() {
+    originalMap.clear();
+    release();
+  }
+
+  @Override
+  public Set<T> keySet() {
+    return Collections.unmodifiableSet(originalMap.keySet());
+  }
+
+  @Override
+  public Collection<V> values() {
+    return Collections.unmodifiableCollection(originalMap.values());
+  }
+
+  @Override
+  public Set<Map.Entry<T, V>> entrySet() {
+    return Collections.unmodifiableSet(originalMap.entrySet());
+  }
+
+  @Override
+  public V putIfAbsent(T key, V value) {
+    return originalMap.putIfAbsent(key, value);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    boolean removed = originalMap.remove(key, value);
+    if (removed) {
+      dematerialize(value);
+    }
+    return removed;
+  }
+
+  @Override
+  public boolean replace(T key, V oldValue, V newValue) {
+    boolean replaced = originalMap.replace(key, oldValue, newValue);
+    if (replaced && oldValue != newValue) {
+      dematerialize(oldValue);
+    }
+    return replaced;
+  }
+
+  @Override
+  public V replace(T key, V value) {
+    V oldValue = originalMap.replace(key, value);
+    if (oldValue != value) {
+      dematerialize(oldValue);
+    }
+    return oldValue;
+  }
+
+  @Override
+  public V computeIfAbsent(T key, Function<? super T, ? extends V> mappingFunction) {
+    return originalMap.computeIfAbsent(key, mappingFunction);
+  }
+
+  @Override
+  public V computeIfPresent(T key, BiFunction<? super T, ? super V, ? extends V> remappingFunction) {
+    List<V> replaced = new ArrayList<>(1);
+    V value = originalMap.computeIfPresent(key, (k, oldValue) -> replaced(oldValue, remappingFunction.apply(k, oldValue), replaced));
+    replaced.forEach(this::dematerialize);
+    return value;
+  }
+
+  @Override
+  public V compute(T key, BiFunction<? super T, ? super V, ? extends V> remappingFunction) {
+    List<V> replaced = new ArrayList<>(1);
+    V value = originalMap.compute(key, (k, oldValue) -> replaced(oldValue, remappingFunction.apply(k, oldValue), replaced));
+    replaced.forEach(this::dematerialize);
+    return value;
+  }
+
+  @Override
+  public V merge(T key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    List<V> replaced = new ArrayList<>(1);
+    V newValue = originalMap.merge(key, value, (oldValue, v) -> replaced(oldValue, remappingFunction.apply(oldValue, v), replaced));
+    replaced.forEach(this::dematerialize);
+    return newValue;
+  }
+
+  @Override
+  public void replaceAll(BiFunction<? super T, ? super V, ? extends V> function) {
+    List<V> replaced = Collections.synchronizedList(new ArrayList<>());
+    originalMap.replaceAll((key, oldValue) -> replaced(oldValue, function.apply(key, oldValue), replaced));
+    replaced.forEach(this::dematerialize);
+  }
+
+  /**
+   * Records the old value if it is replaced. The mapping functions may be called more than once, so only the last call counts.
+   */
+  private static <V> V replaced(V oldValue, V newValue, List<V> replaced) {
+    if (oldValue != newValue && oldValue != null) {
+      replaced.add(oldValue);
+    }
+    return newValue;
+  }
+}
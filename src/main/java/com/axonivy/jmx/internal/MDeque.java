@@ -0,0 +1,115 @@
+package com.axonivy.jmx.internal;
+
+import java.util.Deque;
+import java.util.Iterator;
+
+import com.axonivy.jmx.MBean;
+
+/**
+ * Proxy for the given original deque that:
+ * <ul>
+ * <li>Registers every {@link MBean} object that is added to the deque.</li>
+ * <li>Unregisters every {@link MBean} object that is removed from the deque, also if it is removed by an iterator.</li>
+ * </ul>
+ * @see MQueue
+ * @param <T> deque element type
+ */
+public class MDeque<T> extends MQueue<T> implements Deque<T> {
+  private final Deque<T> originalDeque;
+
+  public MDeque(Deque<T> originalDeque) {
+    super(originalDeque);
+    this.originalDeque = originalDeque;
+  }
+
+  @Override
+  public void addFirst(T e) {
+    insert(e, element -> {
+      originalDeque.addFirst(element);
+      return true;
+    });
+  }
+
+  @Override
+  public void addLast(T e) {
+    insert(e, element -> {
+      originalDeque.addLast(element);
+      return true;
+    });
+  }
+
+  @Override
+  public boolean offerFirst(T e) {
+    return insert(e, originalDeque::offerFirst);
+  }
+
+  @Override
+  public boolean offerLast(T e) {
+    return insert(e, originalDeque::offerLast);
+  }
+
+  @Override
+  public T removeFirst() {
+    return removed(originalDeque.removeFirst());
+  }
+
+  @Override
+  public T removeLast() {
+    return removed(originalDeque.removeLast());
+  }
+
+  @Override
+  public T pollFirst() {
+    return removed(originalDeque.pollFirst());
+  }
+
+  @Override
+  public T pollLast() {
+    return removed(originalDeque.pollLast());
+  }
+
+  @Override
+  public T getFirst() {
+    return originalDeque.getFirst();
+  }
+
+  @Override
+  public T getLast() {
+    return originalDeque.getLast();
+  }
+
+  @Override
+  public T peekFirst() {
+    return originalDeque.peekFirst();
+  }
+
+  @Override
+  public T peekLast() {
+    return originalDeque.peekLast();
+  }
+
+  @Override
+  public boolean removeFirstOccurrence(Object o) {
+    return removeFirstEqual(originalDeque.iterator(), o);
+  }
+
+  @Override
+  public boolean removeLastOccurrence(Object o) {
+    return removeFirstEqual(originalDeque.descendingIterator(), o);
+  }
+
+  @Override
+  public void push(T e) {
+    addFirst(e);
+  }
+
+  @Override
+  public T pop() {
+    return removeFirst();
+  }
+
+  @Override
+  public Iterator<T> descendingIterator() {
+    return managedIterator(originalDeque.descendingIterator());
+  }
+}
@@ -0,0 +1,189 @@
+package com.axonivy.jmx.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.axonivy.jmx.MAttribute;
+import com.axonivy.jmx.MBean;
+import com.axonivy.jmx.MInclude;
+import com.axonivy.jmx.util.EventCounter;
+import com.axonivy.jmx.util.OperationExecutionCounter;
+
+/**
+ * Built-in MBean that provides diagnostics about the management library itself.<br>
+ * It is registered directly on the MBean server and therefore not unregistered by {@link MBeanManager#unregisterAllMBeans()}.
+ * Statistics are only recorded if the diagnostics are {@link #setEnabled(boolean) enabled}. All counters are striped and record without allocation.
+ */
+@MBean(value = "ivymx:type=Diagnostics", description = "Diagnostics of the ivymx management library")
+class MDiagnostics {
+  /** Start time returned by {@link #startTimer()} if the diagnostics are disabled */
+  static final long NOT_RECORDED = Long.MIN_VALUE;
+  private static final Logger LOGGER = LoggerFactory.getLogger(MDiagnostics.class);
+
+  private final MBeanManager manager;
+  private final LongAdder reapedMBeans = new LongAdder();
+  private final ConcurrentHashMap<String, MBeanTypeStatistics> typeStatistics = new ConcurrentHashMap<String, MBeanTypeStatistics>();
+
+  @MAttribute(isWritable = true, description = "Are statistics about the management library recorded?")
+  private volatile boolean enabled;
+
+  @MAttribute(isWritable = true, description = "Attribute reads and operation invocations that take longer are logged as warning. 0 to log no warnings")
+  private volatile long slowCallWarningThresholdInMilliSeconds;
+
+  @MInclude
+  private final OperationExecutionCounter registrations = new OperationExecutionCounter("registrations", "Number of MBean registrations", "MBean", "register");
+
+  @MInclude
+  private final OperationExecutionCounter unregistrations = new OperationExecutionCounter("unregistrations", "Number of MBean unregistrations", "MBean", "unregister");
+
+  @MInclude
+  private final OperationExecutionCounter attributeReads = new OperationExecutionCounter("attributeReads", "Number of attribute reads", "attribute", "read");
+
+  @MInclude
+  private final EventCounter failedAttributeReads = new EventCounter("failedAttributeReads", "Number of attributes that could not be read by a bulk read");
+
+  @MInclude
+  private final EventCounter cacheHits = new EventCounter("cacheHits", "Number of attribute reads served from a @MCache");
+
+  @MInclude
+  private final EventCounter cacheMisses = new EventCounter("cacheMisses", "Number of attribute reads of a @MCache attribute that called the getter");
+
+  @MInclude
+  private final OperationExecutionCounter executionContexts = new OperationExecutionCounter("executionContexts",
+      "Number of calls executed within the execution contexts", "execution context", "enter and leave");
+
+  MDiagnostics(MBeanManager manager) {
+    this.manager = manager;
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  void setSlowCallWarningThreshold(long threshold, TimeUnit unit) {
+    slowCallWarningThresholdInMilliSeconds = unit.toMillis(threshold);
+  }
+
+  @MAttribute(description = "Number of currently registered MBeans")
+  public int getRegisteredMBeans() {
+    return manager.getRegisteredMBeanCount();
+  }
+
+  @MAttribute(description = "Number of weakly registered MBeans that were unregistered because their object was garbage collected")
+  public long getReapedMBeans() {
+    return reapedMBeans.sum();
+  }
+
+  @MAttribute(description = "Number of currently weakly registered MBeans")
+  public int getWeaklyRegisteredMBeans() {
+    return manager.getWeaklyRegisteredMBeanCount();
+  }
+
+  @MAttribute(description = "Ratio of @MCache attribute reads served from the cache")
+  public double getCacheHitRatio() {
+    long hits = cacheHits.getCount();
+    long reads = hits + cacheMisses.getCount();
+    return reads == 0 ? 0.0d : (double) hits / reads;
+  }
+
+  void mBeansReaped(int count) {
+    reapedMBeans.add(count);
+  }
+
+  /**
+   * @return current time in nano seconds or {@link #NOT_RECORDED} if the diagnostics are disabled
+   */
+  long startTimer() {
+    return enabled ? System.nanoTime() : NOT_RECORDED;
+  }
+
+  void registered(long startTime) {
+    if (startTime != NOT_RECORDED) {
+      registrations.record(System.nanoTime() - startTime);
+    }
+  }
+
+  void unregistered(long startTime) {
+    if (startTime != NOT_RECORDED) {
+      unregistrations.record(System.nanoTime() - startTime);
+    }
+  }
+
+  void attributeRead(MBeanType mBeanType, String attribute, long startTime) {
+    if (startTime != NOT_RECORDED) {
+      long time = System.nanoTime() - startTime;
+      attributeReads.record(time);
+      MBeanTypeStatistics statistics = mBeanType.getStatistics();
+      statistics.attributeRead(attribute, time);
+      warnIfSlow("Reading attribute", attribute, statistics, time);
+    }
+  }
+
+  void operationInvoked(MBeanType mBeanType, String operation, long startTime) {
+    if (startTime != NOT_RECORDED) {
+      long time = System.nanoTime() - startTime;
+      MBeanTypeStatistics statistics = mBeanType.getStatistics();
+      statistics.operationInvoked(operation, time);
+      warnIfSlow("Invoking operation", operation, statistics, time);
+    }
+  }
+
+  private void warnIfSlow(String call, String name, MBeanTypeStatistics statistics, long nanoTime) {
+    long threshold = slowCallWarningThresholdInMilliSeconds;
+    if (threshold > 0 && TimeUnit.NANOSECONDS.toMillis(nanoTime) >= threshold && LOGGER.isWarnEnabled()) {
+      LOGGER.warn("{} '{}' of MBean type '{}' took {} ms", call, name, statistics.getMBeanType(), TimeUnit.NANOSECONDS.toMillis(nanoTime));
+    }
+  }
+
+  void attributeReadFailed(MBeanType mBeanType) {
+    if (enabled) {
+      failedAttributeReads.increase();
+      mBeanType.getStatistics().attributeReadFailed();
+    }
+  }
+
+  void cacheHit() {
+    if (enabled) {
+      cacheHits.increase();
+    }
+  }
+
+  void cacheMissed() {
+    if (enabled) {
+      cacheMisses.increase();
+    }
+  }
+
+  void executedInContext(long overheadNanoTime) {
+    executionContexts.record(overheadNanoTime);
+  }
+
+  /**
+   * The statistics of a type are kept by the name of the type, so that they do not reference the class.
+   * @param mBeanClass class of the MBean
+   * @return statistics of the given MBean class. Registers them as MBean if they are created.
+   * The MBean is registered outside of the map, so that no lock of the map is held during the registration.
+   */
+  MBeanTypeStatistics getTypeStatistics(Class<?> mBeanClass) {
+    String name = mBeanClass.getName();
+    MBeanTypeStatistics statistics = typeStatistics.get(name);
+    if (statistics != null) {
+      return statistics;
+    }
+    MBeanTypeStatistics created = new MBeanTypeStatistics(name);
+    statistics = typeStatistics.putIfAbsent(name, created);
+    if (statistics != null) {
+      return statistics;
+    }
+    manager.registerInternalMBean(created);
+    return created;
+  }
+}
@@ -0,0 +1,49 @@
+package com.axonivy.jmx.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helpers for the flight recorder events of the management library.<br>
+ * The event classes are only loaded while a flight recording is running. A {@link RecordingListener} on the flight recorder maintains
+ * the {@link #isRecording() recording} flag, so that MBean activity costs one volatile read as long as no recording is running.
+ * This class does not reference the flight recorder API itself, so that the library works on runtimes without the jdk.jfr module.
+ */
+final class MEvents {
+  private static final Logger LOGGER = LoggerFactory.getLogger(MEvents.class);
+  static final String SUCCESS = "success";
+
+  private static volatile boolean recording;
+
+  private MEvents() {}
+
+  /**
+   * Starts to track whether a flight recording is running. Called once by the {@link MBeanManager}.
+   * If the flight recorder is not available no events are recorded.
+   */
+  static void listenForRecordings() {
+    try {
+      RecordingListener.register();
+    } catch (LinkageError | RuntimeException ex) {
+      LOGGER.debug("Flight recorder not available. No events are recorded", ex);
+    }
+  }
+
+  /**
+   * @return true if a flight recording is running and the events must be started
+   */
+  static boolean isRecording() {
+    return recording;
+  }
+
+  static void setRecording(boolean running) {
+    recording = running;
+  }
+
+  static String outcome(Throwable error) {
+    if (error == null) {
+      return SUCCESS;
+    }
+    return "failure: " + error.getClass().getName();
+  }
+}
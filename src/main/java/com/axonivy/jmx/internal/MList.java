@@ -1,7 +1,14 @@
 package com.axonivy.jmx.internal;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import com.axonivy.jmx.MBean;
 
@@ -18,10 +25,20 @@ import com.axonivy.jmx.MBean;
 public class MList<T> extends AbstractList<T> implements List<T> {
   private List<T> originalList;
 
-  private MBeanManager manager = MBeanManager.getInstance();
+  private final MRegistrar registrar;
 
   public MList(List<T> originalList) {
+    this(originalList, MRegistrar.ALL);
+  }
+
+  /**
+   * Constructor
+   * @param originalList original list
+   * @param registrar decides which of the added MBeans are registered
+   */
+  public MList(List<T> originalList, MRegistrar registrar) {
     this.originalList = originalList;
+    this.registrar = registrar;
   }
 
   /**
@@ -46,9 +63,9 @@ public class MList<T> extends AbstractList<T> implements List<T> {
   @Override
   public T set(int index, T element) {
     T previousElement;
-    manager.ifAnnotatedRegisterMBeanFor(element);
+    registrar.ifAnnotatedRegisterMBeanFor(element);
     previousElement = originalList.set(index, element);
-    manager.ifAnnotatedUnregisterMBeanFor(previousElement);
+    registrar.ifAnnotatedUnregisterMBeanFor(previousElement);
     return previousElement;
   }
 
@@ -57,17 +74,244 @@ public class MList<T> extends AbstractList<T> implements List<T> {
    */
   @Override
   public void add(int index, T element) {
-    manager.ifAnnotatedRegisterMBeanFor(element);
+    registrar.ifAnnotatedRegisterMBeanFor(element);
     originalList.add(index, element);
   }
 
+  /**
+   * Registers the MBeans in one batch before they are added in one call to the original list
+   * @see java.util.AbstractCollection#addAll(java.util.Collection)
+   */
+  @Override
+  public boolean addAll(Collection<? extends T> c) {
+    registrar.registerMBeansFor(c);
+    return originalList.addAll(c);
+  }
+
+  /**
+   * Registers the MBeans in one batch before they are added in one call to the original list
+   * @see java.util.AbstractList#addAll(int, java.util.Collection)
+   */
+  @Override
+  public boolean addAll(int index, Collection<? extends T> c) {
+    registrar.registerMBeansFor(c);
+    return originalList.addAll(index, c);
+  }
+
+  /**
+   * @see java.util.AbstractCollection#remove(java.lang.Object)
+   */
+  @Override
+  public boolean remove(Object o) {
+    int index = originalList.indexOf(o);
+    if (index < 0) {
+      return false;
+    }
+    remove(index);
+    return true;
+  }
+
+  /**
+   * Removes the elements in one pass over the original list and unregisters the removed MBeans in one batch
+   * @see java.util.Collection#removeIf(java.util.function.Predicate)
+   */
+  @Override
+  public boolean removeIf(Predicate<? super T> filter) {
+    List<T> removed = new ArrayList<>();
+    originalList.removeIf(element -> filter.test(element) && removed.add(element));
+    registrar.unregisterMBeansFor(removed);
+    return !removed.isEmpty();
+  }
+
+  /**
+   * Removes the elements in one pass over the original list and unregisters the removed MBeans in one batch
+   * @see java.util.AbstractCollection#retainAll(java.util.Collection)
+   */
+  @Override
+  public boolean retainAll(Collection<?> c) {
+    return removeIf(element -> !c.contains(element));
+  }
+
+  /**
+   * Unregisters the replaced MBeans and registers the new MBeans in one batch
+   * @see java.util.List#replaceAll(java.util.function.UnaryOperator)
+   */
+  @Override
+  public void replaceAll(UnaryOperator<T> operator) {
+    List<T> removed = new ArrayList<>();
+    List<T> added = new ArrayList<>();
+    originalList.replaceAll(element -> {
+      T newElement = operator.apply(element);
+      if (newElement != element) {
+        removed.add(element);
+        added.add(newElement);
+      }
+      return newElement;
+    });
+    registrar.unregisterMBeansFor(removed);
+    registrar.registerMBeansFor(added);
+  }
+
+  /**
+   * Sorting does not change the elements of the list. So no MBean is registered or unregistered.
+   * @see java.util.List#sort(java.util.Comparator)
+   */
+  @Override
+  public void sort(Comparator<? super T> c) {
+    originalList.sort(c);
+  }
+
+  /**
+   * @see java.util.AbstractList#indexOf(java.lang.Object)
+   */
+  @Override
+  public int indexOf(Object o) {
+    return originalList.indexOf(o);
+  }
+
+  /**
+   * @see java.util.AbstractList#lastIndexOf(java.lang.Object)
+   */
+  @Override
+  public int lastIndexOf(Object o) {
+    return originalList.lastIndexOf(o);
+  }
+
+  /**
+   * @see java.util.AbstractCollection#contains(java.lang.Object)
+   */
+  @Override
+  public boolean contains(Object o) {
+    return originalList.contains(o);
+  }
+
+  /**
+   * @see java.util.AbstractCollection#toArray()
+   */
+  @Override
+  public Object[] toArray() {
+    return originalList.toArray();
+  }
+
+  /**
+   * @see java.util.AbstractCollection#toArray(Object[])
+   */
+  @Override
+  public <A> A[] toArray(A[] a) {
+    return originalList.toArray(a);
+  }
+
+  /**
+   * The iterators of the original list are used, so that removals through an iterator are as cheap as on the original list.
+   * Elements removed, set or added through the iterator are unregistered or registered.
+   * @see java.util.AbstractList#listIterator(int)
+   */
+  @Override
+  public ListIterator<T> listIterator(int index) {
+    ListIterator<T> iterator = originalList.listIterator(index);
+    return new ListIterator<T>() {
+      private T current;
+
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public T next() {
+        current = iterator.next();
+        return current;
+      }
+
+      @Override
+      public boolean hasPrevious() {
+        return iterator.hasPrevious();
+      }
+
+      @Override
+      public T previous() {
+        current = iterator.previous();
+        return current;
+      }
+
+      @Override
+      public int nextIndex() {
+        return iterator.nextIndex();
+      }
+
+      @Override
+      public int previousIndex() {
+        return iterator.previousIndex();
+      }
+
+      @Override
+      public void remove() {
+        iterator.remove();
+        registrar.ifAnnotatedUnregisterMBeanFor(current);
+      }
+
+      @Override
+      public void set(T e) {
+        registrar.ifAnnotatedRegisterMBeanFor(e);
+        iterator.set(e);
+        if (current != e) {
+          registrar.ifAnnotatedUnregisterMBeanFor(current);
+        }
+        current = e;
+      }
+
+      @Override
+      public void add(T e) {
+        registrar.ifAnnotatedRegisterMBeanFor(e);
+        iterator.add(e);
+      }
+    };
+  }
+
+  /**
+   * @see java.util.AbstractList#iterator()
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return listIterator(0);
+  }
+
+  /**
+   * The sub list is a managed view of the sub list of the original list. So bulk operations on the sub list are delegated to the original list too.
+   * @see java.util.AbstractList#subList(int, int)
+   */
+  @Override
+  public List<T> subList(int fromIndex, int toIndex) {
+    return new MList<>(originalList.subList(fromIndex, toIndex), registrar);
+  }
+
+  /**
+   * Unregisters the removed MBeans in one batch
+   * @see java.util.AbstractList#clear()
+   */
+  @Override
+  public void clear() {
+    List<T> removed = new ArrayList<>(originalList);
+    originalList.clear();
+    registrar.unregisterMBeansFor(removed);
+  }
+
+  /**
+   * Removes the elements in one pass over the original list and unregisters the removed MBeans in one batch
+   * @see java.util.AbstractCollection#removeAll(java.util.Collection)
+   */
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    return removeIf(element -> c.contains(element));
+  }
+
   /**
    * @see java.util.AbstractList#remove(int)
    */
   @Override
   public T remove(int index) {
     T object = originalList.remove(index);
-    manager.ifAnnotatedUnregisterMBeanFor(object);
+    registrar.ifAnnotatedUnregisterMBeanFor(object);
     return object;
   }
 }
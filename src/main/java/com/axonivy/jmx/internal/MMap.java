@@ -1,7 +1,9 @@
 package com.axonivy.jmx.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiFunction;
@@ -23,14 +25,24 @@ import com.axonivy.jmx.MBean;
 public class MMap<T, V> implements Map<T, V> {
   private final Map<T, V> originalMap;
 
-  private final MBeanManager manager = MBeanManager.getInstance();
+  private final MRegistrar registrar;
 
   /**
    * Constructor
    * @param originalMap original map
    */
   public MMap(Map<T, V> originalMap) {
+    this(originalMap, MRegistrar.ALL);
+  }
+
+  /**
+   * Constructor
+   * @param originalMap original map
+   * @param registrar decides which of the added MBeans are registered
+   */
+  public MMap(Map<T, V> originalMap, MRegistrar registrar) {
     this.originalMap = originalMap;
+    this.registrar = registrar;
   }
 
   /**
@@ -97,7 +109,7 @@ public class MMap<T, V> implements Map<T, V> {
   @Override
   public V remove(Object key) {
     V removedObject = originalMap.remove(key);
-    manager.ifAnnotatedUnregisterMBeanFor(removedObject);
+    registrar.ifAnnotatedUnregisterMBeanFor(removedObject);
     return removedObject;
   }
 
@@ -106,9 +118,22 @@ public class MMap<T, V> implements Map<T, V> {
    */
   @Override
   public void putAll(Map<? extends T, ? extends V> m) {
+    List<V> removed = new ArrayList<>();
+    List<V> added = new ArrayList<>(m.size());
     for (Map.Entry<? extends T, ? extends V> entry : m.entrySet()) {
-      put(entry.getKey(), entry.getValue());
+      V value = entry.getValue();
+      V oldValue = originalMap.put(entry.getKey(), value);
+      if (oldValue != value) {
+        if (oldValue != null) {
+          removed.add(oldValue);
+        }
+        if (value != null) {
+          added.add(value);
+        }
+      }
     }
+    registrar.unregisterMBeansFor(removed);
+    registrar.registerMBeansFor(added);
   }
 
   /**
@@ -116,10 +141,24 @@ public class MMap<T, V> implements Map<T, V> {
    */
   @Override
   public void clear() {
-    for (V value : values()) {
-      manager.ifAnnotatedUnregisterMBeanFor(value);
-    }
+    List<V> removed = new ArrayList<>(originalMap.values());
     originalMap.clear();
+    registrar.unregisterMBeansFor(removed);
+  }
+
+  /**
+   * Removes the given keys and unregisters their values in one batch
+   * @param keys keys to remove
+   */
+  public void removeAll(Collection<?> keys) {
+    List<V> removed = new ArrayList<>(keys.size());
+    for (Object key : keys) {
+      V oldValue = originalMap.remove(key);
+      if (oldValue != null) {
+        removed.add(oldValue);
+      }
+    }
+    registrar.unregisterMBeansFor(removed);
   }
 
   /**
@@ -138,26 +177,38 @@ public class MMap<T, V> implements Map<T, V> {
     return Collections.unmodifiableCollection(originalMap.values());
   }
 
+  /**
+   * Only a computed value is registered. Values that are already in the map are not passed to the registrar again,
+   * so that a {@link MSampler} does not count them as added.
+   */
   @Override
   public V computeIfAbsent(T key, Function<? super T, ? extends V> mappingFunction) {
-    V value = originalMap.computeIfAbsent(key, mappingFunction);
-    manager.ifAnnotatedRegisterMBeanFor(value);
+    boolean[] computed = {false};
+    V value = originalMap.computeIfAbsent(key, k -> {
+      computed[0] = true;
+      return mappingFunction.apply(k);
+    });
+    if (computed[0]) {
+      registrar.ifAnnotatedRegisterMBeanFor(value);
+    }
     return value;
   }
 
   @Override
   public V computeIfPresent(T key, BiFunction<? super T, ? super V, ? extends V> remappingFunction) {
+    boolean[] replaced = {false};
     BiFunction<? super T, ? super V, ? extends V> fct = (k, oldValue) -> {
       var newValue = remappingFunction.apply(k, oldValue);
-      if (newValue != oldValue && oldValue != null) {
-        manager.ifAnnotatedUnregisterMBeanFor(oldValue);
+      if (newValue != oldValue) {
+        replaced[0] = true;
+        registrar.ifAnnotatedUnregisterMBeanFor(oldValue);
       }
       return newValue;
     };
     V value = originalMap.computeIfPresent(key, fct);
-    if (value != null) {
-      manager.ifAnnotatedRegisterMBeanFor(value);
-    } 
+    if (replaced[0] && value != null) {
+      registrar.ifAnnotatedRegisterMBeanFor(value);
+    }
     return value;
   }
 
@@ -166,7 +217,7 @@ public class MMap<T, V> implements Map<T, V> {
     V oldValue = originalMap.putIfAbsent(key, value);
     if (oldValue == null) {
       if  (originalMap.get(key) == value) {
-        manager.ifAnnotatedRegisterMBeanFor(value);
+        registrar.ifAnnotatedRegisterMBeanFor(value);
       }
     } 
     return oldValue;
@@ -176,10 +227,10 @@ public class MMap<T, V> implements Map<T, V> {
   public V replace(T key, V value) {
     var oldValue = originalMap.replace(key, value);
     if (oldValue != null) {
-      manager.ifAnnotatedUnregisterMBeanFor(oldValue);
+      registrar.ifAnnotatedUnregisterMBeanFor(oldValue);
     }
     if (value != null && originalMap.get(key) == value) {
-      manager.ifAnnotatedRegisterMBeanFor(value);
+      registrar.ifAnnotatedRegisterMBeanFor(value);
     }
     return oldValue;
   }
@@ -206,15 +257,20 @@ public class MMap<T, V> implements Map<T, V> {
 
   @Override
   public V merge(T key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    boolean[] unchanged = {false};
     BiFunction<? super V, ? super V, ? extends V> fct = (oldValue, newValue) -> {
       var v = remappingFunction.apply(oldValue, newValue);
-      if (v != oldValue && oldValue != null) {
-        manager.ifAnnotatedUnregisterMBeanFor(oldValue);
+      if (v == oldValue) {
+        unchanged[0] = true;
+      } else {
+        registrar.ifAnnotatedUnregisterMBeanFor(oldValue);
       }
       return v;
     };
     var newValue = originalMap.merge(key, value, fct);
-    manager.ifAnnotatedRegisterMBeanFor(newValue);
+    if (!unchanged[0]) {
+      registrar.ifAnnotatedRegisterMBeanFor(newValue);
+    }
     return newValue;
   }
 
@@ -223,10 +279,10 @@ public class MMap<T, V> implements Map<T, V> {
       return;
     }
     if (oldValue != null) {
-      manager.ifAnnotatedUnregisterMBeanFor(oldValue);
+      registrar.ifAnnotatedUnregisterMBeanFor(oldValue);
     }
     if (newValue != null) {
-      manager.ifAnnotatedRegisterMBeanFor(newValue);
+      registrar.ifAnnotatedRegisterMBeanFor(newValue);
     }
   }
 }
@@ -0,0 +1,69 @@
+package com.axonivy.jmx.internal;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.AttributeNotFoundException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.axonivy.jmx.MBean;
+import com.axonivy.jmx.MOperation;
+import com.axonivy.jmx.MOperation.Impact;
+
+/**
+ * Built-in MBean that reads an attribute of many MBeans in one call, so that remote clients do not need a round trip per MBean.<br>
+ * The MBeans are found with the object name index of the {@link MBeanManager}. The attribute is read directly from the MBeans.
+ * If many MBeans match it is read concurrently by the {@link ParallelAttributeReader} with its concurrency limit and timeout. It is registered directly on the MBean server together with the first MBean.
+ */
+@MBean(value = "ivymx:type=Query", description = "Reads attributes of many MBeans registered by the ivymx management library in one call")
+class MQueryService {
+  private static final Logger LOGGER = LoggerFactory.getLogger(MQueryService.class);
+  private static final int PARALLEL_READ_THRESHOLD = 64;
+
+  private final MBeanManager manager;
+
+  MQueryService(MBeanManager manager) {
+    this.manager = manager;
+  }
+
+  @MOperation(description = "Reads the attribute of all MBeans that match the pattern. MBeans without the attribute are skipped",
+      params = {"pattern", "attribute"}, paramDescriptions = {"Object name or object name pattern", "Name of the attribute"}, impact = Impact.INFO)
+  public AttributeValues readAttribute(ObjectName pattern, String attribute) {
+    List<MBeanProxy> mBeans = manager.query(pattern);
+    Map<ObjectName, String> values = new LinkedHashMap<ObjectName, String>();
+    if (mBeans.size() >= PARALLEL_READ_THRESHOLD) {
+      manager.getParallelAttributeReader().read(mBeans, attribute,
+          (mBean, value) -> values.put(mBean.getObjectName(), toString(value)),
+          (mBean, error) -> readFailed(mBean, attribute, error));
+      return new AttributeValues(values);
+    }
+    for (MBeanProxy mBean : mBeans) {
+      try {
+        values.put(mBean.getObjectName(), toString(mBean.getAttribute(attribute)));
+      } catch (Exception ex) {
+        readFailed(mBean, attribute, ex);
+      }
+    }
+    return new AttributeValues(values);
+  }
+
+  private static void readFailed(MBeanProxy mBean, String attribute, Throwable error) {
+    if (error instanceof AttributeNotFoundException) {
+      return; // skip MBeans without the attribute
+    }
+    LOGGER.debug("Could not read attribute '" + attribute + "' of MBean '" + mBean.getObjectName() + "'", error);
+  }
+
+  private static String toString(Object value) {
+    if (value != null && value.getClass().isArray()) {
+      String array = Arrays.deepToString(new Object[] {value});
+      return array.substring(1, array.length() - 1);
+    }
+    return String.valueOf(value);
+  }
+}
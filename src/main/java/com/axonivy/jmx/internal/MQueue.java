@@ -0,0 +1,134 @@
+package com.axonivy.jmx.internal;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.function.Predicate;
+
+import com.axonivy.jmx.MBean;
+
+/**
+ * Proxy for the given original queue that:
+ * <ul>
+ * <li>Registers every {@link MBean} object that is added to the queue.</li>
+ * <li>Unregisters every {@link MBean} object that is removed from the queue, also if it is removed by an iterator.</li>
+ * </ul>
+ * The queue operations are delegated to the original queue without any additional locking.
+ * An element is registered before it is inserted into the queue, so that it is always registered before another thread can remove it.
+ * @param <T> queue element type
+ */
+public class MQueue<T> extends AbstractQueue<T> implements Queue<T> {
+  private final Queue<T> originalQueue;
+
+  protected final MBeanManager manager = MBeanManager.getInstance();
+
+  public MQueue(Queue<T> originalQueue) {
+    this.originalQueue = originalQueue;
+  }
+
+  @Override
+  public boolean offer(T e) {
+    return insert(e, originalQueue::offer);
+  }
+
+  @Override
+  public boolean add(T e) {
+    return insert(e, originalQueue::add);
+  }
+
+  @Override
+  public T poll() {
+    return removed(originalQueue.poll());
+  }
+
+  @Override
+  public T peek() {
+    return originalQueue.peek();
+  }
+
+  @Override
+  public int size() {
+    return originalQueue.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return originalQueue.isEmpty();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return originalQueue.contains(o);
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    return removeFirstEqual(originalQueue.iterator(), o);
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return managedIterator(originalQueue.iterator());
+  }
+
+  protected Iterator<T> managedIterator(Iterator<T> iterator) {
+    return new Iterator<T>() {
+      private T current;
+
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public T next() {
+        current = iterator.next();
+        return current;
+      }
+
+      @Override
+      public void remove() {
+        iterator.remove();
+        manager.ifAnnotatedUnregisterMBeanFor(current);
+      }
+    };
+  }
+
+  /**
+   * Registers the element before it is inserted. Unregisters it again if it was not inserted.
+   */
+  protected boolean insert(T e, Predicate<T> insertion) {
+    manager.ifAnnotatedRegisterMBeanFor(e);
+    boolean inserted = false;
+    try {
+      inserted = insertion.test(e);
+      return inserted;
+    } finally {
+      if (!inserted) {
+        manager.ifAnnotatedUnregisterMBeanFor(e);
+      }
+    }
+  }
+
+  /**
+   * Removes the first element of the iterator that is equal to the given object. The queue compares the elements with equals
+   * but the MBeans are registered by identity. So the MBean of the removed element is unregistered and not the MBean of the given object.
+   */
+  protected boolean removeFirstEqual(Iterator<T> iterator, Object o) {
+    while (iterator.hasNext()) {
+      T element = iterator.next();
+      if (Objects.equals(o, element)) {
+        iterator.remove();
+        removed(element);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  protected T removed(T element) {
+    manager.ifAnnotatedUnregisterMBeanFor(element);
+    return element;
+  }
+}
@@ -0,0 +1,30 @@
+package com.axonivy.jmx.internal;
+
+import java.util.Collection;
+
+/**
+ * Registers and unregisters the MBeans added to and removed from a managed collection.
+ * The default {@link #ALL} registers every MBean. {@link MSampler Samplers} only register some of them.
+ */
+public class MRegistrar {
+  /** Registers every MBean added to a managed collection */
+  public static final MRegistrar ALL = new MRegistrar();
+
+  protected final MBeanManager manager = MBeanManager.getInstance();
+
+  void ifAnnotatedRegisterMBeanFor(Object object) {
+    manager.ifAnnotatedRegisterMBeanFor(object);
+  }
+
+  void ifAnnotatedUnregisterMBeanFor(Object object) {
+    manager.ifAnnotatedUnregisterMBeanFor(object);
+  }
+
+  void registerMBeansFor(Collection<? extends Object> objects) {
+    manager.ifAnnotatedRegisterMBeansFor(objects);
+  }
+
+  void unregisterMBeansFor(Collection<? extends Object> objects) {
+    manager.ifAnnotatedUnregisterMBeansFor(objects);
+  }
+}
@@ -0,0 +1,159 @@
+package com.axonivy.jmx.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registers only a sample of the MBeans added to a managed collection and counts the others.
+ * The sampling decision and the counters take no locks. Only the registration of a sampled MBean takes a lock stripe.
+ */
+public abstract class MSampler extends MRegistrar {
+  private static final int LOCK_STRIPES = 64;
+  private final Object[] locks = new Object[LOCK_STRIPES];
+  private final LongAdder added = new LongAdder();
+  private final LongAdder removed = new LongAdder();
+  private final LongAdder sampled = new LongAdder();
+
+  protected MSampler() {
+    for (int pos = 0; pos < LOCK_STRIPES; pos++) {
+      locks[pos] = new Object();
+    }
+  }
+
+  /**
+   * @param n sample every n-th added MBean
+   * @return sampler that registers every n-th added MBean
+   */
+  public static MSampler everyNth(int n) {
+    return new EveryNthSampler(n);
+  }
+
+  /**
+   * @param size maximum number of registered MBeans
+   * @return sampler that registers a random sample of the added MBeans of the given size
+   */
+  public static MSampler reservoir(int size) {
+    return new ReservoirSampler(size);
+  }
+
+  /**
+   * Decides whether the MBean of the given added object is registered
+   * @param object MBean object added to a managed collection
+   * @return true to register the MBean
+   */
+  protected abstract boolean sample(Object object);
+
+  /**
+   * Called before the MBean of an object is unregistered because the object was removed from its collection.
+   * The object may not be part of the sample.
+   * @param object removed object
+   */
+  protected void released(Object object) {
+  }
+
+  /**
+   * @param object sampled object
+   * @return true if the object is still part of the sample
+   */
+  protected boolean isSampled(Object object) {
+    return true;
+  }
+
+  @Override
+  void ifAnnotatedRegisterMBeanFor(Object object) {
+    if (manager.isMBean(object)) {
+      added.increment();
+      if (sample(object)) {
+        register(object);
+      }
+    }
+  }
+
+  @Override
+  void ifAnnotatedUnregisterMBeanFor(Object object) {
+    if (manager.isMBean(object)) {
+      removed.increment();
+      released(object);
+      synchronized (lockFor(object)) {
+        unregister(object);
+      }
+    }
+  }
+
+  /**
+   * Samples are registered one by one. Only the sampling decision is done for the whole batch.
+   */
+  @Override
+  void registerMBeansFor(Collection<? extends Object> objects) {
+    List<Object> samples = new ArrayList<>();
+    for (Object object : objects) {
+      if (manager.isMBean(object)) {
+        added.increment();
+        if (sample(object)) {
+          samples.add(object);
+        }
+      }
+    }
+    samples.forEach(this::register);
+  }
+
+  @Override
+  void unregisterMBeansFor(Collection<? extends Object> objects) {
+    for (Object object : objects) {
+      ifAnnotatedUnregisterMBeanFor(object);
+    }
+  }
+
+  /**
+   * Registers the sampled object unless it was evicted from the sample or removed from its collection concurrently
+   */
+  private void register(Object object) {
+    synchronized (lockFor(object)) {
+      if (isSampled(object) && manager.getObjectNameOf(object) == null) {
+        manager.registerMBeanFor(object);
+        sampled.increment();
+      }
+    }
+  }
+
+  /**
+   * Unregisters the MBean of an object that stays in its collection but is no longer part of the sample
+   * @param object object to evict
+   */
+  protected void evict(Object object) {
+    synchronized (lockFor(object)) {
+      if (!isSampled(object)) {
+        unregister(object);
+      }
+    }
+  }
+
+  private void unregister(Object object) {
+    if (manager.getObjectNameOf(object) != null) {
+      manager.unregisterMBeanFor(object);
+      sampled.decrement();
+    }
+  }
+
+  /**
+   * Registration and unregistration of the same object are serialized by a lock stripe. The sampling decision takes no lock.
+   */
+  private Object lockFor(Object object) {
+    int hash = System.identityHashCode(object);
+    return locks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+  }
+
+  public long getAddedCount() {
+    return added.sum();
+  }
+
+  public long getRemovedCount() {
+    return removed.sum();
+  }
+
+  public long getSampledCount() {
+    return sampled.sum();
+  }
+}
@@ -0,0 +1,142 @@
+package com.axonivy.jmx.internal;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import com.axonivy.jmx.MBean;
+
+/**
+ * Proxy for the given original set that:
+ * <ul>
+ * <li>Registers every {@link MBean} object that is added to the set.</li>
+ * <li>Unregisters every {@link MBean} object that is removed from the set, also if it is removed by an iterator.</li>
+ * </ul>
+ * The set operations are delegated to the original set without any additional locking.
+ * After an element was added or removed its registration is reconciled with its membership in the set.
+ * Reconciliations of the same element are serialized by a lock stripe, so that concurrent adds and removes of an element
+ * leave it registered exactly if it is contained in the set.
+ * @param <T> set element type
+ */
+public class MSet<T> extends AbstractSet<T> implements Set<T> {
+  private static final int LOCK_STRIPES = 64;
+
+  private final Set<T> originalSet;
+
+  private final Object[] locks = new Object[LOCK_STRIPES];
+
+  private final MBeanManager manager = MBeanManager.getInstance();
+
+  public MSet(Set<T> originalSet) {
+    this.originalSet = originalSet;
+    for (int pos = 0; pos < LOCK_STRIPES; pos++) {
+      locks[pos] = new Object();
+    }
+  }
+
+  @Override
+  public int size() {
+    return originalSet.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return originalSet.isEmpty();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return originalSet.contains(o);
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    Iterator<T> iterator = originalSet.iterator();
+    return new Iterator<T>() {
+      private T current;
+
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public T next() {
+        current = iterator.next();
+        return current;
+      }
+
+      @Override
+      public void remove() {
+        iterator.remove();
+        reconcile(current);
+      }
+    };
+  }
+
+  @Override
+  public boolean add(T e) {
+    boolean added = originalSet.add(e);
+    if (added) {
+      reconcile(e);
+    }
+    return added;
+  }
+
+  /**
+   * The set compares the elements with equals but the MBeans are registered by identity. If the given object is not registered itself
+   * the set is searched for the equal element, so that the MBean of the element that is actually removed is unregistered.
+   */
+  @Override
+  public boolean remove(Object o) {
+    if (!manager.isMBean(o) || manager.isRegistered(o)) {
+      boolean removed = originalSet.remove(o);
+      if (removed) {
+        reconcile(o);
+      }
+      return removed;
+    }
+    Iterator<T> iterator = originalSet.iterator();
+    while (iterator.hasNext()) {
+      T element = iterator.next();
+      if (o.equals(element)) {
+        iterator.remove();
+        reconcile(element);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Removes the elements one by one through the iterator of the original set like the managed iterator does.
+   * Elements added concurrently may stay in the set.
+   */
+  @Override
+  public void clear() {
+    Iterator<T> iterator = originalSet.iterator();
+    while (iterator.hasNext()) {
+      T element = iterator.next();
+      iterator.remove();
+      reconcile(element);
+    }
+  }
+
+  private void reconcile(Object element) {
+    if (!manager.isMBean(element)) {
+      return;
+    }
+    synchronized (lockFor(element)) {
+      if (originalSet.contains(element)) {
+        manager.ifAnnotatedRegisterMBeanFor(element);
+      } else {
+        manager.ifAnnotatedUnregisterMBeanFor(element);
+      }
+    }
+  }
+
+  private Object lockFor(Object element) {
+    int hash = element.hashCode();
+    return locks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+  }
+}
@@ -30,6 +30,7 @@ class MethodBasedMOperation {
   private Instruction nameInstruction;
   private Instruction descriptionInstruction;
   private OpenMBeanParameterInfo[] parameterInfos;
+  private AbstractValueConverter returnValueConverter;
 
   MethodBasedMOperation(MBeanManager manager, AbstractValueAccessor targetAccessor, Method method, MOperation operation) {
     this.manager = manager;
@@ -38,6 +39,7 @@ class MethodBasedMOperation {
     method.setAccessible(true);
     this.operation = operation;
     mBeanInfo = createMBeanInfo();
+    returnValueConverter = manager.getValueConverter(method.getGenericReturnType());
     nameInstruction = Instruction.parseInstruction(manager, method.getDeclaringClass(), mBeanInfo.getName());
     descriptionInstruction = Instruction.parseInstruction(manager, method.getDeclaringClass(), mBeanInfo.getDescription());
   }
@@ -50,7 +52,7 @@ class MethodBasedMOperation {
         name,
         description,
         parameterInfos,
-        manager.toOpenType(method.getReturnType()),
+        manager.toOpenType(method.getGenericReturnType()),
         operation.impact().toInt());
   }
 
@@ -65,8 +67,9 @@ class MethodBasedMOperation {
 
   Object invoke(final Object beanInstance, final Object[] params) throws MBeanException, ReflectionException {
     final Object target = targetAccessor.getValue(beanInstance);
+    Object result;
     try {
-      return manager.executeInContext(new Callable<Object>(){
+      result = manager.executeInContext(new Callable<Object>(){
 
         @Override
         public Object call() throws Exception {
@@ -80,6 +83,7 @@ class MethodBasedMOperation {
     } catch (Exception ex) {
       throw new MBeanException(ex);
     }
+    return returnValueConverter.toOpenDataValue(result);
   }
 
   private OpenMBeanParameterInfo[] buildParameterInfos() {
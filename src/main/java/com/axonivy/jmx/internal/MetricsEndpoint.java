@@ -0,0 +1,284 @@
+package com.axonivy.jmx.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.OpenMBeanAttributeInfo;
+import javax.management.openmbean.TabularData;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.axonivy.jmx.IMetricsEndpoint;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP endpoint based on the HTTP server of the JDK. Requests are handled on virtual threads if the JVM supports them,
+ * otherwise on a small pool of daemon threads. Requests do not share any lock, so concurrent scrapes do not wait for each other.
+ */
+class MetricsEndpoint implements IMetricsEndpoint {
+  private static final Logger LOGGER = LoggerFactory.getLogger(MetricsEndpoint.class);
+  private static final String OPEN_METRICS_CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+  private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+  private static final int FALLBACK_THREADS = 4;
+
+  private final MBeanManager manager;
+  private final HttpServer server;
+  private final ExecutorService executor;
+
+  MetricsEndpoint(MBeanManager manager, InetSocketAddress address) throws IOException {
+    this.manager = manager;
+    server = HttpServer.create(address, 0);
+    executor = createExecutor();
+    server.setExecutor(executor);
+    server.createContext("/metrics", new GetHandler(this::writeMetrics, OPEN_METRICS_CONTENT_TYPE));
+    server.createContext("/mbeans", new GetHandler(this::writeMBeans, JSON_CONTENT_TYPE));
+    server.start();
+  }
+
+  @Override
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdown();
+  }
+
+  private static ExecutorService createExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException ex) {
+      return Executors.newFixedThreadPool(FALLBACK_THREADS, new DaemonThreadFactory());
+    }
+  }
+
+  private void writeMetrics(HttpExchange exchange, StringBuilder out) throws IOException {
+    manager.writeOpenMetrics(out);
+  }
+
+  private void writeMBeans(HttpExchange exchange, StringBuilder out) throws BadRequestException {
+    ObjectName pattern = getPattern(exchange);
+    out.append('[');
+    int count = 0;
+    for (MBeanProxy mBean : manager.query(pattern)) {
+      if (count++ > 0) {
+        out.append(',');
+      }
+      writeMBean(out, mBean.getObjectName(), mBean);
+    }
+    out.append(']');
+  }
+
+  private static ObjectName getPattern(HttpExchange exchange) throws BadRequestException {
+    String query = exchange.getRequestURI().getRawQuery();
+    if (query == null) {
+      return ObjectName.WILDCARD;
+    }
+    for (String parameter : query.split("&")) {
+      if (parameter.startsWith("pattern=")) {
+        String pattern = URLDecoder.decode(parameter.substring("pattern=".length()), StandardCharsets.UTF_8);
+        try {
+          return new ObjectName(pattern);
+        } catch (MalformedObjectNameException ex) {
+          throw new BadRequestException("Invalid object name pattern '" + pattern + "'");
+        }
+      }
+    }
+    return ObjectName.WILDCARD;
+  }
+
+  private static void writeMBean(StringBuilder out, ObjectName name, MBeanProxy mBean) {
+    out.append("{\"objectName\":");
+    writeString(out, name.toString());
+    out.append(",\"attributes\":{");
+    int count = 0;
+    for (OpenMBeanAttributeInfo attribute : mBean.getMBeanInstanceInfo().getOpenAttributeInfos()) {
+      if (count++ > 0) {
+        out.append(',');
+      }
+      writeString(out, attribute.getName());
+      out.append(':');
+      try {
+        writeValue(out, mBean.getAttribute(attribute.getName()));
+      } catch (Exception ex) {
+        LOGGER.debug("Could not read attribute '{}' of MBean '{}'", attribute.getName(), name, ex);
+        out.append("null");
+      }
+    }
+    out.append("}}");
+  }
+
+  private static void writeValue(StringBuilder out, Object value) {
+    if (value == null) {
+      out.append("null");
+    } else if (value instanceof Boolean) {
+      out.append(value);
+    } else if (value instanceof Number) {
+      writeNumber(out, (Number) value);
+    } else if (value instanceof CompositeData) {
+      writeComposite(out, (CompositeData) value);
+    } else if (value instanceof TabularData) {
+      writeValues(out, ((TabularData) value).values());
+    } else if (value.getClass().isArray()) {
+      out.append('[');
+      for (int pos = 0; pos < Array.getLength(value); pos++) {
+        if (pos > 0) {
+          out.append(',');
+        }
+        writeValue(out, Array.get(value, pos));
+      }
+      out.append(']');
+    } else {
+      writeString(out, value.toString());
+    }
+  }
+
+  private static void writeNumber(StringBuilder out, Number value) {
+    if ((value instanceof Double || value instanceof Float) && !Double.isFinite(value.doubleValue())) {
+      writeString(out, value.toString());
+    } else {
+      out.append(value);
+    }
+  }
+
+  private static void writeComposite(StringBuilder out, CompositeData data) {
+    out.append('{');
+    int count = 0;
+    for (String key : data.getCompositeType().keySet()) {
+      if (count++ > 0) {
+        out.append(',');
+      }
+      writeString(out, key);
+      out.append(':');
+      writeValue(out, data.get(key));
+    }
+    out.append('}');
+  }
+
+  private static void writeValues(StringBuilder out, Collection<?> values) {
+    out.append('[');
+    int count = 0;
+    for (Object value : values) {
+      if (count++ > 0) {
+        out.append(',');
+      }
+      writeValue(out, value);
+    }
+    out.append(']');
+  }
+
+  private static void writeString(StringBuilder out, String text) {
+    out.append('"');
+    for (int pos = 0; pos < text.length(); pos++) {
+      char ch = text.charAt(pos);
+      switch (ch) {
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        default:
+          if (ch < 0x20) {
+            out.append(String.format("\\u%04x", (int) ch));
+          } else {
+            out.append(ch);
+          }
+      }
+    }
+    out.append('"');
+  }
+
+  @FunctionalInterface
+  private interface ContentWriter {
+    void write(HttpExchange exchange, StringBuilder out) throws IOException;
+  }
+
+  private static final class GetHandler implements HttpHandler {
+    private final ContentWriter writer;
+    private final String contentType;
+
+    private GetHandler(ContentWriter writer, String contentType) {
+      this.writer = writer;
+      this.contentType = contentType;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+      try {
+        if (!exchange.getHttpContext().getPath().equals(exchange.getRequestURI().getPath())) {
+          send(exchange, 404, "text/plain; charset=utf-8", "Not found");
+          return;
+        }
+        if (!"GET".equals(exchange.getRequestMethod())) {
+          send(exchange, 405, "text/plain; charset=utf-8", "Method not allowed");
+          return;
+        }
+        StringBuilder out = new StringBuilder(4096);
+        writer.write(exchange, out);
+        send(exchange, 200, contentType, out);
+      } catch (BadRequestException ex) {
+        send(exchange, 400, "text/plain; charset=utf-8", ex.getMessage());
+      } catch (IOException | RuntimeException ex) {
+        LOGGER.warn("Could not serve request " + exchange.getRequestURI(), ex);
+        send(exchange, 500, "text/plain; charset=utf-8", "Internal server error");
+      } finally {
+        exchange.close();
+      }
+    }
+
+    private static void send(HttpExchange exchange, int status, String type, CharSequence content) throws IOException {
+      byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", type);
+      exchange.sendResponseHeaders(status, bytes.length);
+      try (OutputStream body = exchange.getResponseBody()) {
+        body.write(bytes);
+      }
+    }
+  }
+
+  private static final class BadRequestException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private BadRequestException(String message) {
+      super(message);
+    }
+  }
+
+  private static final class DaemonThreadFactory implements ThreadFactory {
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "ivymx-metrics-endpoint-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.axonivy.jmx.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.ObjectName;
+
+/**
+ * Index of the registered MBeans by domain and key properties.<br>
+ * A pattern query only evaluates the MBeans of the matching domains that have the most selective key property of the pattern.
+ */
+final class ObjectNameIndex {
+  private final ConcurrentHashMap<String, Domain> domains = new ConcurrentHashMap<String, Domain>();
+
+  /**
+   * A domain that becomes empty is removed concurrently. If the MBean was added to such a domain it is added again to the new domain.
+   */
+  void add(ObjectName name, MBeanProxy mBean) {
+    String domainName = name.getDomain();
+    while (true) {
+      Domain domain = domains.computeIfAbsent(domainName, key -> new Domain());
+      domain.add(name, mBean);
+      if (domains.get(domainName) == domain) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Removes the domain if its last MBean is removed, so that the index does not grow with domains of undeployed applications
+   */
+  void remove(ObjectName name, MBeanProxy mBean) {
+    domains.computeIfPresent(name.getDomain(), (key, domain) -> {
+      domain.remove(name, mBean);
+      return domain.isEmpty() ? null : domain;
+    });
+  }
+
+  /**
+   * @param pattern object name or object name pattern
+   * @return registered MBeans whose object name matches the pattern
+   */
+  List<MBeanProxy> query(ObjectName pattern) {
+    List<MBeanProxy> result = new ArrayList<MBeanProxy>();
+    if (pattern.isDomainPattern()) {
+      for (Domain domain : domains.values()) {
+        domain.query(pattern, result);
+      }
+    } else {
+      Domain domain = domains.get(pattern.getDomain());
+      if (domain != null) {
+        domain.query(pattern, result);
+      }
+    }
+    return result;
+  }
+
+  private static final class Domain {
+    private final Set<MBeanProxy> mBeans = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, Set<MBeanProxy>> keyProperties = new ConcurrentHashMap<String, Set<MBeanProxy>>();
+
+    private void add(ObjectName name, MBeanProxy mBean) {
+      mBeans.add(mBean);
+      for (Map.Entry<String, String> keyProperty : name.getKeyPropertyList().entrySet()) {
+        keyProperties.compute(toKey(keyProperty), (key, mBeansWithProperty) -> {
+          Set<MBeanProxy> result = mBeansWithProperty == null ? ConcurrentHashMap.newKeySet() : mBeansWithProperty;
+          result.add(mBean);
+          return result;
+        });
+      }
+    }
+
+    private void remove(ObjectName name, MBeanProxy mBean) {
+      mBeans.remove(mBean);
+      for (Map.Entry<String, String> keyProperty : name.getKeyPropertyList().entrySet()) {
+        keyProperties.computeIfPresent(toKey(keyProperty), (key, mBeansWithProperty) -> {
+          mBeansWithProperty.remove(mBean);
+          return mBeansWithProperty.isEmpty() ? null : mBeansWithProperty;
+        });
+      }
+    }
+
+    private boolean isEmpty() {
+      return mBeans.isEmpty();
+    }
+
+    private void query(ObjectName pattern, List<MBeanProxy> result) {
+      for (MBeanProxy mBean : candidates(pattern)) {
+        if (pattern.apply(mBean.getObjectName())) {
+          result.add(mBean);
+        }
+      }
+    }
+
+    /**
+     * @return MBeans with the most selective key property of the pattern that has no wildcard in its value
+     */
+    private Set<MBeanProxy> candidates(ObjectName pattern) {
+      Set<MBeanProxy> candidates = mBeans;
+      for (Map.Entry<String, String> keyProperty : pattern.getKeyPropertyList().entrySet()) {
+        if (pattern.isPropertyValuePattern(keyProperty.getKey())) {
+          continue;
+        }
+        Set<MBeanProxy> mBeansWithProperty = keyProperties.get(toKey(keyProperty));
+        if (mBeansWithProperty == null) {
+          return Collections.emptySet();
+        }
+        if (mBeansWithProperty.size() < candidates.size()) {
+          candidates = mBeansWithProperty;
+        }
+      }
+      return candidates;
+    }
+
+    private static String toKey(Map.Entry<String, String> keyProperty) {
+      return keyProperty.getKey() + "=" + keyProperty.getValue();
+    }
+  }
+}
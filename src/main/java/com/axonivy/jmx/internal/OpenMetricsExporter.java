@@ -0,0 +1,198 @@
+package com.axonivy.jmx.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.management.MBeanException;
+import javax.management.ObjectName;
+import javax.management.openmbean.OpenMBeanAttributeInfo;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the numeric attributes of the registered MBeans in the OpenMetrics text format.<br>
+ * The values are read directly from the MBean proxies without a round trip through the MBean server.<br>
+ * The name of a metric is built from the domain and the {@code type} key property of the object name and the name of the attribute.
+ * All other key properties become labels. E.g. the attribute {@code count} of the MBean {@code Engine:type=Process,name=order} is exported as
+ * {@code Engine_Process_count{name="order"}}.
+ */
+class OpenMetricsExporter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(OpenMetricsExporter.class);
+  private static final String TYPE_KEY = "type";
+  private final MBeanManager manager;
+
+  OpenMetricsExporter(MBeanManager manager) {
+    this.manager = manager;
+  }
+
+  void write(Appendable out) throws IOException {
+    Map<String, List<ExportedMBean>> families = new TreeMap<String, List<ExportedMBean>>();
+    manager.forEachMBeanProxy(mBean -> {
+      ObjectName name = mBean.getObjectName();
+      families.computeIfAbsent(toFamilyName(name), key -> new ArrayList<ExportedMBean>()).add(new ExportedMBean(mBean, toLabels(name)));
+    });
+    for (Map.Entry<String, List<ExportedMBean>> family : families.entrySet()) {
+      writeFamily(out, family.getKey(), family.getValue());
+    }
+    out.append("# EOF\n");
+  }
+
+  private void writeFamily(Appendable out, String familyName, List<ExportedMBean> mBeans) throws IOException {
+    Map<String, OpenMBeanAttributeInfo> attributes = new LinkedHashMap<String, OpenMBeanAttributeInfo>();
+    for (ExportedMBean mBean : mBeans) {
+      for (OpenMBeanAttributeInfo info : mBean.proxy.getMBeanInstanceInfo().getOpenAttributeInfos()) {
+        if (isNumeric(info.getOpenType())) {
+          attributes.putIfAbsent(info.getName(), info);
+        }
+      }
+    }
+    for (OpenMBeanAttributeInfo attribute : attributes.values()) {
+      String metricName = familyName + "_" + sanitize(attribute.getName(), false);
+      out.append("# TYPE ").append(metricName).append(" gauge\n");
+      out.append("# HELP ").append(metricName).append(' ').append(escape(attribute.getDescription())).append('\n');
+      for (ExportedMBean mBean : mBeans) {
+        writeSample(out, metricName, mBean, attribute.getName());
+      }
+    }
+  }
+
+  private static void writeSample(Appendable out, String metricName, ExportedMBean mBean, String attributeName) throws IOException {
+    Object value = readValue(mBean.proxy, attributeName);
+    if (value == null) {
+      return;
+    }
+    out.append(metricName).append(mBean.labels).append(' ');
+    appendValue(out, value);
+    out.append('\n');
+  }
+
+  private static Object readValue(MBeanProxy mBean, String attributeName) {
+    DynamicMAttribute attribute = mBean.getMBeanInstanceInfo().findAttribute(attributeName);
+    Object object = mBean.findOriginalObject();
+    if (attribute == null || object == null) {
+      return null;
+    }
+    try {
+      return attribute.getValue(object);
+    } catch (MBeanException | RuntimeException ex) {
+      LOGGER.debug("Could not read attribute '{}' of MBean '{}'", attributeName, mBean.getObjectName(), ex);
+      return null;
+    }
+  }
+
+  private static boolean isNumeric(OpenType<?> type) {
+    return SimpleType.BYTE.equals(type) ||
+        SimpleType.SHORT.equals(type) ||
+        SimpleType.INTEGER.equals(type) ||
+        SimpleType.LONG.equals(type) ||
+        SimpleType.FLOAT.equals(type) ||
+        SimpleType.DOUBLE.equals(type) ||
+        SimpleType.BIGINTEGER.equals(type) ||
+        SimpleType.BIGDECIMAL.equals(type) ||
+        SimpleType.BOOLEAN.equals(type);
+  }
+
+  private static void appendValue(Appendable out, Object value) throws IOException {
+    if (value instanceof Boolean) {
+      out.append((Boolean) value ? "1" : "0");
+    } else if (value instanceof Double || value instanceof Float) {
+      double number = ((Number) value).doubleValue();
+      if (Double.isNaN(number)) {
+        out.append("NaN");
+      } else if (Double.isInfinite(number)) {
+        out.append(number > 0 ? "+Inf" : "-Inf");
+      } else {
+        out.append(Double.toString(number));
+      }
+    } else {
+      out.append(value.toString());
+    }
+  }
+
+  private static String toFamilyName(ObjectName name) {
+    String familyName = sanitize(name.getDomain(), true);
+    String type = name.getKeyProperty(TYPE_KEY);
+    if (type != null) {
+      familyName += "_" + sanitize(unquote(type), true);
+    }
+    return familyName;
+  }
+
+  private static String toLabels(ObjectName name) {
+    StringBuilder labels = new StringBuilder();
+    for (Map.Entry<String, String> property : new TreeMap<String, String>(name.getKeyPropertyList()).entrySet()) {
+      if (TYPE_KEY.equals(property.getKey())) {
+        continue;
+      }
+      labels.append(labels.length() == 0 ? '{' : ',');
+      labels.append(sanitize(property.getKey(), false)).append("=\"");
+      labels.append(escape(unquote(property.getValue()))).append('"');
+    }
+    if (labels.length() > 0) {
+      labels.append('}');
+    }
+    return labels.toString();
+  }
+
+  private static String unquote(String value) {
+    if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+      return ObjectName.unquote(value);
+    }
+    return value;
+  }
+
+  /**
+   * Replaces all characters that are not allowed in metric and label names with an underscore
+   */
+  private static String sanitize(String name, boolean allowColon) {
+    StringBuilder sanitized = new StringBuilder(name.length() + 1);
+    for (int pos = 0; pos < name.length(); pos++) {
+      char ch = name.charAt(pos);
+      boolean valid = (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || ch == '_' || (allowColon && ch == ':') ||
+          (pos > 0 && ch >= '0' && ch <= '9');
+      if (pos == 0 && ch >= '0' && ch <= '9') {
+        sanitized.append('_');
+        valid = true;
+      }
+      sanitized.append(valid ? ch : '_');
+    }
+    return sanitized.toString();
+  }
+
+  private static String escape(String text) {
+    if (text == null) {
+      return "";
+    }
+    StringBuilder escaped = new StringBuilder(text.length());
+    for (int pos = 0; pos < text.length(); pos++) {
+      char ch = text.charAt(pos);
+      if (ch == '\\') {
+        escaped.append("\\\\");
+      } else if (ch == '\n') {
+        escaped.append("\\n");
+      } else if (ch == '"') {
+        escaped.append("\\\"");
+      } else {
+        escaped.append(ch);
+      }
+    }
+    return escaped.toString();
+  }
+
+  private static final class ExportedMBean {
+    private final MBeanProxy proxy;
+    private final String labels;
+
+    private ExportedMBean(MBeanProxy proxy, String labels) {
+      this.proxy = proxy;
+      this.labels = labels;
+    }
+  }
+}
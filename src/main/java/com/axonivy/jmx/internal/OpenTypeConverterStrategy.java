@@ -4,6 +4,8 @@ import java.lang.reflect.Type;
 
 import javax.management.openmbean.OpenType;
 
+import com.axonivy.jmx.IOpenTypeConverterStrategy;
+
 /**
  * Strategy how to convert java types to {@link OpenType open types} and java values to open data values.
  * @author rwei
@@ -28,4 +30,12 @@ interface OpenTypeConverterStrategy {
    * @return a {@link AbstractValueConverter converter} that can convert values of the given type to open data values
    */
   public AbstractValueConverter getValueConverter(Type type);
+
+  /**
+   * @return priority of the strategy. Strategies with a higher priority are asked first.
+   * @see IOpenTypeConverterStrategy#getPriority()
+   */
+  public default int getPriority() {
+    return IOpenTypeConverterStrategy.DEFAULT_PRIORITY;
+  }
 }
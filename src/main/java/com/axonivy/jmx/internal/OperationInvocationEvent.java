@@ -0,0 +1,50 @@
+package com.axonivy.jmx.internal;
+
+import javax.management.ObjectName;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the invocation of an MBean operation
+ */
+@Name("com.axonivy.jmx.OperationInvocation")
+@Label("MBean Operation Invocation")
+@Description("Invocation of an MBean operation")
+@Category("ivymx")
+class OperationInvocationEvent extends Event {
+  private static final OperationInvocationEvent PROTOTYPE = new OperationInvocationEvent();
+
+  @Label("Object Name")
+  String objectName;
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Outcome")
+  String outcome;
+
+  /**
+   * @return started event or null if the event is disabled
+   */
+  static OperationInvocationEvent start() {
+    if (!PROTOTYPE.isEnabled()) {
+      return null;
+    }
+    OperationInvocationEvent event = new OperationInvocationEvent();
+    event.begin();
+    return event;
+  }
+
+  void end(ObjectName name, String operationName, String[] signature, Throwable error) {
+    if (shouldCommit()) {
+      objectName = String.valueOf(name);
+      operation = MethodBasedMOperation.buildSignature(operationName, signature);
+      outcome = MEvents.outcome(error);
+      commit();
+    }
+  }
+}
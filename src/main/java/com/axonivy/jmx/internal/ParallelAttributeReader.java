@@ -0,0 +1,171 @@
+package com.axonivy.jmx.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+
+import com.axonivy.jmx.MAttribute;
+
+/**
+ * Reads the {@link MAttribute#parallel() parallel} attributes of an MBean concurrently, so that the latency of
+ * {@link MBeanProxy#getAttributes(String[])} is the latency of the slowest attribute and not the sum of all attributes.<br>
+ * The attributes are read on virtual threads if the JVM supports them, otherwise on a small pool of daemon threads.
+ * At most {@link #MAX_CONCURRENT_READS} attributes are read at the same time. Getter methods are executed within the execution contexts
+ * of the {@link MBeanManager} on the reading thread. Attributes that are not read within the timeout are cancelled and left out of the result.
+ * The {@link MQueryService} reads the attribute of many MBeans with the same limits.
+ */
+class ParallelAttributeReader {
+  static final long DEFAULT_TIMEOUT_SECONDS = 10;
+  private static final int MAX_CONCURRENT_READS = 64;
+  private static final int FALLBACK_THREADS = 8;
+
+  private final ExecutorService executor = createExecutor();
+  private final Semaphore permits = new Semaphore(MAX_CONCURRENT_READS);
+  private volatile long timeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECONDS);
+
+  void setTimeout(long timeout, TimeUnit unit) {
+    if (timeout <= 0) {
+      throw new IllegalArgumentException("Timeout must be greater than 0 but was " + timeout);
+    }
+    timeoutNanos = unit.toNanos(timeout);
+  }
+
+  /**
+   * Reads the given attributes of the MBean. The parallel attributes are read concurrently, the other attributes are read meanwhile on the calling thread.
+   * @param mBean MBean to read the attributes from
+   * @param attributeNames names of the attributes to read
+   * @param readAttributes list the read attributes are added to in the order of the given names
+   * @return number of attributes that could not be read
+   */
+  int read(MBeanProxy mBean, String[] attributeNames, AttributeList readAttributes) {
+    long timeout = timeoutNanos;
+    long deadline = System.nanoTime() + timeout;
+    @SuppressWarnings("unchecked")
+    Future<Object>[] parallelReads = new Future[attributeNames.length];
+    for (int pos = 0; pos < attributeNames.length; pos++) {
+      if (mBean.isParallelAttribute(attributeNames[pos])) {
+        parallelReads[pos] = submit(mBean, attributeNames[pos]);
+      }
+    }
+    Attribute[] attributes = new Attribute[attributeNames.length];
+    int failed = 0;
+    for (int pos = 0; pos < attributeNames.length; pos++) {
+      if (parallelReads[pos] == null) {
+        try {
+          attributes[pos] = new Attribute(attributeNames[pos], mBean.getAttribute(attributeNames[pos]));
+        } catch (Exception ex) {
+          failed++;
+          mBean.attributeReadFailed(attributeNames[pos], ex);
+        }
+      }
+    }
+    for (int pos = 0; pos < attributeNames.length; pos++) {
+      if (parallelReads[pos] != null) {
+        try {
+          attributes[pos] = new Attribute(attributeNames[pos], await(parallelReads[pos], deadline, timeout));
+        } catch (Throwable ex) {
+          failed++;
+          mBean.attributeReadFailed(attributeNames[pos], ex);
+        }
+      }
+    }
+    for (Attribute attribute : attributes) {
+      if (attribute != null) {
+        readAttributes.add(attribute);
+      }
+    }
+    return failed;
+  }
+
+  /**
+   * Reads the given attribute of many MBeans concurrently with the same limits as the parallel attributes of a single MBean.
+   * @param mBeans MBeans to read the attribute from
+   * @param attributeName name of the attribute
+   * @param values receives the MBeans and their values in the order of the MBeans
+   * @param failures receives the MBeans whose attribute could not be read within the timeout together with the error
+   */
+  void read(List<MBeanProxy> mBeans, String attributeName, BiConsumer<MBeanProxy, Object> values, BiConsumer<MBeanProxy, Throwable> failures) {
+    long timeout = timeoutNanos;
+    long deadline = System.nanoTime() + timeout;
+    List<Future<Object>> reads = new ArrayList<Future<Object>>(mBeans.size());
+    for (MBeanProxy mBean : mBeans) {
+      reads.add(submit(mBean, attributeName));
+    }
+    for (int pos = 0; pos < reads.size(); pos++) {
+      Object value;
+      try {
+        value = await(reads.get(pos), deadline, timeout);
+      } catch (Throwable ex) {
+        failures.accept(mBeans.get(pos), ex);
+        continue;
+      }
+      values.accept(mBeans.get(pos), value);
+    }
+  }
+
+  /**
+   * @return value of the read
+   * @throws Throwable error of the read or a {@link TimeoutException} if the read is not done before the deadline
+   */
+  private static Object await(Future<Object> read, long deadline, long timeout) throws Throwable {
+    try {
+      return read.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (ExecutionException ex) {
+      throw ex.getCause();
+    } catch (TimeoutException ex) {
+      read.cancel(true);
+      throw new TimeoutException("Attribute not read within " + TimeUnit.NANOSECONDS.toMillis(timeout) + " ms");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      read.cancel(true);
+      throw ex;
+    }
+  }
+
+  private Future<Object> submit(MBeanProxy mBean, String attributeName) {
+    return executor.submit(() -> {
+      permits.acquire();
+      try {
+        return mBean.getAttribute(attributeName);
+      } finally {
+        permits.release();
+      }
+    });
+  }
+
+  private static ExecutorService createExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException ex) {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(FALLBACK_THREADS, FALLBACK_THREADS, 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory());
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+  }
+
+  private static final class DaemonThreadFactory implements ThreadFactory {
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "ivymx-attribute-reader-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -14,6 +14,7 @@ import javax.management.openmbean.TabularData;
 import javax.management.openmbean.TabularDataSupport;
 import javax.management.openmbean.TabularType;
 
+import com.axonivy.jmx.IModificationCounter;
 import com.axonivy.jmx.MException;
 import com.axonivy.jmx.util.MUtils;
 
@@ -48,27 +49,43 @@ class PropertiesConverterStrategy implements OpenTypeConverterStrategy {
 
   @Override
   public AbstractValueConverter getValueConverter(Type type) {
-    return PropertiesValueConverter.INSTANCE;
+    return new PropertiesValueConverter();
   }
 
   /**
-   * Converts {@link java.util.Properties} to open type object and vice versa
+   * Converts {@link java.util.Properties} to open type object and vice versa.<br>
+   * Properties that implement {@link IModificationCounter} are converted again only if their
+   * {@link IModificationCounter#getModificationCount() modification count} changed. The converted tabular data is cached
+   * per properties instance and every read gets its own copy of it, so that callers can not modify the cached data.
+   * Other properties are converted on every read. Changes of the default properties are not detected.
    * @author rwei
    * @since 27.01.2014
    */
   private static class PropertiesValueConverter extends AbstractValueConverter {
-    static final PropertiesValueConverter INSTANCE = new PropertiesValueConverter();
-
-    private PropertiesValueConverter() {}
+    private static final int CACHED_PROPERTIES = 256;
+    private final WeakIdentityCache<Properties, Snapshot> snapshots = new WeakIdentityCache<Properties, Snapshot>(CACHED_PROPERTIES);
 
     @Override
     protected Object toOpenDataValue(Object javaValue) throws MBeanException {
+      if (javaValue == null) {
+        return null;
+      }
+      Properties properties = (Properties) javaValue;
+      if (!(properties instanceof IModificationCounter)) {
+        return toTabularData(properties);
+      }
+      long version = ((IModificationCounter) properties).getModificationCount();
+      Snapshot snapshot = snapshots.get(properties);
+      if (snapshot == null || snapshot.version != version) {
+        snapshot = new Snapshot(version, toTabularData(properties));
+        snapshots.put(properties, snapshot);
+      }
+      return snapshot.tabularData.clone();
+    }
+
+    private static TabularDataSupport toTabularData(Properties properties) throws MBeanException {
       try {
-        if (javaValue == null) {
-          return null;
-        }
-        Properties properties = (Properties) javaValue;
-        TabularData tabularData = new TabularDataSupport(PROPERTIES);
+        TabularDataSupport tabularData = new TabularDataSupport(PROPERTIES);
         for (String key : properties.stringPropertyNames()) {
           CompositeData row = new CompositeDataSupport(PROPERTY_NAME_VALUE_PAIR, new String[] {PROPERTY_NAME_ITEM, PROPERTY_VALUE_ITEM}, new String[] {key, properties.getProperty(key)});
           tabularData.put(row);
@@ -91,4 +108,17 @@ class PropertiesConverterStrategy implements OpenTypeConverterStrategy {
       return properties;
     }
   }
+
+  /**
+   * Tabular data converted from a properties object with the given modification count
+   */
+  private static final class Snapshot {
+    private final long version;
+    private final TabularDataSupport tabularData;
+
+    private Snapshot(long version, TabularDataSupport tabularData) {
+      this.version = version;
+      this.tabularData = tabularData;
+    }
+  }
 }
@@ -0,0 +1,38 @@
+package com.axonivy.jmx.internal;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Updates the {@link MEvents#isRecording() recording} flag whenever a flight recording starts or stops
+ */
+final class RecordingListener implements FlightRecorderListener {
+  private RecordingListener() {}
+
+  static void register() {
+    FlightRecorder.addListener(new RecordingListener());
+  }
+
+  @Override
+  public void recorderInitialized(FlightRecorder recorder) {
+    update(recorder);
+  }
+
+  @Override
+  public void recordingStateChanged(Recording changed) {
+    update(FlightRecorder.getFlightRecorder());
+  }
+
+  private static void update(FlightRecorder recorder) {
+    boolean running = false;
+    for (Recording rec : recorder.getRecordings()) {
+      if (rec.getState() == RecordingState.RUNNING) {
+        running = true;
+        break;
+      }
+    }
+    MEvents.setRecording(running);
+  }
+}
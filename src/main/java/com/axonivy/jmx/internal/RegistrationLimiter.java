@@ -0,0 +1,224 @@
+package com.axonivy.jmx.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.axonivy.jmx.MAttribute;
+import com.axonivy.jmx.MBean;
+import com.axonivy.jmx.MComposite;
+import com.axonivy.jmx.MItem;
+import com.axonivy.jmx.MRateLimitPolicy;
+
+/**
+ * Token bucket that limits the registrations of managed collections. The bucket holds the permits of one second.
+ * It is implemented as generic cell rate algorithm on a single atomic, so that acquiring a permit never blocks.<br>
+ * Registrations that exceed the limit are handled according to the {@link MRateLimitPolicy}.
+ * Unregistrations are never limited. They cancel deferred and aggregated registrations of the same object.
+ */
+@MBean(value = "ivymx:type=RegistrationLimiter", description = "Rate limit of the registrations of managed collections")
+class RegistrationLimiter {
+  private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+  private static final long DRAIN_INTERVAL_MILLIS = 100;
+
+  private final MBeanManager manager;
+
+  @MAttribute(description = "Maximum number of registrations per second")
+  private final int permitsPerSecond;
+
+  @MAttribute(description = "What is done with registrations that exceed the limit")
+  private final MRateLimitPolicy policy;
+
+  private final long intervalNanos;
+  private final AtomicLong theoreticalArrivalTime;
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder deferred = new LongAdder();
+  private final ConcurrentHashMap<IdentityKey, Object> pending = new ConcurrentHashMap<IdentityKey, Object>();
+  private final ConcurrentHashMap<IdentityKey, Object> registering = new ConcurrentHashMap<IdentityKey, Object>();
+  private final ConcurrentHashMap<IdentityKey, String> aggregated = new ConcurrentHashMap<IdentityKey, String>();
+  private final ConcurrentHashMap<String, LongAdder> aggregatedTypes = new ConcurrentHashMap<String, LongAdder>();
+  private ScheduledExecutorService drainer;
+
+  RegistrationLimiter(MBeanManager manager, int permitsPerSecond, MRateLimitPolicy policy) {
+    if (permitsPerSecond < 1) {
+      throw new IllegalArgumentException("Permits per second must be at least 1 but was " + permitsPerSecond);
+    }
+    this.manager = manager;
+    this.permitsPerSecond = permitsPerSecond;
+    this.policy = policy;
+    this.intervalNanos = ONE_SECOND / permitsPerSecond;
+    this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    if (policy == MRateLimitPolicy.DEFER) {
+      drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ivymx-registration-limiter");
+        thread.setDaemon(true);
+        return thread;
+      });
+      drainer.scheduleWithFixedDelay(this::drain, DRAIN_INTERVAL_MILLIS, DRAIN_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * @return true if a registration is permitted now
+   */
+  boolean tryAcquire() {
+    long now = System.nanoTime();
+    while (true) {
+      long arrival = theoreticalArrivalTime.get();
+      long next = Math.max(arrival, now);
+      if (next - now > ONE_SECOND - intervalNanos) {
+        return false;
+      }
+      if (theoreticalArrivalTime.compareAndSet(arrival, next + intervalNanos)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Handles a registration that exceeds the limit
+   * @param object MBean object that was not registered
+   */
+  void exceeded(Object object) {
+    switch (policy) {
+      case DEFER:
+        if (pending.putIfAbsent(new IdentityKey(object), object) == null) {
+          deferred.increment();
+        }
+        break;
+      case AGGREGATE_ONLY:
+        String type = object.getClass().getName();
+        if (aggregated.putIfAbsent(new IdentityKey(object), type) == null) {
+          aggregatedTypes.computeIfAbsent(type, key -> new LongAdder()).increment();
+        }
+        break;
+      default:
+        dropped.increment();
+    }
+  }
+
+  /**
+   * Cancels a deferred or aggregated registration of the given object.
+   * If the deferred registration is currently done by the drainer, the drainer unregisters the MBean again after it was registered.
+   * @param object object that is unregistered
+   * @return true if the object was not registered but deferred or aggregated
+   */
+  boolean cancel(Object object) {
+    IdentityKey key = new IdentityKey(object);
+    if (!pending.isEmpty() && pending.remove(key) != null) {
+      return true;
+    }
+    if (!registering.isEmpty()) {
+      registering.remove(key);
+    }
+    if (!aggregated.isEmpty()) {
+      String type = aggregated.remove(key);
+      if (type != null) {
+        aggregatedTypes.get(type).decrement();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Registers deferred MBeans as long as permits are available.
+   */
+  void drain() {
+    for (Map.Entry<IdentityKey, Object> entry : pending.entrySet()) {
+      if (!tryAcquire()) {
+        return;
+      }
+      registerDeferred(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Stops the limiter. Deferred MBeans are registered. Aggregated MBeans stay unregistered.
+   */
+  void close() {
+    if (drainer != null) {
+      drainer.shutdownNow();
+    }
+    for (Map.Entry<IdentityKey, Object> entry : pending.entrySet()) {
+      registerDeferred(entry.getKey(), entry.getValue());
+    }
+    clear();
+  }
+
+  /**
+   * Registers a deferred MBean outside of the lock of the queue entry, so that the registration does not block other updates of the queue.
+   * A {@link #cancel(Object)} that runs concurrently to the registration removes the object from {@link #registering} and the caller
+   * tries to unregister the MBean. Because the caller may be faster than the registration, the MBean is unregistered again afterwards.
+   */
+  private void registerDeferred(IdentityKey key, Object object) {
+    if (!pending.remove(key, object)) {
+      return;
+    }
+    registering.put(key, object);
+    try {
+      manager.registerMBeanFor(object);
+    } finally {
+      if (!registering.remove(key, object)) {
+        manager.unregisterMBeanFor(object);
+      }
+    }
+  }
+
+  /**
+   * Forgets all deferred and aggregated registrations
+   */
+  void clear() {
+    pending.clear();
+    registering.clear();
+    aggregated.clear();
+    aggregatedTypes.clear();
+  }
+
+  @MAttribute(description = "Number of registrations that were dropped because they exceeded the limit")
+  public long getDroppedRegistrations() {
+    return dropped.sum();
+  }
+
+  @MAttribute(description = "Number of registrations that were deferred because they exceeded the limit")
+  public long getDeferredRegistrations() {
+    return deferred.sum();
+  }
+
+  @MAttribute(description = "Number of deferred registrations that are not yet done")
+  public int getPendingRegistrations() {
+    return pending.size();
+  }
+
+  @MAttribute(description = "Number of MBeans per type that are only counted because they exceeded the limit")
+  public List<AggregatedType> getAggregatedMBeans() {
+    List<AggregatedType> types = new ArrayList<AggregatedType>();
+    for (Map.Entry<String, LongAdder> entry : aggregatedTypes.entrySet()) {
+      long count = entry.getValue().sum();
+      if (count > 0) {
+        types.add(new AggregatedType(entry.getKey(), count));
+      }
+    }
+    return types;
+  }
+
+  @MComposite("AggregatedType")
+  static final class AggregatedType {
+    @MItem(description = "Name of the MBean class")
+    private final String mBeanType;
+
+    @MItem(description = "Number of MBeans of the type that are not registered")
+    private final long count;
+
+    private AggregatedType(String mBeanType, long count) {
+      this.mBeanType = mBeanType;
+      this.count = count;
+    }
+  }
+}
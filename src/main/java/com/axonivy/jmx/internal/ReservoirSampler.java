@@ -0,0 +1,77 @@
+package com.axonivy.jmx.internal;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Registers a bounded random sample of the added MBeans (reservoir sampling).
+ * Free slots of the reservoir are taken first, so that the sample follows the churn of the collection.
+ * If the reservoir is full the n-th added MBean replaces a random sample with the probability size/n.
+ * Slots are updated with compare and set, no locks are taken. An object that is already sampled does not take another slot.
+ */
+class ReservoirSampler extends MSampler {
+  private final AtomicReferenceArray<Object> reservoir;
+  private final AtomicInteger freeSlots;
+  private final AtomicLong addCount = new AtomicLong();
+
+  ReservoirSampler(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Reservoir size must be at least 1 but was " + size);
+    }
+    reservoir = new AtomicReferenceArray<>(size);
+    freeSlots = new AtomicInteger(size);
+  }
+
+  @Override
+  protected boolean sample(Object object) {
+    if (isSampled(object)) {
+      return true;
+    }
+    long n = addCount.incrementAndGet();
+    if (freeSlots.get() > 0 && takeFreeSlot(object)) {
+      return true;
+    }
+    long slot = ThreadLocalRandom.current().nextLong(n);
+    if (slot >= reservoir.length()) {
+      return false;
+    }
+    Object replaced = reservoir.getAndSet((int) slot, object);
+    if (replaced == null) {
+      freeSlots.decrementAndGet();
+    } else if (replaced != object) {
+      evict(replaced);
+    }
+    return true;
+  }
+
+  private boolean takeFreeSlot(Object object) {
+    for (int slot = 0; slot < reservoir.length(); slot++) {
+      if (reservoir.get(slot) == null && reservoir.compareAndSet(slot, null, object)) {
+        freeSlots.decrementAndGet();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  protected void released(Object object) {
+    for (int slot = 0; slot < reservoir.length(); slot++) {
+      if (reservoir.get(slot) == object && reservoir.compareAndSet(slot, object, null)) {
+        freeSlots.incrementAndGet();
+      }
+    }
+  }
+
+  @Override
+  protected boolean isSampled(Object object) {
+    for (int slot = 0; slot < reservoir.length(); slot++) {
+      if (reservoir.get(slot) == object) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,128 @@
+package com.axonivy.jmx.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.axonivy.jmx.MComposite;
+import com.axonivy.jmx.MItem;
+
+/**
+ * Keeps the slowest attribute reads and operation invocations of an MBean type. The number of kept calls is bounded.
+ * Calls are recorded without locks. Calls that are faster than all kept calls are rejected without allocation.
+ */
+class SlowestCalls {
+  static final int SIZE = 10;
+  private final AtomicReferenceArray<SlowCall> calls = new AtomicReferenceArray<SlowCall>(SIZE);
+  /** Time of the fastest kept call once all slots are used, otherwise 0 */
+  private volatile long threshold;
+
+  void record(String kind, String name, long nanoTime) {
+    if (nanoTime <= threshold) {
+      return;
+    }
+    while (true) {
+      int pos = findSlot(kind, name, nanoTime);
+      if (pos < 0) {
+        return;
+      }
+      SlowCall current = calls.get(pos);
+      if (current != null && current.nanoTime >= nanoTime) {
+        // slot was changed concurrently
+        continue;
+      }
+      if (calls.compareAndSet(pos, current, new SlowCall(kind, name, nanoTime))) {
+        updateThreshold();
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return slot of the same call, an empty slot or the slot of the fastest call. -1 if the given call is not slow enough.
+   */
+  private int findSlot(String kind, String name, long nanoTime) {
+    int emptyPos = -1;
+    int fastestPos = -1;
+    long fastestTime = Long.MAX_VALUE;
+    for (int pos = 0; pos < SIZE; pos++) {
+      SlowCall call = calls.get(pos);
+      if (call == null) {
+        if (emptyPos < 0) {
+          emptyPos = pos;
+        }
+      } else if (call.isFor(kind, name)) {
+        return call.nanoTime < nanoTime ? pos : -1;
+      } else if (call.nanoTime < fastestTime) {
+        fastestPos = pos;
+        fastestTime = call.nanoTime;
+      }
+    }
+    if (emptyPos >= 0) {
+      return emptyPos;
+    }
+    return fastestTime < nanoTime ? fastestPos : -1;
+  }
+
+  private void updateThreshold() {
+    long fastestTime = Long.MAX_VALUE;
+    for (int pos = 0; pos < SIZE; pos++) {
+      SlowCall call = calls.get(pos);
+      if (call == null) {
+        threshold = 0;
+        return;
+      }
+      fastestTime = Math.min(fastestTime, call.nanoTime);
+    }
+    threshold = fastestTime;
+  }
+
+  /**
+   * @return kept calls, slowest first
+   */
+  List<SlowCall> getCalls() {
+    List<SlowCall> result = new ArrayList<SlowCall>(SIZE);
+    for (int pos = 0; pos < SIZE; pos++) {
+      SlowCall call = calls.get(pos);
+      if (call != null) {
+        result.add(call);
+      }
+    }
+    result.sort(Comparator.comparingLong((SlowCall call) -> call.nanoTime).reversed());
+    return result;
+  }
+
+  void reset() {
+    for (int pos = 0; pos < SIZE; pos++) {
+      calls.set(pos, null);
+    }
+    threshold = 0;
+  }
+
+  @MComposite("SlowCall")
+  static final class SlowCall {
+    @MItem(description = "attribute or operation")
+    private final String kind;
+
+    @MItem(description = "Name of the attribute or operation")
+    private final String name;
+
+    private final long nanoTime;
+
+    private SlowCall(String kind, String name, long nanoTime) {
+      this.kind = kind;
+      this.name = name;
+      this.nanoTime = nanoTime;
+    }
+
+    private boolean isFor(String callKind, String callName) {
+      return kind.equals(callKind) && name.equals(callName);
+    }
+
+    @MItem(description = "Maximum time in micro seconds the call took")
+    public long getMaxExecutionTimeInMicroSeconds() {
+      return nanoTime / 1000;
+    }
+  }
+}
@@ -1,10 +1,14 @@
 package com.axonivy.jmx.internal;
 
 import java.lang.reflect.Type;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 
 import javax.management.MBeanException;
+import javax.management.openmbean.CompositeData;
 import javax.management.openmbean.CompositeDataSupport;
 import javax.management.openmbean.CompositeType;
 import javax.management.openmbean.OpenDataException;
@@ -15,7 +19,41 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import com.axonivy.jmx.MException;
 
+/**
+ * Converts {@link Throwable throwables} to composite data with the items message, type, stackTrace, cause and suppressedCount.
+ * The rendered composite data is cached per throwable instance, so that polling an attribute that references the same
+ * throwable again and again does not render the stack trace again. The cache of an attribute holds the throwables of up to
+ * {@link #CACHED_THROWABLES} MBeans of the same type. The rendered stack trace can be limited with {@link #setStackTraceLimits(int, int)}.
+ */
 public class ThrowableConverterStrategy implements OpenTypeConverterStrategy {
+  private static final String MESSAGE_ITEM = "message";
+  private static final String TYPE_ITEM = "type";
+  private static final String STACK_TRACE_ITEM = "stackTrace";
+  private static final String CAUSE_ITEM = "cause";
+  private static final String SUPPRESSED_COUNT_ITEM = "suppressedCount";
+  private static final CompositeType CAUSE_TYPE;
+  static final int CACHED_THROWABLES = 256;
+
+  static {
+    try {
+      CAUSE_TYPE = new CompositeType("Cause", "Cause of a throwable",
+          new String[] {MESSAGE_ITEM, TYPE_ITEM},
+          new String[] {"message of the cause", "type of the cause"},
+          new OpenType[] {SimpleType.STRING, SimpleType.STRING});
+    } catch (OpenDataException ex) {
+      throw new MException(ex);
+    }
+  }
+
+  private final ClassValue<CompositeType> compositeTypes = new ClassValue<CompositeType>() {
+    @Override
+    protected CompositeType computeValue(Class<?> type) {
+      return createCompositeType(type);
+    }
+  };
+
+  private volatile StackTraceLimits limits = StackTraceLimits.UNLIMITED;
+
   @Override
   public boolean canHandle(Type type) {
     return type instanceof Class && Throwable.class.isAssignableFrom((Class<?>) type);
@@ -23,24 +61,65 @@ public class ThrowableConverterStrategy implements OpenTypeConverterStrategy {
 
   @Override
   public OpenType<?> toOpenType(Type type) {
-    String name = ((Class<?>) type).getName();
+    return compositeTypes.get((Class<?>) type);
+  }
+
+  @Override
+  public AbstractValueConverter getValueConverter(Type type) {
+    return new ThrowableValueConverter(compositeTypes.get((Class<?>) type));
+  }
+
+  /**
+   * @param maxFrames maximum number of stack frames rendered per throwable. Negative for no limit.
+   * @param maxCauses maximum number of causes rendered. Negative for no limit.
+   */
+  void setStackTraceLimits(int maxFrames, int maxCauses) {
+    limits = new StackTraceLimits(maxFrames, maxCauses);
+  }
+
+  private static CompositeType createCompositeType(Class<?> type) {
+    String name = type.getName();
     try {
       return new CompositeType(name, name,
-          new String[] {"message", "type", "stackTrace"},
-          new String[] {"messsage", "type", "stackTrace"},
-          new OpenType[] {SimpleType.STRING, SimpleType.STRING, SimpleType.STRING});
+          new String[] {MESSAGE_ITEM, TYPE_ITEM, STACK_TRACE_ITEM, CAUSE_ITEM, SUPPRESSED_COUNT_ITEM},
+          new String[] {"messsage", "type", "stackTrace", "cause", "suppressedCount"},
+          new OpenType[] {SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, CAUSE_TYPE, SimpleType.INTEGER});
     } catch (OpenDataException ex) {
       throw new MException(ex);
     }
   }
 
-  @Override
-  public AbstractValueConverter getValueConverter(Type type) {
-    return new ThrowableValueConverter((CompositeType) toOpenType(type));
+  private static final class StackTraceLimits {
+    private static final StackTraceLimits UNLIMITED = new StackTraceLimits(-1, -1);
+    private final int maxFrames;
+    private final int maxCauses;
+
+    private StackTraceLimits(int maxFrames, int maxCauses) {
+      this.maxFrames = maxFrames < 0 ? Integer.MAX_VALUE : maxFrames;
+      this.maxCauses = maxCauses < 0 ? Integer.MAX_VALUE : maxCauses;
+    }
+
+    private boolean isUnlimited() {
+      return maxFrames == Integer.MAX_VALUE && maxCauses == Integer.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Composite data rendered for a throwable with the given limits
+   */
+  private static final class RenderedThrowable {
+    private final StackTraceLimits limits;
+    private final CompositeData data;
+
+    private RenderedThrowable(StackTraceLimits limits, CompositeData data) {
+      this.limits = limits;
+      this.data = data;
+    }
   }
 
-  private static class ThrowableValueConverter extends AbstractValueConverter {
-    private CompositeType compositeType;
+  private class ThrowableValueConverter extends AbstractValueConverter {
+    private final CompositeType compositeType;
+    private final WeakIdentityCache<Throwable, RenderedThrowable> rendered = new WeakIdentityCache<Throwable, RenderedThrowable>(CACHED_THROWABLES);
 
     public ThrowableValueConverter(CompositeType compositeType) {
       this.compositeType = compositeType;
@@ -52,11 +131,23 @@ public class ThrowableConverterStrategy implements OpenTypeConverterStrategy {
         return javaValue;
       }
       Throwable error = (Throwable) javaValue;
-      Map<String, Object> items = new HashMap<String, Object>();
+      StackTraceLimits currentLimits = limits;
+      RenderedThrowable cached = rendered.get(error);
+      if (cached != null && cached.limits == currentLimits) {
+        return cached.data;
+      }
+      CompositeData data = render(error, currentLimits);
+      rendered.put(error, new RenderedThrowable(currentLimits, data));
+      return data;
+    }
 
-      items.put("message", error.getMessage());
-      items.put("type", error.getClass().getName());
-      items.put("stackTrace", ExceptionUtils.getStackTrace(error));
+    private CompositeData render(Throwable error, StackTraceLimits currentLimits) throws MBeanException {
+      Map<String, Object> items = new HashMap<String, Object>();
+      items.put(MESSAGE_ITEM, error.getMessage());
+      items.put(TYPE_ITEM, error.getClass().getName());
+      items.put(STACK_TRACE_ITEM, renderStackTrace(error, currentLimits));
+      items.put(CAUSE_ITEM, renderCause(error.getCause()));
+      items.put(SUPPRESSED_COUNT_ITEM, error.getSuppressed().length);
       try {
         return new CompositeDataSupport(compositeType, items);
       } catch (OpenDataException ex) {
@@ -64,10 +155,56 @@ public class ThrowableConverterStrategy implements OpenTypeConverterStrategy {
       }
     }
 
+    private CompositeData renderCause(Throwable cause) throws MBeanException {
+      if (cause == null) {
+        return null;
+      }
+      try {
+        return new CompositeDataSupport(CAUSE_TYPE,
+            new String[] {MESSAGE_ITEM, TYPE_ITEM},
+            new Object[] {cause.getMessage(), cause.getClass().getName()});
+      } catch (OpenDataException ex) {
+        throw new MBeanException(ex);
+      }
+    }
+
     @Override
     protected Object toJavaValue(Object openDataValue) throws MBeanException {
       return new MBeanException(new IllegalStateException("No implemented"));
     }
+  }
+
+  private static String renderStackTrace(Throwable error, StackTraceLimits limits) {
+    if (limits.isUnlimited()) {
+      return ExceptionUtils.getStackTrace(error);
+    }
+    StringBuilder trace = new StringBuilder(1024);
+    Set<Throwable> rendered = Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+    renderFrames(trace, error, limits);
+    rendered.add(error);
+    Throwable cause = error.getCause();
+    int causes = 0;
+    while (cause != null && rendered.add(cause)) {
+      if (causes++ >= limits.maxCauses) {
+        trace.append("Caused by: ... (further causes omitted)").append(System.lineSeparator());
+        break;
+      }
+      trace.append("Caused by: ");
+      renderFrames(trace, cause, limits);
+      cause = cause.getCause();
+    }
+    return trace.toString();
+  }
 
+  private static void renderFrames(StringBuilder trace, Throwable error, StackTraceLimits limits) {
+    trace.append(error).append(System.lineSeparator());
+    StackTraceElement[] frames = error.getStackTrace();
+    int frameCount = Math.min(frames.length, limits.maxFrames);
+    for (int pos = 0; pos < frameCount; pos++) {
+      trace.append("\tat ").append(frames[pos]).append(System.lineSeparator());
+    }
+    if (frameCount < frames.length) {
+      trace.append("\t... ").append(frames.length - frameCount).append(" more").append(System.lineSeparator());
+    }
   }
 }
@@ -0,0 +1,50 @@
+package com.axonivy.jmx.internal;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small bounded cache whose keys are compared by identity and held weakly, so that the cache does not keep its keys alive.
+ * The values must not reference their keys. Entries of garbage collected keys are removed when a value is put.
+ * If the cache is full an arbitrary entry is evicted.
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class WeakIdentityCache<K, V> {
+  private final int capacity;
+  private final ConcurrentHashMap<WeakIdentityKey, V> entries = new ConcurrentHashMap<WeakIdentityKey, V>();
+  private final ReferenceQueue<Object> collectedKeys = new ReferenceQueue<Object>();
+
+  WeakIdentityCache(int capacity) {
+    this.capacity = capacity;
+  }
+
+  V get(K key) {
+    return entries.get(new WeakIdentityKey(key));
+  }
+
+  void put(K key, V value) {
+    removeCollectedKeys();
+    if (entries.size() >= capacity) {
+      Iterator<WeakIdentityKey> keys = entries.keySet().iterator();
+      if (keys.hasNext()) {
+        keys.next();
+        keys.remove();
+      }
+    }
+    entries.put(new WeakIdentityKey(key, collectedKeys), value);
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private void removeCollectedKeys() {
+    Reference<?> collected;
+    while ((collected = collectedKeys.poll()) != null) {
+      entries.remove(collected);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.axonivy.jmx.internal;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Key of a weakly registered MBean. Two keys are equal if they reference the same object.
+ * Once the object is garbage collected a key is only equal to itself. So it can still be used to remove the registry entry.
+ */
+final class WeakIdentityKey extends WeakReference<Object> {
+  private final int hashCode;
+
+  WeakIdentityKey(Object referent) {
+    this(referent, null);
+  }
+
+  WeakIdentityKey(Object referent, ReferenceQueue<Object> queue) {
+    super(referent, queue);
+    hashCode = System.identityHashCode(referent);
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof WeakIdentityKey)) {
+      return false;
+    }
+    Object referent = get();
+    return referent != null && referent == ((WeakIdentityKey) obj).get();
+  }
+}
@@ -1,15 +1,16 @@
 package com.axonivy.jmx.util;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.axonivy.jmx.MAttribute;
 import com.axonivy.jmx.MOperation;
 
 /**
  * Counts events. Exports the count value as MBean attribute with a given name. Counter can be reseted using MBean operation reset...
+ * The counter is striped, so that increasing it from many threads does not contend.
  */
 public class EventCounter extends AbstractMValue {
-  private final AtomicLong counter = new AtomicLong();
+  private final LongAdder counter = new LongAdder();
 
   public EventCounter(String name) {
     super(name);
@@ -20,20 +21,20 @@ public class EventCounter extends AbstractMValue {
   }
 
   public void increase() {
-    counter.getAndIncrement();
+    counter.increment();
   }
 
   public void increase(long delta) {
-    counter.getAndAdd(delta);
+    counter.add(delta);
   }
 
   @MAttribute(name = "#{name}", description = "#{description}")
   public long getCount() {
-    return counter.get();
+    return counter.sum();
   }
 
   @MOperation(name = "reset#{capitalizedName}")
   public void reset() {
-    counter.set(0);
+    counter.reset();
   }
 }
@@ -1,23 +1,30 @@
 package com.axonivy.jmx.util;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
 import com.axonivy.jmx.MAttribute;
 import com.axonivy.jmx.MOperation;
 
 /**
  * Counts the executions and measures the execution time of operations.
  * Exports the count value and durations as MBean attribute with a given name. Counter can be reseted using MBean operation reset...
+ * The counters are striped, so that recording executions from many threads does not contend. Use {@link #record(long)} to record an execution without allocation.
+ * The delta values are reset by an atomic swap, so that no execution recorded concurrently to a reset is lost. They are only written if the
+ * execution is a new maximum or minimum, which is rare enough that a single atomic does not contend.
  */
 public class OperationExecutionCounter extends AbstractMValue {
   private static final long DELTA_LIMIT_VALID_TIME_PERIOD = 10L * 60L * 1000L * 1000L * 1000L; // 10 min
-  private long totalNanoTime;
-  private long maxNanoTime = Long.MIN_VALUE;
-  private long minNanoTime = Long.MAX_VALUE;
-  private long maxNanoTimeDelta = Long.MIN_VALUE;
-  private long minNanoTimeDelta = Long.MAX_VALUE;
-  private long lastMaxTimeResetTimestamp = Long.MIN_VALUE;
-  private long lastMinTimeResetTimestamp = Long.MIN_VALUE;
-
-  private long count;
+  private final LongAdder totalNanoTime = new LongAdder();
+  private final LongAccumulator maxNanoTime = new LongAccumulator(Math::max, Long.MIN_VALUE);
+  private final LongAccumulator minNanoTime = new LongAccumulator(Math::min, Long.MAX_VALUE);
+  private final AtomicLong maxNanoTimeDelta = new AtomicLong(Long.MIN_VALUE);
+  private final AtomicLong minNanoTimeDelta = new AtomicLong(Long.MAX_VALUE);
+  private volatile long lastMaxTimeResetTimestamp = Long.MIN_VALUE;
+  private volatile long lastMinTimeResetTimestamp = Long.MIN_VALUE;
+
+  private final LongAdder count = new LongAdder();
   private final String action;
   private final String object;
 
@@ -43,97 +50,101 @@ public class OperationExecutionCounter extends AbstractMValue {
     return new StopWatch();
   }
 
+  /**
+   * Records an execution that took the given time
+   * @param nanoTime execution time in nano seconds
+   */
+  public void record(long nanoTime) {
+    totalNanoTime.add(nanoTime);
+    maxNanoTime.accumulate(nanoTime);
+    raiseMax(maxNanoTimeDelta, nanoTime);
+    minNanoTime.accumulate(nanoTime);
+    lowerMin(minNanoTimeDelta, nanoTime);
+    count.increment();
+  }
+
+  private static void raiseMax(AtomicLong max, long nanoTime) {
+    long current = max.get();
+    while (nanoTime > current && !max.compareAndSet(current, nanoTime)) {
+      current = max.get();
+    }
+  }
+
+  private static void lowerMin(AtomicLong min, long nanoTime) {
+    long current = min.get();
+    while (nanoTime < current && !min.compareAndSet(current, nanoTime)) {
+      current = min.get();
+    }
+  }
+
   @MAttribute(name = "#{name}TotalExecutionTimeInMicroSeconds", description = "Total time in micro seconds needed to #{action} #{object}s, since server start or last call to reset().")
-  public synchronized long getTotalExecutionTimeInMicroSeconds() {
-    return totalNanoTime / 1000;
+  public long getTotalExecutionTimeInMicroSeconds() {
+    return totalNanoTime.sum() / 1000;
   }
 
   @MAttribute(name = "#{name}", description = "#{description}")
-  public synchronized long getCount() {
-    return count;
+  public long getCount() {
+    return count.sum();
   }
 
   @MAttribute(name = "#{name}MaxExecutionTimeInMicroSeconds", description = "Maximum time in micro seconds needed to #{action} a #{object}, since server start or last call to reset().")
-  public synchronized long getMaxExecutionTimeInMicroSeconds() {
-    if (maxNanoTime == Long.MIN_VALUE) {
+  public long getMaxExecutionTimeInMicroSeconds() {
+    long max = maxNanoTime.get();
+    if (max == Long.MIN_VALUE) {
       return 0;
     }
-    return maxNanoTime / 1000;
+    return max / 1000;
   }
 
   @MAttribute(name = "#{name}MaxExecutionTimeDeltaInMicroSeconds", description = "Maximum time in micro seconds needed to #{action} a #{object}, since last call to this method.")
-  public synchronized long getMaxExecutionTimeDeltaInMicroSeconds() {
+  public long getMaxExecutionTimeDeltaInMicroSeconds() {
+    long max = maxNanoTimeDelta.getAndSet(Long.MIN_VALUE);
     long value = 0;
-    if (isMaxExecutionTimeDeltaValid()) {
-      value = maxNanoTimeDelta / 1000;
+    if (isMaxExecutionTimeDeltaValid(max)) {
+      value = max / 1000;
     }
-    resetMaxExecutionTimeDelta();
+    lastMaxTimeResetTimestamp = System.nanoTime();
     return value;
   }
 
-  private boolean isMaxExecutionTimeDeltaValid() {
-    return maxNanoTimeDelta > Long.MIN_VALUE &&
+  private boolean isMaxExecutionTimeDeltaValid(long max) {
+    return max > Long.MIN_VALUE &&
         lastMaxTimeResetTimestamp + DELTA_LIMIT_VALID_TIME_PERIOD > System.nanoTime();
   }
 
-  private void resetMaxExecutionTimeDelta() {
-    maxNanoTimeDelta = Long.MIN_VALUE;
-    lastMaxTimeResetTimestamp = System.nanoTime();
-  }
-
   @MAttribute(name = "#{name}MinExecutionTimeInMicroSeconds", description = "Minimum time in micro seconds needed to #{action} a #{object}, since server start or last call to reset().")
-  public synchronized long getMinExecutionTimeInMicroSeconds() {
-    if (minNanoTime == Long.MAX_VALUE) {
+  public long getMinExecutionTimeInMicroSeconds() {
+    long min = minNanoTime.get();
+    if (min == Long.MAX_VALUE) {
       return 0;
     }
-    return minNanoTime / 1000;
+    return min / 1000;
   }
 
   @MAttribute(name = "#{name}MinExecutionTimeDeltaInMicroSeconds", description = "Minimum time in micro seconds needed to #{action} a #{object}, since last call to this method.")
-  public synchronized long getMinExecutionTimeDeltaInMicroSeconds() {
+  public long getMinExecutionTimeDeltaInMicroSeconds() {
+    long min = minNanoTimeDelta.getAndSet(Long.MAX_VALUE);
     long value = 0;
-    if (isMinExectutionTimeDeltaValid()) {
-      value = minNanoTimeDelta / 1000;
+    if (isMinExectutionTimeDeltaValid(min)) {
+      value = min / 1000;
     }
-    resetMinExecutionTimeDelta();
+    lastMinTimeResetTimestamp = System.nanoTime();
     return value;
   }
 
-  private boolean isMinExectutionTimeDeltaValid() {
-    return minNanoTimeDelta < Long.MAX_VALUE &&
+  private boolean isMinExectutionTimeDeltaValid(long min) {
+    return min < Long.MAX_VALUE &&
         lastMinTimeResetTimestamp + DELTA_LIMIT_VALID_TIME_PERIOD > System.nanoTime();
   }
 
-  private void resetMinExecutionTimeDelta() {
-    minNanoTimeDelta = Long.MAX_VALUE;
-    lastMinTimeResetTimestamp = System.nanoTime();
-  }
-
   @MOperation(name = "reset#{capitalizedName}", description = "Reset collected data.")
-  public synchronized void reset() {
-    totalNanoTime = 0;
-    count = 0;
-    minNanoTime = Long.MAX_VALUE;
-    maxNanoTime = Long.MIN_VALUE;
-    minNanoTimeDelta = Long.MAX_VALUE;
-    maxNanoTimeDelta = Long.MIN_VALUE;
-  }
-
-  private synchronized void newValue(long value) {
-    totalNanoTime += value;
-    if (value > maxNanoTime) {
-      maxNanoTime = value;
-    }
-    if (value > maxNanoTimeDelta) {
-      maxNanoTimeDelta = value;
-    }
-    if (value < minNanoTime) {
-      minNanoTime = value;
-    }
-    if (value < minNanoTimeDelta) {
-      minNanoTimeDelta = value;
-    }
-    count++;
+  public void reset() {
+    totalNanoTime.reset();
+    count.reset();
+    minNanoTime.reset();
+    maxNanoTime.reset();
+    minNanoTimeDelta.set(Long.MAX_VALUE);
+    maxNanoTimeDelta.set(Long.MIN_VALUE);
   }
 
   public class StopWatch {
@@ -142,7 +153,7 @@ public class OperationExecutionCounter extends AbstractMValue {
 
     public void stop() {
       stopTimestamp = System.nanoTime();
-      newValue(stopTimestamp - startTimestamp);
+      record(stopTimestamp - startTimestamp);
     }
 
     public long getTimeInNanoSeconds() {
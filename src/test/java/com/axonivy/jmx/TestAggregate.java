@@ -0,0 +1,143 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.axonivy.jmx.internal.LogErrorStrategy;
+import com.axonivy.jmx.util.LogTestAppender;
+
+public class TestAggregate {
+  private final MBeanServer server = MBeans.getMBeanServer();
+  private final LogTestAppender logAppender = new LogTestAppender(Level.ERROR);
+  private ObjectName aggregateName;
+
+  @MBean("Test:type=Worker,name=#{name}")
+  public static class Worker {
+    private static final Set<String> READING_THREADS = ConcurrentHashMap.newKeySet();
+    private final String name;
+
+    @MAttribute
+    @MAggregate
+    private int queueLength;
+
+    @MSizeAttribute
+    @MAggregate
+    private final List<String> items = new ArrayList<>();
+
+    @MAttribute
+    private String state = "running";
+
+    public Worker(String name, int queueLength) {
+      this.name = name;
+      this.queueLength = queueLength;
+    }
+
+    @MAttribute
+    @MAggregate
+    public long getProcessed() {
+      READING_THREADS.add(Thread.currentThread().getName());
+      return queueLength * 10L;
+    }
+  }
+
+  @MBean("Test:type=InvalidAggregate")
+  public static class InvalidAggregate {
+    @MAttribute
+    @MAggregate
+    private String name = "invalid";
+  }
+
+  @BeforeEach
+  public void before() throws Exception {
+    aggregateName = new ObjectName("ivymx:type=Aggregate,mBeanType=" + Worker.class.getName());
+    Logger.getLogger(LogErrorStrategy.class).addAppender(logAppender);
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+    Logger.getLogger(LogErrorStrategy.class).removeAppender(logAppender);
+  }
+
+  @Test
+  public void aggregateIsRegisteredWhileInstancesAre() throws Exception {
+    assertThat(server.isRegistered(aggregateName)).isFalse();
+    Worker worker = new Worker("1", 1);
+    MBeans.registerMBeanFor(worker);
+    assertThat(server.isRegistered(aggregateName)).isTrue();
+    MBeans.unregisterMBeanFor(worker);
+    assertThat(server.isRegistered(aggregateName)).isFalse();
+    MBeans.registerMBeanFor(worker);
+    assertThat(server.isRegistered(aggregateName)).isTrue();
+  }
+
+  @Test
+  public void aggregates() throws Exception {
+    Worker first = new Worker("1", 2);
+    first.items.add("a");
+    MBeans.registerMBeanFor(first);
+    MBeans.registerMBeanFor(new Worker("2", 4));
+    MBeans.registerMBeanFor(new Worker("3", 9));
+
+    assertThat(server.getAttribute(aggregateName, "instances")).isEqualTo(3);
+    CompositeData queueLength = (CompositeData) server.getAttribute(aggregateName, "queueLength");
+    assertThat(queueLength.get("count")).isEqualTo(3L);
+    assertThat(queueLength.get("sum")).isEqualTo(15.0d);
+    assertThat(queueLength.get("min")).isEqualTo(2.0d);
+    assertThat(queueLength.get("max")).isEqualTo(9.0d);
+    assertThat(queueLength.get("avg")).isEqualTo(5.0d);
+
+    CompositeData processed = (CompositeData) server.getAttribute(aggregateName, "processed");
+    assertThat(processed.get("sum")).isEqualTo(150.0d);
+    CompositeData items = (CompositeData) server.getAttribute(aggregateName, "items");
+    assertThat(items.get("sum")).isEqualTo(1.0d);
+
+    first.queueLength = 20;
+    queueLength = (CompositeData) server.getAttribute(aggregateName, "queueLength");
+    assertThat(queueLength.get("sum")).isEqualTo(33.0d);
+  }
+
+  @Test
+  public void onlyAggregatedAttributesAreProvided() throws Exception {
+    MBeans.registerMBeanFor(new Worker("1", 1));
+    assertThat(server.getMBeanInfo(aggregateName).getAttributes())
+        .extracting(info -> info.getName())
+        .containsExactlyInAnyOrder("instances", "queueLength", "items", "processed");
+  }
+
+  @Test
+  public void manyInstancesInParallel() throws Exception {
+    List<Worker> workers = new ArrayList<>();
+    for (int pos = 0; pos < 5000; pos++) {
+      workers.add(new Worker(Integer.toString(pos), pos % 10));
+    }
+    MBeans.registerMBeansFor(workers);
+    CompositeData queueLength = (CompositeData) server.getAttribute(aggregateName, "queueLength");
+    assertThat(queueLength.get("count")).isEqualTo(5000L);
+    assertThat(queueLength.get("sum")).isEqualTo(22500.0d);
+    assertThat(queueLength.get("max")).isEqualTo(9.0d);
+    CompositeData processed = (CompositeData) server.getAttribute(aggregateName, "processed");
+    assertThat(processed.get("sum")).isEqualTo(225000.0d);
+    assertThat(Worker.READING_THREADS).noneMatch(thread -> thread.startsWith("ForkJoinPool.commonPool"));
+  }
+
+  @Test
+  public void nonNumericAttribute() {
+    MBeans.registerMBeanFor(new InvalidAggregate());
+    assertThat(logAppender.getRecording()).contains("Annotation @MAggregate not allowed on attribute name with type java.lang.String");
+  }
+}
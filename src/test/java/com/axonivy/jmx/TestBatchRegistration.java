@@ -0,0 +1,123 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestBatchRegistration {
+  private static final int MANY = 1000;
+  private static final AtomicInteger IDS = new AtomicInteger();
+
+  @MBean("Test:type=Batch,id=#{id}")
+  public static class TestBean {
+    private final int id = IDS.incrementAndGet();
+
+    @MAttribute
+    private final int value = 1;
+  }
+
+  @MBean("Test:type=Batch,id=#{name}")
+  public static class ThreadRecordingBean {
+    private static final Set<String> NAMING_THREADS = ConcurrentHashMap.newKeySet();
+    private final int id = IDS.incrementAndGet();
+
+    public String getName() {
+      NAMING_THREADS.add(Thread.currentThread().getName());
+      return Integer.toString(id);
+    }
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void registerAndUnregisterMany() throws Exception {
+    List<Object> beans = new ArrayList<>();
+    for (int count = 0; count < MANY; count++) {
+      beans.add(new TestBean());
+    }
+    beans.add("not an MBean");
+    MBeans.registerMBeansFor(beans);
+    assertThat(registered()).isEqualTo(MANY);
+    MBeans.unregisterMBeansFor(beans);
+    assertThat(registered()).isEqualTo(0);
+  }
+
+  @Test
+  public void namesOfLargeBatchAreNotEvaluatedInCommonPool() throws Exception {
+    List<Object> beans = new ArrayList<>();
+    for (int count = 0; count < MANY; count++) {
+      beans.add(new ThreadRecordingBean());
+    }
+    MBeans.registerMBeansFor(beans);
+    assertThat(registered()).isEqualTo(MANY);
+    assertThat(ThreadRecordingBean.NAMING_THREADS).noneMatch(thread -> thread.startsWith("ForkJoinPool.commonPool"));
+  }
+
+  @Test
+  public void mapPutAllAndClear() throws Exception {
+    Map<Integer, TestBean> map = MCollections.managedMap(new HashMap<Integer, TestBean>());
+    map.putAll(beans(MANY));
+    assertThat(registered()).isEqualTo(MANY);
+    map.putAll(beans(10));
+    assertThat(registered()).isEqualTo(MANY);
+    map.clear();
+    assertThat(registered()).isEqualTo(0);
+  }
+
+  @Test
+  public void mapRemoveAll() throws Exception {
+    Map<Integer, TestBean> map = MCollections.managedMap(new HashMap<Integer, TestBean>());
+    map.putAll(beans(MANY));
+    MCollections.removeAll(map, List.of(0, 1, 2, MANY + 1));
+    assertThat(registered()).isEqualTo(MANY - 3);
+    assertThat(map).hasSize(MANY - 3).doesNotContainKeys(0, 1, 2);
+  }
+
+  @Test
+  public void concurrentMapRemoveAll() throws Exception {
+    Map<Integer, TestBean> map = MCollections.managedConcurrentMap(new ConcurrentHashMap<Integer, TestBean>());
+    map.putAll(beans(10));
+    MCollections.removeAll(map, List.of(0, 1));
+    assertThat(registered()).isEqualTo(8);
+  }
+
+  @Test
+  public void listClearAndRemoveAll() throws Exception {
+    List<TestBean> list = MCollections.managedList(new ArrayList<TestBean>());
+    List<TestBean> beans = new ArrayList<>(beans(MANY).values());
+    list.addAll(beans);
+    assertThat(registered()).isEqualTo(MANY);
+    assertThat(list.removeAll(beans.subList(0, 100))).isTrue();
+    assertThat(list).hasSize(MANY - 100);
+    assertThat(registered()).isEqualTo(MANY - 100);
+    list.clear();
+    assertThat(registered()).isEqualTo(0);
+  }
+
+  private static Map<Integer, TestBean> beans(int count) {
+    Map<Integer, TestBean> beans = new HashMap<>();
+    for (int key = 0; key < count; key++) {
+      beans.put(key, new TestBean());
+    }
+    return beans;
+  }
+
+  private static int registered() throws MalformedObjectNameException {
+    return MBeans.getMBeanServer().queryNames(new ObjectName("Test:type=Batch,*"), null).size();
+  }
+}
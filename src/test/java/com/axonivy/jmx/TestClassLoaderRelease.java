@@ -0,0 +1,89 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestClassLoaderRelease {
+  private static final String BEAN_CLASS = TestClassLoaderRelease.class.getName() + "$RedeployedBean";
+  private static final String ITEM_CLASS = TestClassLoaderRelease.class.getName() + "$RedeployedItem";
+
+  @MBean("Test:type=Redeployed")
+  public static class RedeployedBean {
+    @MAttribute
+    private final RedeployedItem item = new RedeployedItem();
+
+    @MAttribute
+    private final String name = "redeployed";
+  }
+
+  @MComposite
+  public static class RedeployedItem {
+    @MItem
+    private final int value = 42;
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void classLoaderIsCollectedAfterUnregister() throws Exception {
+    WeakReference<ClassLoader> loader = registerAndUnregisterBeanOfOwnClassLoader();
+    for (int count = 0; count < 100 && loader.get() != null; count++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertThat(loader.get()).isNull();
+  }
+
+  private static WeakReference<ClassLoader> registerAndUnregisterBeanOfOwnClassLoader() throws Exception {
+    ClassLoader loader = new RedeployClassLoader();
+    Object bean = loader.loadClass(BEAN_CLASS).getDeclaredConstructor().newInstance();
+    assertThat(bean.getClass()).isNotEqualTo(RedeployedBean.class);
+    MBeans.registerMBeanFor(bean);
+    assertThat(MBeans.getMBeanServer().getAttribute(new ObjectName("Test:type=Redeployed"), "name")).isEqualTo("redeployed");
+    MBeans.unregisterMBeanFor(bean);
+    return new WeakReference<ClassLoader>(loader);
+  }
+
+  /**
+   * Loads the bean classes itself, like the class loader of an application that is redeployed
+   */
+  private static class RedeployClassLoader extends ClassLoader {
+    private RedeployClassLoader() {
+      super(TestClassLoaderRelease.class.getClassLoader());
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (!BEAN_CLASS.equals(name) && !ITEM_CLASS.equals(name)) {
+        return super.loadClass(name, resolve);
+      }
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> clazz = findLoadedClass(name);
+        if (clazz == null) {
+          clazz = defineClass(name);
+        }
+        return clazz;
+      }
+    }
+
+    private Class<?> defineClass(String name) throws ClassNotFoundException {
+      try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+        byte[] bytes = in.readAllBytes();
+        return defineClass(name, bytes, 0, bytes.length);
+      } catch (IOException ex) {
+        throw new ClassNotFoundException(name, ex);
+      }
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestCompositionTreeUnregistration {
+  @MBean("Test:type=Tree,name=#{name}")
+  public static class RootBean {
+    private final String name;
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private ChildBean child = new ChildBean("child");
+
+    public RootBean(String name) {
+      this.name = name;
+    }
+
+    @MCompositionReference(concatName = true)
+    public ChildBean getChild() {
+      evaluations.incrementAndGet();
+      return child;
+    }
+  }
+
+  @MBean("child=#{name}")
+  public static class ChildBean {
+    private final String name;
+
+    @MCompositionReference(concatName = true)
+    private final GrandChildBean grandChild = new GrandChildBean();
+
+    public ChildBean(String name) {
+      this.name = name;
+    }
+  }
+
+  @MBean("grandChild=GrandChild")
+  public static class GrandChildBean {
+  }
+
+  @MBean("Test:type=Wide")
+  public static class WideBean {
+    @MCompositionReference(concatName = true) private final LeafBean leaf0 = new LeafBean(0);
+    @MCompositionReference(concatName = true) private final LeafBean leaf1 = new LeafBean(1);
+    @MCompositionReference(concatName = true) private final LeafBean leaf2 = new LeafBean(2);
+    @MCompositionReference(concatName = true) private final LeafBean leaf3 = new LeafBean(3);
+    @MCompositionReference(concatName = true) private final LeafBean leaf4 = new LeafBean(4);
+    @MCompositionReference(concatName = true) private final LeafBean leaf5 = new LeafBean(5);
+    @MCompositionReference(concatName = true) private final LeafBean leaf6 = new LeafBean(6);
+    @MCompositionReference(concatName = true) private final LeafBean leaf7 = new LeafBean(7);
+    @MCompositionReference(concatName = true) private final LeafBean leaf8 = new LeafBean(8);
+    @MCompositionReference(concatName = true) private final LeafBean leaf9 = new LeafBean(9);
+    @MCompositionReference(concatName = true) private final LeafBean leaf10 = new LeafBean(10);
+    @MCompositionReference(concatName = true) private final LeafBean leaf11 = new LeafBean(11);
+    @MCompositionReference(concatName = true) private final LeafBean leaf12 = new LeafBean(12);
+    @MCompositionReference(concatName = true) private final LeafBean leaf13 = new LeafBean(13);
+    @MCompositionReference(concatName = true) private final LeafBean leaf14 = new LeafBean(14);
+    @MCompositionReference(concatName = true) private final LeafBean leaf15 = new LeafBean(15);
+    @MCompositionReference(concatName = true) private final LeafBean leaf16 = new LeafBean(16);
+    @MCompositionReference(concatName = true) private final LeafBean leaf17 = new LeafBean(17);
+  }
+
+  @MBean("leaf=#{id}")
+  public static class LeafBean {
+    private final int id;
+
+    public LeafBean(int id) {
+      this.id = id;
+    }
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void unregisterTreeWithoutEvaluatingCompositionReferences() throws Exception {
+    RootBean root = new RootBean("root");
+    MBeans.registerMBeanFor(root);
+    assertThat(MBeans.query(name("Test:type=Tree,*"))).hasSize(3);
+    assertThat(root.evaluations).hasValue(1);
+
+    MBeans.unregisterMBeanFor(root);
+    assertThat(root.evaluations).hasValue(1);
+    assertThat(MBeans.getMBeanServer().queryNames(name("Test:type=Tree,*"), null)).isEmpty();
+  }
+
+  @Test
+  public void unregisterRecordedChildIfReferenceChanged() throws Exception {
+    RootBean root = new RootBean("root");
+    MBeans.registerMBeanFor(root);
+    root.child = new ChildBean("other");
+    MBeans.unregisterMBeanFor(root);
+    assertThat(MBeans.getMBeanServer().queryNames(name("Test:type=Tree,*"), null)).isEmpty();
+  }
+
+  @Test
+  public void unregisterManyChildren() throws Exception {
+    WideBean wide = new WideBean();
+    MBeans.registerMBeanFor(wide);
+    assertThat(MBeans.getMBeanServer().queryNames(name("Test:type=Wide,*"), null)).hasSize(19);
+    MBeans.unregisterMBeanFor(wide);
+    assertThat(MBeans.getMBeanServer().queryNames(name("Test:type=Wide,*"), null)).isEmpty();
+    assertThat(MBeans.query(name("Test:type=Wide,*"))).isEmpty();
+  }
+
+  @Test
+  public void unregisterAll() throws Exception {
+    for (int tree = 0; tree < 40; tree++) {
+      MBeans.registerMBeanFor(new RootBean("root" + tree));
+    }
+    assertThat(MBeans.query(name("Test:type=Tree,*"))).hasSize(120);
+    MBeans.unregisterAllMBeans();
+    assertThat(MBeans.getMBeanServer().queryNames(name("Test:type=Tree,*"), null)).isEmpty();
+    assertThat(MBeans.query(name("Test:type=Tree,*"))).isEmpty();
+  }
+
+  private static ObjectName name(String name) throws MalformedObjectNameException {
+    return new ObjectName(name);
+  }
+}
@@ -0,0 +1,86 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestConcurrentRegistration {
+  private static final int THREADS = 16;
+
+  @MBean("Test:type=Concurrent,id=#{id}")
+  public static class TestBean {
+    private final int id;
+
+    @MAttribute
+    private final Item item = new Item();
+
+    @MAttribute
+    private final int counter = 42;
+
+    public TestBean(int id) {
+      this.id = id;
+    }
+
+    public int getId() {
+      return id;
+    }
+  }
+
+  @MComposite
+  public static class Item {
+    @MItem
+    private final String name = "item";
+  }
+
+  @BeforeEach
+  public void before() {
+    MBeans.setRegisterMBeanErrorStrategy(MConstants.THROW_RUNTIME_EXCEPTION_ERROR_STRATEGY);
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.setRegisterMBeanErrorStrategy(MConstants.DEFAULT_ERROR_STRATEGY);
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void concurrentFirstRegistration() throws Exception {
+    CyclicBarrier barrier = new CyclicBarrier(THREADS);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int id = 0; id < THREADS; id++) {
+        TestBean bean = new TestBean(id);
+        results.add(executor.submit(() -> {
+          barrier.await();
+          MBeans.registerMBeanFor(bean);
+          return null;
+        }));
+      }
+      for (Future<?> result : results) {
+        result.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdown();
+    }
+    for (int id = 0; id < THREADS; id++) {
+      ObjectName name = new ObjectName("Test:type=Concurrent,id=" + id);
+      assertThat(MBeans.getMBeanServer().isRegistered(name)).isTrue();
+      assertThat(MBeans.getMBeanServer().getAttribute(name, "counter")).isEqualTo(42);
+      assertThat(((CompositeData) MBeans.getMBeanServer().getAttribute(name, "item")).get("name")).isEqualTo("item");
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestDeferredMap {
+  private static final String[] INT_INT = new String[] {"java.lang.Integer", "java.lang.Integer"};
+  private static final String[] STRING = new String[] {"java.lang.String"};
+  private final MBeanServer server = MBeans.getMBeanServer();
+  private ObjectName mapName;
+  private Map<String, Object> testMap;
+
+  @MBean("Test:type=DeferredEntry,id=#{id}")
+  public static class TestBean {
+    private final String id;
+
+    public TestBean(String id) {
+      this.id = id;
+    }
+  }
+
+  @BeforeEach
+  public void before() throws Exception {
+    mapName = new ObjectName("Test:type=DeferredMap,name=Sessions");
+    testMap = MCollections.managedDeferredMap(new ConcurrentHashMap<>(), mapName);
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void putDoesNotRegister() throws Exception {
+    testMap.put("a", new TestBean("a"));
+    testMap.put("b", new TestBean("b"));
+    assertThat(server.isRegistered(mapName)).isTrue();
+    assertThat(server.isRegistered(name("a"))).isFalse();
+    assertThat(server.getAttribute(mapName, "entryCount")).isEqualTo(2);
+    assertThat(server.getAttribute(mapName, "materializedEntries")).isEqualTo(0);
+  }
+
+  @Test
+  public void listKeys() throws Exception {
+    testMap.put("a", new TestBean("a"));
+    assertThat(server.invoke(mapName, "listKeys", new Object[] {0, 10}, INT_INT)).isEqualTo("a");
+    assertThat(server.invoke(mapName, "listKeys", new Object[] {1, 10}, INT_INT)).isEqualTo("");
+  }
+
+  @Test
+  public void getEntryMaterializes() throws Exception {
+    testMap.put("a", new TestBean("a"));
+    testMap.put("b", new TestBean("b"));
+    testMap.put("text", "value");
+    assertThat(server.invoke(mapName, "getEntry", new Object[] {"a"}, STRING)).isEqualTo(name("a").toString());
+    assertThat(server.isRegistered(name("a"))).isTrue();
+    assertThat(server.isRegistered(name("b"))).isFalse();
+    assertThat(server.invoke(mapName, "getEntry", new Object[] {"text"}, STRING)).isEqualTo("value");
+    assertThat(server.invoke(mapName, "getEntry", new Object[] {"unknown"}, STRING)).isNull();
+    assertThat(server.getAttribute(mapName, "materializedEntries")).isEqualTo(1);
+  }
+
+  @Test
+  public void getEntryWithNonStringKey() throws Exception {
+    ObjectName name = new ObjectName("Test:type=DeferredMap,name=ById");
+    Map<Integer, Object> map = MCollections.managedDeferredMap(new ConcurrentHashMap<>(), name);
+    map.put(1, new TestBean("1"));
+    assertThat(server.invoke(name, "getEntry", new Object[] {"1"}, STRING)).isEqualTo(name("1").toString());
+  }
+
+  @Test
+  public void queryMaterializesEntryWithExactName() throws Exception {
+    testMap.put("a", new TestBean("a"));
+    testMap.put("b", new TestBean("b"));
+    assertThat(MBeans.query(name("a"))).containsExactly(name("a"));
+    assertThat(server.isRegistered(name("b"))).isFalse();
+    assertThat(MBeans.query(new ObjectName("Other:type=DeferredEntry,id=b"))).isEmpty();
+    assertThat(server.isRegistered(name("b"))).isFalse();
+  }
+
+  @Test
+  public void patternQueryDoesNotMaterialize() throws Exception {
+    testMap.put("a", new TestBean("a"));
+    testMap.put("b", new TestBean("b"));
+    MBeans.query(name("a"));
+    assertThat(MBeans.query(new ObjectName("Test:type=DeferredEntry,*"))).containsExactly(name("a"));
+    assertThat(MBeans.query(ObjectName.WILDCARD)).doesNotContain(name("b"));
+    assertThat(MBeans.query(new ObjectName("Test:type=DeferredEntry,id=*"))).containsExactly(name("a"));
+    assertThat(server.getAttribute(mapName, "materializedEntries")).isEqualTo(1);
+  }
+
+  @Test
+  public void removeUnregistersMaterializedEntry() throws Exception {
+    TestBean bean = new TestBean("a");
+    testMap.put("a", bean);
+    MBeans.query(name("a"));
+    testMap.put("a", bean);
+    assertThat(server.isRegistered(name("a"))).isTrue();
+    testMap.put("a", new TestBean("a"));
+    assertThat(server.isRegistered(name("a"))).isFalse();
+    MBeans.query(name("a"));
+    testMap.remove("a");
+    assertThat(server.isRegistered(name("a"))).isFalse();
+    assertThat(server.getAttribute(mapName, "materializedEntries")).isEqualTo(0);
+  }
+
+  @Test
+  public void releaseEntries() throws Exception {
+    testMap.put("a", new TestBean("a"));
+    MBeans.query(name("a"));
+    server.invoke(mapName, "releaseEntries", new Object[0], new String[0]);
+    assertThat(server.isRegistered(name("a"))).isFalse();
+    assertThat(testMap).containsKey("a");
+  }
+
+  @Test
+  public void unregisterMapReleasesEntries() throws Exception {
+    testMap.put("a", new TestBean("a"));
+    MBeans.query(name("a"));
+    MBeans.unregisterMBeanFor(testMap);
+    assertThat(server.isRegistered(mapName)).isFalse();
+    assertThat(server.isRegistered(name("a"))).isFalse();
+    MBeans.query(name("a"));
+    assertThat(server.isRegistered(name("a"))).isFalse();
+  }
+
+  private static ObjectName name(String id) throws MalformedObjectNameException {
+    return new ObjectName("Test:type=DeferredEntry,id=" + id);
+  }
+}
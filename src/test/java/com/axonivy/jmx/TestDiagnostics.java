@@ -0,0 +1,169 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.management.Attribute;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.axonivy.jmx.util.LogTestAppender;
+
+public class TestDiagnostics extends BaseMTest<TestDiagnostics.TestBean> {
+  private final ObjectName diagnosticsName = new ObjectName("ivymx:type=Diagnostics");
+  private final ObjectName typeStatisticsName = new ObjectName("ivymx:type=Diagnostics,mBeanType=" + TestBean.class.getName());
+
+  @MBean("Test:type=Diagnostics")
+  public static class TestBean {
+    @MAttribute
+    private final int counter = 42;
+
+    @MAttribute
+    @MCache(timeout = 1)
+    public long getCached() {
+      return System.nanoTime();
+    }
+
+    @MAttribute
+    public int getFailing() {
+      throw new IllegalStateException("Failing attribute");
+    }
+
+    @MAttribute
+    public int getSlow() throws InterruptedException {
+      Thread.sleep(20);
+      return 1;
+    }
+
+    @MOperation
+    public int increase(int value) {
+      return value + 1;
+    }
+  }
+
+  public TestDiagnostics() throws MalformedObjectNameException {
+    super(new TestBean(), "Test:type=Diagnostics");
+  }
+
+  @Override
+  @BeforeEach
+  public void before() {
+    MBeans.setDiagnosticsEnabled(true);
+    super.before();
+  }
+
+  @Override
+  @AfterEach
+  public void after() {
+    super.after();
+    MBeans.setDiagnosticsEnabled(false);
+    MBeans.setSlowCallWarningThreshold(0, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void registrations() throws Exception {
+    long registrations = diagnostic("registrations");
+    long unregistrations = diagnostic("unregistrations");
+    MBeans.unregisterMBeanFor(testBean);
+    MBeans.registerMBeanFor(testBean);
+    assertThat(diagnostic("registrations")).isEqualTo(registrations + 1);
+    assertThat(diagnostic("unregistrations")).isEqualTo(unregistrations + 1);
+    assertThat(diagnostic("registrationsTotalExecutionTimeInMicroSeconds")).isGreaterThanOrEqualTo(0L);
+    assertThat((Integer) MBeans.getMBeanServer().getAttribute(diagnosticsName, "registeredMBeans")).isGreaterThanOrEqualTo(1);
+  }
+
+  @Test
+  public void attributeReadsPerType() throws Exception {
+    getAttribute("counter");
+    long reads = diagnostic("attributeReads");
+    long typeReads = typeStatistic("attributeReads");
+    getAttribute("counter");
+    getAttribute("counter");
+    assertThat(diagnostic("attributeReads")).isGreaterThanOrEqualTo(reads + 2);
+    assertThat(typeStatistic("attributeReads")).isEqualTo(typeReads + 2);
+    assertThat(MBeans.getMBeanServer().getAttribute(typeStatisticsName, "mBeanType")).isEqualTo(TestBean.class.getName());
+  }
+
+  @Test
+  public void operationInvocationsPerType() throws Exception {
+    invokeOperation("increase", new Object[] {1}, new String[] {"java.lang.Integer"});
+    long invocations = typeStatistic("operationInvocations");
+    invokeOperation("increase", new Object[] {1}, new String[] {"java.lang.Integer"});
+    assertThat(typeStatistic("operationInvocations")).isEqualTo(invocations + 1);
+  }
+
+  @Test
+  public void failedAttributeReads() throws Exception {
+    long failed = diagnostic("failedAttributeReads");
+    MBeans.getMBeanServer().getAttributes(testBeanObjectName, new String[] {"counter", "failing"});
+    assertThat(diagnostic("failedAttributeReads")).isEqualTo(failed + 1);
+  }
+
+  @Test
+  public void cacheHits() throws Exception {
+    long hits = diagnostic("cacheHits");
+    long misses = diagnostic("cacheMisses");
+    getAttribute("cached");
+    getAttribute("cached");
+    assertThat(diagnostic("cacheHits") + diagnostic("cacheMisses")).isEqualTo(hits + misses + 2);
+    assertThat(diagnostic("cacheHits")).isGreaterThan(hits);
+    assertThat((Double) MBeans.getMBeanServer().getAttribute(diagnosticsName, "cacheHitRatio")).isBetween(0.0d, 1.0d);
+  }
+
+  @Test
+  public void slowestCalls() throws Exception {
+    getAttribute("counter");
+    getAttribute("slow");
+    invokeOperation("increase", new Object[] {1}, new String[] {"java.lang.Integer"});
+    CompositeData[] slowestCalls = (CompositeData[]) MBeans.getMBeanServer().getAttribute(typeStatisticsName, "slowestCalls");
+    assertThat(slowestCalls.length).isGreaterThanOrEqualTo(3);
+    assertThat(slowestCalls[0].get("kind")).isEqualTo("attribute");
+    assertThat(slowestCalls[0].get("name")).isEqualTo("slow");
+    assertThat((Long) slowestCalls[0].get("maxExecutionTimeInMicroSeconds")).isGreaterThanOrEqualTo(20_000L);
+    assertThat(slowestCalls).extracting(call -> call.get("name")).contains("counter", "increase");
+
+    MBeans.getMBeanServer().invoke(typeStatisticsName, "resetSlowestCalls", new Object[0], new String[0]);
+    slowestCalls = (CompositeData[]) MBeans.getMBeanServer().getAttribute(typeStatisticsName, "slowestCalls");
+    assertThat(slowestCalls).isEmpty();
+  }
+
+  @Test
+  public void slowCallWarning() throws Exception {
+    LogTestAppender logAppender = new LogTestAppender(Level.WARN);
+    Logger.getLogger("com.axonivy.jmx.internal.MDiagnostics").addAppender(logAppender);
+    try {
+      MBeans.setSlowCallWarningThreshold(10, TimeUnit.MILLISECONDS);
+      getAttribute("counter");
+      assertThat(logAppender.getRecording()).isEmpty();
+      getAttribute("slow");
+      assertThat(logAppender.getRecording()).contains("Reading attribute 'slow' of MBean type '" + TestBean.class.getName() + "' took");
+    } finally {
+      Logger.getLogger("com.axonivy.jmx.internal.MDiagnostics").removeAppender(logAppender);
+    }
+  }
+
+  @Test
+  public void disabled() throws Exception {
+    MBeans.getMBeanServer().setAttribute(diagnosticsName, new Attribute("enabled", false));
+    long reads = diagnostic("attributeReads");
+    getAttribute("counter");
+    assertThat(diagnostic("attributeReads")).isEqualTo(reads);
+  }
+
+  private long diagnostic(String attribute) throws Exception {
+    return (Long) MBeans.getMBeanServer().getAttribute(diagnosticsName, attribute);
+  }
+
+  private long typeStatistic(String attribute) throws Exception {
+    return (Long) MBeans.getMBeanServer().getAttribute(typeStatisticsName, attribute);
+  }
+}
@@ -0,0 +1,105 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.management.MBeanException;
+import javax.management.MalformedObjectNameException;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class TestFlightRecorderEvents extends BaseMTest<TestFlightRecorderEvents.TestBean> {
+  private static final String NAME = "Test:type=FlightRecorder";
+
+  @MBean(NAME)
+  public static class TestBean {
+    @MAttribute
+    private final int counter = 42;
+
+    @MAttribute
+    @MCache(timeout = 1)
+    public long getCached() {
+      return System.nanoTime();
+    }
+
+    @MAttribute
+    public int getFailing() {
+      throw new IllegalStateException("Failing attribute");
+    }
+
+    @MOperation
+    public String hello() {
+      return "hello";
+    }
+  }
+
+  public TestFlightRecorderEvents() throws MalformedObjectNameException {
+    super(new TestBean(), NAME);
+  }
+
+  @Test
+  public void events() throws Exception {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable("com.axonivy.jmx.MBeanRegistration");
+      recording.enable("com.axonivy.jmx.AttributeRead");
+      recording.enable("com.axonivy.jmx.AttributesRead");
+      recording.enable("com.axonivy.jmx.OperationInvocation");
+      recording.enable("com.axonivy.jmx.CacheRefresh");
+      recording.start();
+
+      MBeans.unregisterMBeanFor(testBean);
+      MBeans.registerMBeanFor(testBean);
+      getAttribute("counter");
+      getAttribute("cached");
+      MBeans.getMBeanServer().getAttributes(testBeanObjectName, new String[] {"counter", "failing"});
+      invokeOperation("hello");
+
+      recording.stop();
+      Path file = Files.createTempFile("ivymx", ".jfr");
+      try {
+        recording.dump(file);
+        events = RecordingFile.readAllEvents(file);
+      } finally {
+        Files.delete(file);
+      }
+    }
+
+    List<RecordedEvent> registrations = events(events, "com.axonivy.jmx.MBeanRegistration");
+    assertThat(registrations).extracting(event -> event.getString("action")).containsExactly("unregister", "register");
+    assertThat(registrations).allMatch(event -> NAME.equals(event.getString("objectName")));
+    assertThat(registrations).allMatch(event -> "success".equals(event.getString("outcome")));
+
+    List<RecordedEvent> reads = events(events, "com.axonivy.jmx.AttributeRead");
+    assertThat(reads).extracting(event -> event.getString("attribute")).containsExactly("counter", "cached", "counter", "failing");
+    assertThat(reads.get(3).getString("outcome")).isEqualTo("failure: " + MBeanException.class.getName());
+
+    List<RecordedEvent> bulkReads = events(events, "com.axonivy.jmx.AttributesRead");
+    assertThat(bulkReads).hasSize(1);
+    assertThat(bulkReads.get(0).getInt("requestedAttributes")).isEqualTo(2);
+    assertThat(bulkReads.get(0).getInt("failedAttributes")).isEqualTo(1);
+
+    List<RecordedEvent> invocations = events(events, "com.axonivy.jmx.OperationInvocation");
+    assertThat(invocations).extracting(event -> event.getString("operation")).containsExactly("hello()");
+
+    List<RecordedEvent> cacheRefreshs = events(events, "com.axonivy.jmx.CacheRefresh");
+    assertThat(cacheRefreshs).hasSize(1);
+    assertThat(cacheRefreshs.get(0).getString("accessor")).contains("getCached");
+  }
+
+  private static List<RecordedEvent> events(List<RecordedEvent> events, String name) {
+    return events.stream()
+        .filter(event -> event.getEventType().getName().equals(name))
+        .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+        .collect(Collectors.toList());
+  }
+}
@@ -65,6 +65,19 @@ public class TestMBeans extends BaseMTest<TestMBeans.TestBean> {
   @MBean(value = "Test:name=TestUniqueName", makeNameUnique = true)
   public static class TestUniqueNameBean {}
 
+  @MBean(value = "Test:name=TestUniqueName", makeNameUnique = true)
+  public static class TestEqualityBean {
+    @Override
+    public boolean equals(Object obj) {
+      throw new IllegalStateException("equals must not be called");
+    }
+
+    @Override
+    public int hashCode() {
+      throw new IllegalStateException("hashCode must not be called");
+    }
+  }
+
   public TestMBeans() throws MalformedObjectNameException {
     super(new TestBean(), "Test:type=TestType,name=TestName,app=TestApp");
   }
@@ -156,6 +169,26 @@ public class TestMBeans extends BaseMTest<TestMBeans.TestBean> {
     assertThat(objectInstance2).isNull();
   }
 
+  @Test
+  public void testRegisterUnregisterDoesNotCallEqualsAndHashCode() throws MalformedObjectNameException {
+    MBeans.setRegisterMBeanErrorStrategy(MConstants.THROW_RUNTIME_EXCEPTION_ERROR_STRATEGY);
+    try {
+      TestEqualityBean bean1 = new TestEqualityBean();
+      TestEqualityBean bean2 = new TestEqualityBean();
+      MBeans.registerMBeanFor(bean1);
+      MBeans.registerMBeanFor(bean2);
+      MBeans.registerMBeanFor(bean1);
+      assertThat(getBeanOrNullFromBeanServer("Test:name=TestUniqueName")).isNotNull();
+      assertThat(getBeanOrNullFromBeanServer("Test:name=TestUniqueName @1")).isNotNull();
+      assertThat(getBeanOrNullFromBeanServer("Test:name=TestUniqueName @2")).isNull();
+      MBeans.unregisterMBeanFor(bean2);
+      assertThat(getBeanOrNullFromBeanServer("Test:name=TestUniqueName")).isNotNull();
+      assertThat(getBeanOrNullFromBeanServer("Test:name=TestUniqueName @1")).isNull();
+    } finally {
+      MBeans.setRegisterMBeanErrorStrategy(MConstants.DEFAULT_ERROR_STRATEGY);
+    }
+  }
+
   @Test
   public void testDescription() throws IntrospectionException, InstanceNotFoundException, ReflectionException {
     assertThat(getMBeanInfoFromBeanServer().getDescription()).isEqualTo("Description of TestApp");
@@ -0,0 +1,166 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestMConcurrentMap {
+  private static final AtomicInteger IDS = new AtomicInteger();
+  private final ConcurrentHashMap<String, Object> originalMap = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Object> testMap = MCollections.managedConcurrentMap(originalMap);
+
+  @MBean("Test:type=ConcurrentMap,id=#{id}")
+  public static class TestBean {
+    private final int id = IDS.incrementAndGet();
+  }
+
+  /**
+   * Computes the key of the original map while its MBean name is evaluated.
+   * This only works if the MBean is not registered within the lock of the original map.
+   */
+  @MBean("Test:type=ConcurrentMap,name=#{name}")
+  public class UpdatingBean {
+    private final String key;
+
+    public UpdatingBean(String key) {
+      this.key = key;
+    }
+
+    public String getName() throws Exception {
+      CompletableFuture.runAsync(() -> originalMap.computeIfPresent(key, (k, value) -> value)).get(5, TimeUnit.SECONDS);
+      return key;
+    }
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void putAndRemove() throws Exception {
+    TestBean bean = new TestBean();
+    testMap.put("key", bean);
+    assertThat(registered()).containsExactly(name(bean));
+    testMap.remove("key");
+    assertThat(registered()).isEmpty();
+  }
+
+  @Test
+  public void compute() throws Exception {
+    TestBean first = new TestBean();
+    TestBean second = new TestBean();
+    testMap.compute("key", (key, value) -> first);
+    assertThat(registered()).containsExactly(name(first));
+    testMap.compute("key", (key, value) -> second);
+    assertThat(registered()).containsExactly(name(second));
+    testMap.compute("key", (key, value) -> value);
+    assertThat(registered()).containsExactly(name(second));
+    testMap.compute("key", (key, value) -> null);
+    assertThat(registered()).isEmpty();
+  }
+
+  @Test
+  public void mergeAndReplaceAll() throws Exception {
+    TestBean first = new TestBean();
+    TestBean second = new TestBean();
+    TestBean third = new TestBean();
+    testMap.merge("key", first, (oldValue, value) -> value);
+    testMap.merge("key", second, (oldValue, value) -> value);
+    assertThat(registered()).containsExactly(name(second));
+    testMap.replaceAll((key, value) -> third);
+    assertThat(registered()).containsExactly(name(third));
+    testMap.clear();
+    assertThat(registered()).isEmpty();
+  }
+
+  @Test
+  public void conditionalUpdates() throws Exception {
+    TestBean first = new TestBean();
+    TestBean second = new TestBean();
+    assertThat(testMap.putIfAbsent("key", first)).isNull();
+    assertThat(testMap.putIfAbsent("key", second)).isSameAs(first);
+    assertThat(testMap.replace("key", second, first)).isFalse();
+    assertThat(registered()).containsExactly(name(first));
+    assertThat(testMap.replace("key", first, second)).isTrue();
+    assertThat(registered()).containsExactly(name(second));
+    assertThat(testMap.remove("key", first)).isFalse();
+    assertThat(testMap.remove("key", second)).isTrue();
+    assertThat(registered()).isEmpty();
+  }
+
+  @Test
+  public void registerOutsideOfMapLocks() throws Exception {
+    testMap.compute("key", (key, value) -> new UpdatingBean(key));
+    assertThat(MBeans.getMBeanServer().isRegistered(new ObjectName("Test:type=ConcurrentMap,name=key"))).isTrue();
+  }
+
+  @Test
+  public void concurrentUpdates() throws Exception {
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < threads; thread++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+          for (int count = 0; count < 2000; count++) {
+            String key = "key" + random.nextInt(8);
+            switch (random.nextInt(6)) {
+              case 0 -> testMap.put(key, new TestBean());
+              case 1 -> testMap.remove(key);
+              case 2 -> testMap.compute(key, (k, value) -> random.nextBoolean() ? new TestBean() : null);
+              case 3 -> testMap.computeIfAbsent(key, k -> new TestBean());
+              case 4 -> testMap.merge(key, new TestBean(), (oldValue, value) -> random.nextBoolean() ? value : oldValue);
+              default -> testMap.computeIfPresent(key, (k, value) -> new TestBean());
+            }
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Set<ObjectName> expected = new HashSet<>();
+    for (Object value : testMap.values()) {
+      expected.add(name((TestBean) value));
+    }
+    assertThat(registered()).isEqualTo(expected);
+  }
+
+  private static Set<ObjectName> registered() throws MalformedObjectNameException {
+    return MBeans.getMBeanServer().queryNames(new ObjectName("Test:type=ConcurrentMap,id=*"), null)
+        .stream()
+        .collect(Collectors.toSet());
+  }
+
+  private static ObjectName name(TestBean bean) throws MalformedObjectNameException {
+    return new ObjectName("Test:type=ConcurrentMap,id=" + bean.id);
+  }
+}
@@ -1,9 +1,15 @@
 package com.axonivy.jmx;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Set;
 
 import javax.management.MalformedObjectNameException;
 
@@ -99,4 +105,123 @@ public class TestMList extends BaseMTest<TestMList.TestBean> {
     testList.retainAll(Collections.emptyList());
     assertNotRegistered();
   }
+
+  @Test
+  public void testRemoveIf() {
+    testList.add(testBean);
+    testList.add(new TestBean());
+    testList.removeIf(bean -> bean == testBean);
+    assertNotRegistered();
+    assertThat(testList).hasSize(1);
+  }
+
+  @Test
+  public void testIteratorRemove() {
+    testList.add(new TestBean());
+    testList.add(testBean);
+    Iterator<TestBean> iterator = testList.iterator();
+    iterator.next();
+    iterator.next();
+    iterator.remove();
+    assertNotRegistered();
+    assertThat(testList).hasSize(1);
+  }
+
+  @Test
+  public void testListIteratorSet() {
+    testList.add(new TestBean());
+    ListIterator<TestBean> iterator = testList.listIterator();
+    iterator.next();
+    iterator.set(testBean);
+    assertRegistered();
+    iterator.set(new TestBean());
+    assertNotRegistered();
+  }
+
+  @Test
+  public void testSubListClear() {
+    testList.add(new TestBean());
+    testList.add(testBean);
+    testList.add(new TestBean());
+    testList.subList(1, 2).clear();
+    assertNotRegistered();
+    assertThat(testList).hasSize(2);
+  }
+
+  @Test
+  public void testSortKeepsRegistration() {
+    TestBean other = new TestBean();
+    testList.add(other);
+    testList.add(testBean);
+    testList.sort(Comparator.comparing(bean -> bean != testBean));
+    assertRegistered();
+    assertThat(testList).containsExactly(testBean, other);
+  }
+
+  @Test
+  public void testReplaceAll() {
+    testList.add(new TestBean());
+    testList.replaceAll(bean -> testBean);
+    assertRegistered();
+    testList.replaceAll(bean -> new TestBean());
+    assertNotRegistered();
+  }
+
+  @Test
+  public void testBulkOperationsAreDelegatedToOriginalList() {
+    CountingList original = new CountingList();
+    List<Integer> list = MCollections.managedList(original);
+    List<Integer> elements = new ArrayList<>();
+    for (int element = 0; element < 10_000; element++) {
+      elements.add(element);
+    }
+    list.addAll(elements);
+    list.removeIf(element -> element % 2 == 0);
+    list.retainAll(Set.of(1, 3, 5));
+    list.addAll(elements);
+    list.removeAll(Set.of(7, 9));
+    assertThat(original.singleElementCalls).isEqualTo(0);
+    Iterator<Integer> iterator = list.iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next() % 3 == 0) {
+        iterator.remove();
+        break;
+      }
+    }
+    list.clear();
+    assertThat(original.singleElementCalls).isEqualTo(1);
+    assertThat(list).isEmpty();
+  }
+
+  /**
+   * Counts the calls that add or remove a single element, which make bulk operations quadratic if they are used for every element
+   */
+  private static final class CountingList extends ArrayList<Integer> {
+    private static final long serialVersionUID = 1L;
+    private int singleElementCalls;
+
+    @Override
+    public boolean add(Integer element) {
+      singleElementCalls++;
+      return super.add(element);
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+      singleElementCalls++;
+      super.add(index, element);
+    }
+
+    @Override
+    public Integer remove(int index) {
+      singleElementCalls++;
+      return super.remove(index);
+    }
+
+    @Override
+    public boolean remove(Object element) {
+      singleElementCalls++;
+      return super.remove(element);
+    }
+  }
 }
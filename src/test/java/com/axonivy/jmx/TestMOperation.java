@@ -3,12 +3,17 @@ package com.axonivy.jmx;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.List;
+
 import javax.management.InstanceNotFoundException;
 import javax.management.IntrospectionException;
 import javax.management.MBeanException;
 import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServer;
 import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
 import javax.management.ReflectionException;
+import javax.management.openmbean.CompositeData;
 
 import org.junit.jupiter.api.Test;
 
@@ -47,6 +52,42 @@ public class TestMOperation extends BaseMTest<TestMOperation.TestBean> {
     }
   }
 
+  public enum State {
+    RUNNING, STOPPED
+  }
+
+  @MComposite
+  public static class Result {
+    @MItem
+    private final String name = "result";
+
+    @MItem
+    private final int count = 3;
+  }
+
+  @MBean("Test:type=ConvertingOperations")
+  public static class ConvertingBean {
+    @MOperation
+    public State state() {
+      return State.RUNNING;
+    }
+
+    @MOperation
+    public List<String> names() {
+      return List.of("a", "b");
+    }
+
+    @MOperation
+    public Result result() {
+      return new Result();
+    }
+
+    @MOperation
+    public Result noResult() {
+      return null;
+    }
+  }
+
   public TestMOperation() throws MalformedObjectNameException {
     super(new TestBean(), "Test:type=TestType");
   }
@@ -65,6 +106,24 @@ public class TestMOperation extends BaseMTest<TestMOperation.TestBean> {
     assertThat(invokeOperation("concat", new Object[] {"Hello", "World"}, new String[] {"java.lang.String", "java.lang.String"})).isEqualTo("HelloWorld");
   }
 
+  @Test
+  public void testInvokeOperationsReturnOpenData() throws Exception {
+    ConvertingBean bean = new ConvertingBean();
+    MBeans.registerMBeanFor(bean);
+    try {
+      ObjectName name = new ObjectName("Test:type=ConvertingOperations");
+      MBeanServer server = MBeans.getMBeanServer();
+      assertThat(server.invoke(name, "state", new Object[0], new String[0])).isEqualTo("RUNNING");
+      assertThat(server.invoke(name, "names", new Object[0], new String[0])).isEqualTo(new String[] {"a", "b"});
+      CompositeData result = (CompositeData) server.invoke(name, "result", new Object[0], new String[0]);
+      assertThat(result.get("name")).isEqualTo("result");
+      assertThat(result.get("count")).isEqualTo(3);
+      assertThat(server.invoke(name, "noResult", new Object[0], new String[0])).isNull();
+    } finally {
+      MBeans.unregisterMBeanFor(bean);
+    }
+  }
+
   @Test
   public void testInvokeArgsOperationWithWrongArgCount() throws InstanceNotFoundException, ReflectionException, MBeanException {
     assertThatThrownBy(() -> invokeOperation("concat", new Object[] {"Hello"}, new String[] {"java.lang.String"})).isInstanceOf(ReflectionException.class);
@@ -0,0 +1,233 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestManagedCollections {
+  private static final AtomicInteger IDS = new AtomicInteger();
+
+  @MBean("Test:type=ManagedCollection,id=#{id}")
+  public static class TestBean {
+    private final int id = IDS.incrementAndGet();
+  }
+
+  @MBean("Test:type=ManagedCollection,id=#{id}")
+  public static class EqualBean {
+    private final int id = IDS.incrementAndGet();
+    private final String key;
+
+    public EqualBean(String key) {
+      this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof EqualBean && ((EqualBean) obj).key.equals(key);
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode();
+    }
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void set() throws Exception {
+    Set<TestBean> set = MCollections.managedSet(new HashSet<TestBean>());
+    TestBean first = new TestBean();
+    TestBean second = new TestBean();
+    assertThat(set.add(first)).isTrue();
+    assertThat(set.add(first)).isFalse();
+    set.add(second);
+    assertThat(registered()).isEqualTo(2);
+    set.remove(first);
+    assertThat(isRegistered(first)).isFalse();
+    assertThat(isRegistered(second)).isTrue();
+    set.clear();
+    assertThat(registered()).isEqualTo(0);
+  }
+
+  @Test
+  public void setIteratorRemove() throws Exception {
+    Set<TestBean> set = MCollections.managedSet(new HashSet<TestBean>());
+    for (int count = 0; count < 10; count++) {
+      set.add(new TestBean());
+    }
+    Iterator<TestBean> iterator = set.iterator();
+    iterator.next();
+    iterator.remove();
+    assertThat(registered()).isEqualTo(9);
+    set.removeIf(bean -> bean.id % 2 == 0);
+    assertThat(registered()).isEqualTo(set.size());
+  }
+
+  @Test
+  public void queue() throws Exception {
+    Queue<TestBean> queue = MCollections.managedQueue(new ConcurrentLinkedQueue<TestBean>());
+    TestBean first = new TestBean();
+    TestBean second = new TestBean();
+    TestBean third = new TestBean();
+    queue.offer(first);
+    queue.add(second);
+    queue.add(third);
+    assertThat(registered()).isEqualTo(3);
+    assertThat(queue.poll()).isSameAs(first);
+    assertThat(isRegistered(first)).isFalse();
+    assertThat(queue.remove(third)).isTrue();
+    assertThat(isRegistered(third)).isFalse();
+    Iterator<TestBean> iterator = queue.iterator();
+    iterator.next();
+    iterator.remove();
+    assertThat(registered()).isEqualTo(0);
+    assertThat(queue).isEmpty();
+  }
+
+  @Test
+  public void deque() throws Exception {
+    Deque<TestBean> deque = MCollections.managedDeque(new ArrayDeque<TestBean>());
+    TestBean first = new TestBean();
+    TestBean second = new TestBean();
+    TestBean third = new TestBean();
+    deque.push(second);
+    deque.push(first);
+    deque.offerLast(third);
+    assertThat(registered()).isEqualTo(3);
+    assertThat(deque.pollLast()).isSameAs(third);
+    assertThat(isRegistered(third)).isFalse();
+    assertThat(deque.pop()).isSameAs(first);
+    assertThat(isRegistered(first)).isFalse();
+    Iterator<TestBean> iterator = deque.descendingIterator();
+    iterator.next();
+    iterator.remove();
+    assertThat(registered()).isEqualTo(0);
+  }
+
+  @Test
+  public void removeEqualInstance() throws Exception {
+    Set<EqualBean> set = MCollections.managedSet(new HashSet<EqualBean>());
+    EqualBean inSet = new EqualBean("a");
+    set.add(inSet);
+    assertThat(set.remove(new EqualBean("a"))).isTrue();
+    assertThat(isRegistered(inSet.id)).isFalse();
+
+    Queue<EqualBean> queue = MCollections.managedQueue(new ConcurrentLinkedQueue<EqualBean>());
+    EqualBean inQueue = new EqualBean("b");
+    queue.add(inQueue);
+    assertThat(queue.remove(new EqualBean("b"))).isTrue();
+    assertThat(isRegistered(inQueue.id)).isFalse();
+
+    Deque<EqualBean> deque = MCollections.managedDeque(new ArrayDeque<EqualBean>());
+    EqualBean first = new EqualBean("c");
+    EqualBean last = new EqualBean("c");
+    deque.add(first);
+    deque.add(last);
+    assertThat(deque.removeLastOccurrence(new EqualBean("c"))).isTrue();
+    assertThat(isRegistered(last.id)).isFalse();
+    assertThat(isRegistered(first.id)).isTrue();
+    assertThat(deque.removeFirstOccurrence(new EqualBean("c"))).isTrue();
+    assertThat(isRegistered(first.id)).isFalse();
+    assertThat(deque.removeFirstOccurrence(new EqualBean("c"))).isFalse();
+    assertThat(registered()).isEqualTo(0);
+  }
+
+  @Test
+  public void concurrentSet() throws Exception {
+    List<TestBean> beans = new ArrayList<>();
+    for (int count = 0; count < 16; count++) {
+      beans.add(new TestBean());
+    }
+    Set<TestBean> set = MCollections.managedSet(ConcurrentHashMap.<TestBean>newKeySet());
+    runConcurrently(random -> {
+      TestBean bean = beans.get(random.nextInt(beans.size()));
+      if (random.nextBoolean()) {
+        set.add(bean);
+      } else {
+        set.remove(bean);
+      }
+    });
+    assertThat(registered()).isEqualTo(set.size());
+    for (TestBean bean : beans) {
+      assertThat(isRegistered(bean)).isEqualTo(set.contains(bean));
+    }
+  }
+
+  @Test
+  public void concurrentQueue() throws Exception {
+    Queue<TestBean> queue = MCollections.managedQueue(new ConcurrentLinkedQueue<TestBean>());
+    runConcurrently(random -> {
+      if (random.nextBoolean()) {
+        queue.offer(new TestBean());
+      } else {
+        queue.poll();
+      }
+    });
+    assertThat(registered()).isEqualTo(queue.size());
+    queue.clear();
+    assertThat(registered()).isEqualTo(0);
+  }
+
+  private static void runConcurrently(Consumer<ThreadLocalRandom> action) throws Exception {
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < threads; thread++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int count = 0; count < 1000; count++) {
+            action.accept(ThreadLocalRandom.current());
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static boolean isRegistered(TestBean bean) throws MalformedObjectNameException {
+    return isRegistered(bean.id);
+  }
+
+  private static boolean isRegistered(int id) throws MalformedObjectNameException {
+    return MBeans.getMBeanServer().isRegistered(new ObjectName("Test:type=ManagedCollection,id=" + id));
+  }
+
+  private static int registered() throws MalformedObjectNameException {
+    return MBeans.getMBeanServer().queryNames(new ObjectName("Test:type=ManagedCollection,*"), null).size();
+  }
+}
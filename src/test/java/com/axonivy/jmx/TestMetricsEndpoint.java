@@ -0,0 +1,117 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestMetricsEndpoint {
+  private final HttpClient client = HttpClient.newHttpClient();
+  private IMetricsEndpoint endpoint;
+
+  @MBean("Test:type=Endpoint,name=#{name}")
+  public static class TestBean {
+    private final String name;
+
+    @MAttribute
+    private final int count;
+
+    @MAttribute
+    private final String text = "say \"hello\"";
+
+    public TestBean(String name, int count) {
+      this.name = name;
+      this.count = count;
+    }
+  }
+
+  @BeforeEach
+  public void before() throws Exception {
+    MBeans.registerMBeanFor(new TestBean("first", 1));
+    MBeans.registerMBeanFor(new TestBean("second", 2));
+    endpoint = MBeans.startMetricsEndpoint(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+  }
+
+  @AfterEach
+  public void after() {
+    endpoint.close();
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void metrics() throws Exception {
+    HttpResponse<String> response = get("/metrics");
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith("application/openmetrics-text"));
+    assertThat(response.body()).contains("Test_Endpoint_count{name=\"first\"} 1\n");
+    assertThat(response.body()).endsWith("# EOF\n");
+  }
+
+  @Test
+  public void mBeans() throws Exception {
+    HttpResponse<String> response = get("/mbeans?pattern=" + URLEncoder.encode("Test:type=Endpoint,name=first", StandardCharsets.UTF_8));
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.body()).isEqualTo(
+        "[{\"objectName\":\"Test:type=Endpoint,name=first\",\"attributes\":{\"count\":1,\"text\":\"say \\\"hello\\\"\"}}]");
+  }
+
+  @Test
+  public void mBeansWithPattern() throws Exception {
+    HttpResponse<String> response = get("/mbeans?pattern=" + URLEncoder.encode("Test:type=Endpoint,*", StandardCharsets.UTF_8));
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.body()).contains("name=first", "name=second");
+  }
+
+  @Test
+  public void invalidPattern() throws Exception {
+    HttpResponse<String> response = get("/mbeans?pattern=invalid");
+    assertThat(response.statusCode()).isEqualTo(400);
+  }
+
+  @Test
+  public void onlyExactPaths() throws Exception {
+    assertThat(get("/metricsfoo").statusCode()).isEqualTo(404);
+    assertThat(get("/metrics/").statusCode()).isEqualTo(404);
+    assertThat(get("/mbeans/anything").statusCode()).isEqualTo(404);
+    assertThat(get("/other").statusCode()).isEqualTo(404);
+  }
+
+  @Test
+  public void onlyGet() throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(uri("/metrics")).POST(HttpRequest.BodyPublishers.noBody()).build();
+    assertThat(client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(405);
+  }
+
+  @Test
+  public void concurrentScrapes() throws Exception {
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int count = 0; count < 20; count++) {
+      HttpRequest request = HttpRequest.newBuilder(uri(count % 2 == 0 ? "/metrics" : "/mbeans")).build();
+      responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+    }
+    for (CompletableFuture<HttpResponse<String>> response : responses) {
+      assertThat(response.get().statusCode()).isEqualTo(200);
+    }
+  }
+
+  private HttpResponse<String> get(String path) throws Exception {
+    return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://" + endpoint.getAddress().getHostString() + ":" + endpoint.getAddress().getPort() + path);
+  }
+}
@@ -0,0 +1,77 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestOpenMetrics {
+  @MBean("Test:type=Metrics,name=#{name}")
+  public static class TestBean {
+    private final String name;
+
+    @MAttribute(description = "Number of \"events\"")
+    private final int count;
+
+    @MAttribute
+    private final double ratio = 0.5d;
+
+    @MAttribute
+    private final boolean active = true;
+
+    @MAttribute
+    private final String text = "not exported";
+
+    public TestBean(String name, int count) {
+      this.name = name;
+      this.count = count;
+    }
+  }
+
+  @MBean("Test:name=\"quoted,name\"")
+  public static class QuotedBean {
+    @MAttribute
+    private final long value = 7L;
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void writeOpenMetrics() throws IOException {
+    MBeans.registerMBeanFor(new TestBean("first", 1));
+    MBeans.registerMBeanFor(new TestBean("second", 2));
+    StringBuilder out = new StringBuilder();
+    MBeans.writeOpenMetrics(out);
+    String metrics = out.toString();
+    assertThat(metrics).contains(
+        "# TYPE Test_Metrics_count gauge\n" +
+        "# HELP Test_Metrics_count Number of \\\"events\\\"\n");
+    assertThat(metrics).contains("Test_Metrics_count{name=\"first\"} 1\n");
+    assertThat(metrics).contains("Test_Metrics_count{name=\"second\"} 2\n");
+    assertThat(metrics).contains("Test_Metrics_ratio{name=\"first\"} 0.5\n");
+    assertThat(metrics).contains("Test_Metrics_active{name=\"second\"} 1\n");
+    assertThat(metrics).doesNotContain("text");
+    assertThat(metrics).endsWith("# EOF\n");
+    assertThat(metrics.indexOf("# TYPE Test_Metrics_count")).isEqualTo(metrics.lastIndexOf("# TYPE Test_Metrics_count"));
+  }
+
+  @Test
+  public void quotedLabelValue() throws IOException {
+    MBeans.registerMBeanFor(new QuotedBean());
+    StringBuilder out = new StringBuilder();
+    MBeans.writeOpenMetrics(out);
+    assertThat(out.toString()).contains("Test_value{name=\"quoted,name\"} 7\n");
+  }
+
+  @Test
+  public void nothingRegistered() throws IOException {
+    StringBuilder out = new StringBuilder();
+    MBeans.writeOpenMetrics(out);
+    assertThat(out.toString()).isEqualTo("# EOF\n");
+  }
+}
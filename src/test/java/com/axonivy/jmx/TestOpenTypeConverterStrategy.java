@@ -0,0 +1,173 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+import javax.management.MBeanException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestOpenTypeConverterStrategy extends BaseMTest<TestOpenTypeConverterStrategy.TestBean> {
+  private final DurationConverterStrategy durationStrategy = new DurationConverterStrategy();
+  private final UriConverterStrategy uriStrategy = new UriConverterStrategy();
+
+  @MBean("Test:type=TestType")
+  public static class TestBean {
+    @MAttribute(isWritable = true)
+    private Duration duration = Duration.ofSeconds(2);
+
+    @MAttribute
+    private final ByteBuffer id = ByteBuffer.wrap(new byte[] {0x0a, 0x1b, (byte) 0xff});
+
+    @MAttribute
+    private final URI uri = URI.create("https://www.axonivy.com");
+  }
+
+  public static class ByteBufferConverterStrategy implements IOpenTypeConverterStrategy {
+    public ByteBufferConverterStrategy() {
+      // providers may use the library while they are created
+      assertThat(MBeans.getMBeanServer()).isNotNull();
+    }
+
+    @Override
+    public boolean canHandle(Type type) {
+      return ByteBuffer.class.equals(type);
+    }
+
+    @Override
+    public OpenType<?> toOpenType(Type type) {
+      return SimpleType.STRING;
+    }
+
+    @Override
+    public IValueConverter getValueConverter(Type type) {
+      return value -> {
+        if (value == null) {
+          return null;
+        }
+        ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+        StringBuilder hex = new StringBuilder();
+        while (buffer.hasRemaining()) {
+          hex.append(String.format("%02x", buffer.get()));
+        }
+        return hex.toString();
+      };
+    }
+  }
+
+  private static class DurationConverterStrategy implements IOpenTypeConverterStrategy {
+    @Override
+    public boolean canHandle(Type type) {
+      return Duration.class.equals(type);
+    }
+
+    @Override
+    public OpenType<?> toOpenType(Type type) {
+      return SimpleType.LONG;
+    }
+
+    @Override
+    public IValueConverter getValueConverter(Type type) {
+      return new IValueConverter() {
+        @Override
+        public Object toOpenDataValue(Object javaValue) {
+          return javaValue == null ? null : ((Duration) javaValue).toMillis();
+        }
+
+        @Override
+        public Object toJavaValue(Object openDataValue) throws MBeanException {
+          return openDataValue == null ? null : Duration.ofMillis((Long) openDataValue);
+        }
+      };
+    }
+  }
+
+  private static class UriConverterStrategy implements IOpenTypeConverterStrategy {
+    @Override
+    public boolean canHandle(Type type) {
+      return URI.class.equals(type);
+    }
+
+    @Override
+    public OpenType<?> toOpenType(Type type) {
+      return SimpleType.STRING;
+    }
+
+    @Override
+    public IValueConverter getValueConverter(Type type) {
+      return value -> value == null ? null : ((URI) value).getHost();
+    }
+
+    @Override
+    public int getPriority() {
+      return 10;
+    }
+  }
+
+  public TestOpenTypeConverterStrategy() throws MalformedObjectNameException {
+    super(new TestBean(), "Test:type=TestType");
+  }
+
+  @Override
+  @BeforeEach
+  public void before() {
+    MBeans.addOpenTypeConverterStrategy(durationStrategy);
+    MBeans.addOpenTypeConverterStrategy(uriStrategy);
+    super.before();
+  }
+
+  @Override
+  @AfterEach
+  public void after() {
+    super.after();
+    MBeans.removeOpenTypeConverterStrategy(durationStrategy);
+    MBeans.removeOpenTypeConverterStrategy(uriStrategy);
+  }
+
+  @Test
+  public void testRegisteredStrategy() throws Exception {
+    assertThat(getAttribute("duration")).isEqualTo(2000L);
+    assertThat(getAttributeInfo("duration").getType()).isEqualTo(Long.class.getName());
+  }
+
+  @Test
+  public void testRegisteredStrategyWrite() throws Exception {
+    setAttribute("duration", 5000L);
+    assertThat(testBean.duration).isEqualTo(Duration.ofSeconds(5));
+  }
+
+  @Test
+  public void testServiceLoaderStrategy() throws Exception {
+    assertThat(getAttribute("id")).isEqualTo("0a1bff");
+    assertThat(getAttributeInfo("id").getType()).isEqualTo(String.class.getName());
+  }
+
+  @Test
+  public void testPriorityOverridesBuiltInStrategy() throws Exception {
+    assertThat(getAttribute("uri")).isEqualTo("www.axonivy.com");
+  }
+
+  @Test
+  public void testRemovedStrategyNotUsedForNewTypes() throws Exception {
+    MBeans.removeOpenTypeConverterStrategy(uriStrategy);
+    OtherBean otherBean = new OtherBean();
+    MBeans.registerMBeanFor(otherBean);
+    assertThat(MBeans.getMBeanServer().getAttribute(new ObjectName("Test:type=OtherType"), "uri")).isEqualTo("https://www.axonivy.com");
+  }
+
+  @MBean("Test:type=OtherType")
+  public static class OtherBean {
+    @MAttribute
+    private final URI uri = URI.create("https://www.axonivy.com");
+  }
+}
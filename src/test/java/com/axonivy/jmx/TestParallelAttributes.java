@@ -0,0 +1,147 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestParallelAttributes {
+  private final MBeanServer server = MBeans.getMBeanServer();
+
+  @MBean("Test:type=ParallelAttributes")
+  public static class TestBean {
+    private final CountDownLatch latch = new CountDownLatch(2);
+
+    @MAttribute
+    private final int count = 3;
+
+    @MAttribute(parallel = true)
+    public boolean getFirst() throws InterruptedException {
+      return awaitOther();
+    }
+
+    @MAttribute(parallel = true)
+    public boolean getSecond() throws InterruptedException {
+      return awaitOther();
+    }
+
+    private boolean awaitOther() throws InterruptedException {
+      latch.countDown();
+      return latch.await(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @MBean(value = "Test:type=AllParallelAttributes", parallelAttributes = true)
+  public static class AllParallelBean {
+    private final CountDownLatch latch = new CountDownLatch(2);
+
+    @MAttribute
+    public boolean getFirst() throws InterruptedException {
+      latch.countDown();
+      return latch.await(5, TimeUnit.SECONDS);
+    }
+
+    @MAttribute
+    public boolean getSecond() throws InterruptedException {
+      latch.countDown();
+      return latch.await(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @MBean("Test:type=SlowAttributes")
+  public static class SlowBean {
+    @MAttribute
+    private final String name = "slow";
+
+    @MAttribute(parallel = true)
+    public String getSlow() throws InterruptedException {
+      Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+      return "never";
+    }
+
+    @MAttribute(parallel = true)
+    public String getFast() {
+      return "fast";
+    }
+  }
+
+  @MBean("Test:type=ContextAttributes")
+  public static class ContextBean {
+    @MAttribute(parallel = true)
+    public boolean getFirst() {
+      return ThreadContext.active.get();
+    }
+
+    @MAttribute(parallel = true)
+    public boolean getSecond() {
+      return ThreadContext.active.get();
+    }
+  }
+
+  private static final class ThreadContext implements IExecutionContext {
+    private static final ThreadLocal<Boolean> active = ThreadLocal.withInitial(() -> false);
+
+    @Override
+    public <T> T executeInContext(Callable<T> callee) throws Exception {
+      active.set(true);
+      try {
+        return callee.call();
+      } finally {
+        active.set(false);
+      }
+    }
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+    MBeans.setParallelAttributeReadTimeout(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void parallelAttributesAreReadConcurrently() throws Exception {
+    MBeans.registerMBeanFor(new TestBean());
+    AttributeList attributes = server.getAttributes(new ObjectName("Test:type=ParallelAttributes"), new String[] {"first", "count", "second"});
+    assertThat(attributes.asList()).extracting(Attribute::getName).containsExactly("first", "count", "second");
+    assertThat(attributes.asList()).extracting(Attribute::getValue).containsExactly(true, 3, true);
+  }
+
+  @Test
+  public void allAttributesOfBeanAreReadConcurrently() throws Exception {
+    MBeans.registerMBeanFor(new AllParallelBean());
+    AttributeList attributes = server.getAttributes(new ObjectName("Test:type=AllParallelAttributes"), new String[] {"first", "second"});
+    assertThat(attributes.asList()).extracting(Attribute::getValue).containsExactly(true, true);
+  }
+
+  @Test
+  public void timeoutReturnsRemainingAttributes() throws Exception {
+    MBeans.setParallelAttributeReadTimeout(200, TimeUnit.MILLISECONDS);
+    MBeans.registerMBeanFor(new SlowBean());
+    long startTime = System.nanoTime();
+    AttributeList attributes = server.getAttributes(new ObjectName("Test:type=SlowAttributes"), new String[] {"name", "slow", "fast"});
+    assertThat(System.nanoTime() - startTime).isLessThan(TimeUnit.SECONDS.toNanos(5));
+    assertThat(attributes.asList()).extracting(Attribute::getValue).containsExactly("slow", "fast");
+  }
+
+  @Test
+  public void parallelAttributesAreReadInExecutionContext() throws Exception {
+    ThreadContext context = new ThreadContext();
+    MBeans.addExecutionContext(context);
+    try {
+      MBeans.registerMBeanFor(new ContextBean());
+      AttributeList attributes = server.getAttributes(new ObjectName("Test:type=ContextAttributes"), new String[] {"first", "second"});
+      assertThat(attributes.asList()).extracting(Attribute::getValue).containsExactly(true, true);
+    } finally {
+      MBeans.removeExecutionContext(context);
+    }
+  }
+}
@@ -6,6 +6,7 @@ import java.util.Properties;
 
 import javax.management.MBeanAttributeInfo;
 import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
 import javax.management.openmbean.CompositeData;
 import javax.management.openmbean.CompositeDataSupport;
 import javax.management.openmbean.CompositeType;
@@ -26,6 +27,9 @@ public class TestPropertiesConverter extends BaseMTest<TestPropertiesConverter.T
     @MAttribute(isWritable = true)
     private final Properties field = new Properties();
 
+    @MAttribute
+    private Properties field2;
+
     public TestBean() {
       field.setProperty("name", "Weiss");
       field.setProperty("vorname", "Reto");
@@ -103,4 +107,76 @@ public class TestPropertiesConverter extends BaseMTest<TestPropertiesConverter.T
     assertThat(elementCompositeType.getDescription("propertyValue")).isEqualTo("Value of the property");
     assertThat((Object) elementCompositeType.getType("propertyValue")).isEqualTo(SimpleType.STRING);
   }
+
+  @Test
+  public void testReadAttributeConvertsPropertiesWithoutModificationCounterEveryTime() throws Exception {
+    TabularData properties = (TabularData) getAttribute("field");
+    TabularData again = (TabularData) getAttribute("field");
+    assertThat(again).isNotSameAs(properties);
+    assertThat(again.get(new Object[] {"name"})).isNotSameAs(properties.get(new Object[] {"name"}));
+
+    testBean.field.setProperty("name", "Muster");
+    TabularData changed = (TabularData) getAttribute("field");
+    assertThat(changed.get(new Object[] {"name"}).get("propertyValue")).isEqualTo("Muster");
+  }
+
+  @Test
+  public void testReadAttributeWithModificationCounter() throws Exception {
+    CountedProperties counted = new CountedProperties();
+    counted.setProperty("name", "Weiss");
+    testBean.field2 = counted;
+    TabularData properties = (TabularData) getAttribute("field2");
+    TabularData again = (TabularData) getAttribute("field2");
+    assertThat(again.get(new Object[] {"name"})).isSameAs(properties.get(new Object[] {"name"}));
+
+    again.remove(new Object[] {"name"});
+    assertThat(((TabularData) getAttribute("field2")).size()).isEqualTo(1);
+
+    counted.setProperty("name", "Muster");
+    counted.modifications++;
+    TabularData changed = (TabularData) getAttribute("field2");
+    assertThat(changed.get(new Object[] {"name"}).get("propertyValue")).isEqualTo("Muster");
+  }
+
+  @Test
+  public void testReadAttributeWithModificationCounterOfSeveralInstances() throws Exception {
+    MBeans.registerMBeanFor(new PropertiesBean(1));
+    MBeans.registerMBeanFor(new PropertiesBean(2));
+    ObjectName firstName = new ObjectName("Test:type=Properties,id=1");
+    ObjectName secondName = new ObjectName("Test:type=Properties,id=2");
+    CompositeData first = readNameRow(firstName);
+    CompositeData second = readNameRow(secondName);
+    for (int read = 0; read < 3; read++) {
+      assertThat(readNameRow(firstName)).isSameAs(first);
+      assertThat(readNameRow(secondName)).isSameAs(second);
+    }
+    assertThat(second.get("propertyValue")).isEqualTo("Name 2");
+  }
+
+  private static CompositeData readNameRow(ObjectName name) throws Exception {
+    return ((TabularData) MBeans.getMBeanServer().getAttribute(name, "properties")).get(new Object[] {"name"});
+  }
+
+  @MBean("Test:type=Properties,id=#{id}")
+  public static class PropertiesBean {
+    private final int id;
+
+    @MAttribute
+    private final Properties properties = new CountedProperties();
+
+    public PropertiesBean(int id) {
+      this.id = id;
+      properties.setProperty("name", "Name " + id);
+    }
+  }
+
+  private static class CountedProperties extends Properties implements IModificationCounter {
+    private static final long serialVersionUID = 1L;
+    private long modifications;
+
+    @Override
+    public long getModificationCount() {
+      return modifications;
+    }
+  }
 }
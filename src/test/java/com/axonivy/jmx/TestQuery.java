@@ -0,0 +1,111 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestQuery {
+  @MBean("Test:type=Case,app=#{app},id=#{id}")
+  public static class CaseBean {
+    private final String app;
+    private final int id;
+
+    @MCompositionReference(concatName = true)
+    private final TaskBean task = new TaskBean();
+
+    public CaseBean(String app, int id) {
+      this.app = app;
+      this.id = id;
+    }
+  }
+
+  @MBean("task=Task")
+  public static class TaskBean {
+    @MAttribute
+    private final int state = 1;
+  }
+
+  @MBean("Other:type=Case,app=#{app}")
+  public static class OtherBean {
+    private final String app;
+
+    public OtherBean(String app) {
+      this.app = app;
+    }
+  }
+
+  private final CaseBean x1 = new CaseBean("X", 1);
+  private final CaseBean x2 = new CaseBean("X", 2);
+  private final CaseBean y1 = new CaseBean("Y", 1);
+  private final OtherBean otherX = new OtherBean("X");
+
+  @BeforeEach
+  public void before() {
+    MBeans.registerMBeanFor(x1);
+    MBeans.registerMBeanFor(x2);
+    MBeans.registerMBeanFor(y1);
+    MBeans.registerMBeanFor(otherX);
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void queryByKeyProperty() {
+    assertThat(MBeans.query(name("Test:type=Case,app=X,*"))).containsExactlyInAnyOrder(
+        name("Test:type=Case,app=X,id=1"),
+        name("Test:type=Case,app=X,id=2"),
+        name("Test:type=Case,app=X,id=1,task=Task"),
+        name("Test:type=Case,app=X,id=2,task=Task"));
+  }
+
+  @Test
+  public void queryExactName() {
+    assertThat(MBeans.query(name("Test:type=Case,app=Y,id=1"))).containsExactly(name("Test:type=Case,app=Y,id=1"));
+    assertThat(MBeans.query(name("Test:type=Case,app=Z,id=1"))).isEmpty();
+  }
+
+  @Test
+  public void queryDomainPattern() {
+    assertThat(MBeans.query(name("*:app=X,*"))).contains(name("Other:type=Case,app=X"), name("Test:type=Case,app=X,id=1"));
+    assertThat(MBeans.query(name("Te?t:task=Task,*"))).hasSize(3);
+  }
+
+  @Test
+  public void queryPropertyValuePattern() {
+    assertThat(MBeans.query(name("Test:type=Case,app=*,id=1"))).containsExactlyInAnyOrder(
+        name("Test:type=Case,app=X,id=1"),
+        name("Test:type=Case,app=Y,id=1"));
+  }
+
+  @Test
+  public void queryOnlyRegisteredMBeans() {
+    assertThat(MBeans.query(name("java.lang:*"))).isEmpty();
+    MBeans.unregisterMBeanFor(x1);
+    assertThat(MBeans.query(name("Test:app=X,*"))).hasSize(2);
+  }
+
+  @Test
+  public void unregisterByPattern() {
+    assertThat(MBeans.unregisterMBeans(name("Test:type=Case,app=X,id=*"))).isEqualTo(2);
+    assertThat(MBeans.getMBeanServer().isRegistered(name("Test:type=Case,app=X,id=1"))).isFalse();
+    assertThat(MBeans.getMBeanServer().isRegistered(name("Test:type=Case,app=X,id=1,task=Task"))).isFalse();
+    assertThat(MBeans.getMBeanServer().isRegistered(name("Test:type=Case,app=Y,id=1"))).isTrue();
+    assertThat(MBeans.query(name("*:app=X,*"))).containsExactly(name("Other:type=Case,app=X"));
+  }
+
+  private static ObjectName name(String name) {
+    try {
+      return new ObjectName(name);
+    } catch (MalformedObjectNameException ex) {
+      throw new MException(ex);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestQueryService {
+  private static final String[] SIGNATURE = {ObjectName.class.getName(), String.class.getName()};
+  private final MBeanServer server = MBeans.getMBeanServer();
+
+  @MBean("Test:type=Queried,id=#{id}")
+  public static class TestBean {
+    private final int id;
+
+    @MAttribute
+    private final int count;
+
+    @MAttribute
+    private final List<String> tags = List.of("a", "b");
+
+    public TestBean(int id) {
+      this.id = id;
+      this.count = id * 2;
+    }
+
+    @MAttribute
+    public String getFailing() {
+      throw new IllegalStateException("failing");
+    }
+
+    @MAttribute
+    public int getSlow() throws InterruptedException {
+      if (id == 0) {
+        Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+      }
+      return id;
+    }
+  }
+
+  @MBean("Test:type=Queried,name=Other")
+  public static class OtherBean {
+    @MAttribute
+    private final String other = "other";
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+    MBeans.setParallelAttributeReadTimeout(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void readAttribute() throws Exception {
+    for (int id = 0; id < 200; id++) {
+      MBeans.registerMBeanFor(new TestBean(id));
+    }
+    MBeans.registerMBeanFor(new OtherBean());
+
+    TabularData values = readAttribute("Test:type=Queried,*", "count");
+    assertThat(values.size()).isEqualTo(200);
+    CompositeData row = values.get(new Object[] {new ObjectName("Test:type=Queried,id=21")});
+    assertThat(row.get("value")).isEqualTo("42");
+  }
+
+  @Test
+  public void readArrayAttribute() throws Exception {
+    MBeans.registerMBeanFor(new TestBean(1));
+    TabularData values = readAttribute("Test:type=Queried,id=1", "tags");
+    assertThat(values.get(new Object[] {new ObjectName("Test:type=Queried,id=1")}).get("value")).isEqualTo("[a, b]");
+  }
+
+  @Test
+  public void failingAndMissingAttributesAreSkipped() throws Exception {
+    MBeans.registerMBeanFor(new TestBean(1));
+    MBeans.registerMBeanFor(new OtherBean());
+    assertThat(readAttribute("Test:type=Queried,*", "failing").isEmpty()).isTrue();
+    assertThat(readAttribute("Test:type=Queried,*", "other").size()).isEqualTo(1);
+  }
+
+  @Test
+  public void attributesNotReadWithinTimeoutAreSkipped() throws Exception {
+    MBeans.setParallelAttributeReadTimeout(200, TimeUnit.MILLISECONDS);
+    for (int id = 0; id < 100; id++) {
+      MBeans.registerMBeanFor(new TestBean(id));
+    }
+    long startTime = System.nanoTime();
+    TabularData values = readAttribute("Test:type=Queried,*", "slow");
+    assertThat(System.nanoTime() - startTime).isLessThan(TimeUnit.SECONDS.toNanos(5));
+    assertThat(values.size()).isEqualTo(99);
+    assertThat(values.get(new Object[] {new ObjectName("Test:type=Queried,id=0")})).isNull();
+  }
+
+  private TabularData readAttribute(String pattern, String attribute) throws Exception {
+    return (TabularData) server.invoke(new ObjectName("ivymx:type=Query"), "readAttribute", new Object[] {new ObjectName(pattern), attribute}, SIGNATURE);
+  }
+}
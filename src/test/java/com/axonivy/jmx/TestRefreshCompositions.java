@@ -0,0 +1,116 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestRefreshCompositions {
+  @MBean("Test:type=Refresh")
+  public static class ParentBean {
+    @MCompositionReference(concatName = true)
+    private ChildBean first = new ChildBean("first");
+
+    @MCompositionReference(concatName = true)
+    private ChildBean second = new ChildBean("second");
+  }
+
+  @MBean("child=#{name}")
+  public static class ChildBean {
+    private final String name;
+
+    @MCompositionReference(concatName = true)
+    private LeafBean leaf;
+
+    public ChildBean(String name) {
+      this.name = name;
+    }
+  }
+
+  @MBean("leaf=Leaf")
+  public static class LeafBean {
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.setCompositionRefreshInterval(0, TimeUnit.MILLISECONDS);
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void replacedChild() throws Exception {
+    ParentBean parent = new ParentBean();
+    MBeans.registerMBeanFor(parent);
+    ChildBean second = parent.second;
+    parent.first = new ChildBean("replaced");
+
+    assertThat(MBeans.refreshCompositions(parent)).isEqualTo(2);
+    assertThat(server().isRegistered(name("Test:type=Refresh,child=first"))).isFalse();
+    assertThat(server().isRegistered(name("Test:type=Refresh,child=replaced"))).isTrue();
+    assertThat(server().isRegistered(name("Test:type=Refresh,child=second"))).isTrue();
+
+    MBeans.unregisterMBeanFor(parent);
+    assertThat(server().queryNames(name("Test:type=Refresh,*"), null)).isEmpty();
+    assertThat(MBeans.refreshCompositions(second)).isEqualTo(0);
+  }
+
+  @Test
+  public void unchanged() throws Exception {
+    ParentBean parent = new ParentBean();
+    MBeans.registerMBeanFor(parent);
+    assertThat(MBeans.refreshCompositions(parent)).isEqualTo(0);
+    assertThat(server().queryNames(name("Test:type=Refresh,*"), null)).hasSize(3);
+  }
+
+  @Test
+  public void removedAndAddedInSubtree() throws Exception {
+    ParentBean parent = new ParentBean();
+    MBeans.registerMBeanFor(parent);
+    parent.second = null;
+    parent.first.leaf = new LeafBean();
+
+    assertThat(MBeans.refreshCompositions(parent)).isEqualTo(2);
+    assertThat(server().queryNames(name("Test:type=Refresh,*"), null)).containsExactlyInAnyOrder(
+        name("Test:type=Refresh"),
+        name("Test:type=Refresh,child=first"),
+        name("Test:type=Refresh,child=first,leaf=Leaf"));
+  }
+
+  @Test
+  public void weaklyRegistered() throws Exception {
+    ParentBean parent = new ParentBean();
+    MBeans.registerMBeanWeaklyFor(parent);
+    parent.first = new ChildBean("replaced");
+    assertThat(MBeans.refreshCompositions(parent)).isEqualTo(2);
+    assertThat(server().isRegistered(name("Test:type=Refresh,child=replaced"))).isTrue();
+    assertThat(server().isRegistered(name("Test:type=Refresh,child=first"))).isFalse();
+  }
+
+  @Test
+  public void periodicRefresh() throws Exception {
+    ParentBean parent = new ParentBean();
+    MBeans.registerMBeanFor(parent);
+    parent.first = new ChildBean("replaced");
+    MBeans.setCompositionRefreshInterval(10, TimeUnit.MILLISECONDS);
+    ObjectName replaced = name("Test:type=Refresh,child=replaced");
+    for (int count = 0; count < 200 && !server().isRegistered(replaced); count++) {
+      Thread.sleep(10);
+    }
+    assertThat(server().isRegistered(replaced)).isTrue();
+    assertThat(server().isRegistered(name("Test:type=Refresh,child=first"))).isFalse();
+  }
+
+  private static ObjectName name(String name) throws MalformedObjectNameException {
+    return new ObjectName(name);
+  }
+
+  private static MBeanServer server() {
+    return MBeans.getMBeanServer();
+  }
+}
@@ -0,0 +1,133 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestRegistrationRateLimit {
+  private static final AtomicInteger IDS = new AtomicInteger();
+  private static final int PERMITS = 10;
+  private final MBeanServer server = MBeans.getMBeanServer();
+  private final List<TestBean> list = MCollections.managedList(new ArrayList<>());
+
+  @MBean("Test:type=Limited,id=#{id}")
+  public static class TestBean {
+    private final int id = IDS.incrementAndGet();
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.setRegistrationRateLimit(0, MRateLimitPolicy.DROP);
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void drop() throws Exception {
+    MBeans.setRegistrationRateLimit(PERMITS, MRateLimitPolicy.DROP);
+    addBeans(50);
+    int registered = registered().size();
+    assertThat(registered).isBetween(PERMITS, PERMITS + 2);
+    assertThat(limiterAttribute("droppedRegistrations")).isEqualTo((long) (50 - registered));
+    list.clear();
+    assertThat(registered()).isEmpty();
+  }
+
+  @Test
+  public void deferCoalescesAndRegistersLater() throws Exception {
+    MBeans.setRegistrationRateLimit(PERMITS, MRateLimitPolicy.DEFER);
+    addBeans(20);
+    int registered = registered().size();
+    assertThat(registered).isBetween(PERMITS, PERMITS + 2);
+    int pending = (Integer) limiterAttribute("pendingRegistrations");
+    assertThat(pending).isEqualTo(20 - registered);
+
+    TestBean last = list.get(19);
+    list.remove(19);
+    assertThat(limiterAttribute("pendingRegistrations")).isEqualTo(pending - 1);
+
+    long timeout = System.currentTimeMillis() + 5_000;
+    while (registered().size() < 19 && System.currentTimeMillis() < timeout) {
+      Thread.sleep(50);
+    }
+    assertThat(registered()).hasSize(19).doesNotContain(name(last));
+    assertThat(limiterAttribute("pendingRegistrations")).isEqualTo(0);
+  }
+
+  @Test
+  public void disablingRegistersDeferred() throws Exception {
+    MBeans.setRegistrationRateLimit(PERMITS, MRateLimitPolicy.DEFER);
+    addBeans(30);
+    MBeans.setRegistrationRateLimit(0, MRateLimitPolicy.DEFER);
+    assertThat(registered()).hasSize(30);
+    assertThat(server.isRegistered(new ObjectName("ivymx:type=RegistrationLimiter"))).isFalse();
+  }
+
+  @Test
+  public void aggregateOnly() throws Exception {
+    MBeans.setRegistrationRateLimit(PERMITS, MRateLimitPolicy.AGGREGATE_ONLY);
+    addBeans(50);
+    int registered = registered().size();
+    assertThat(aggregatedCount()).isEqualTo(50 - registered);
+    list.clear();
+    assertThat(registered()).isEmpty();
+    assertThat(aggregatedCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void batchIsLimited() throws Exception {
+    MBeans.setRegistrationRateLimit(PERMITS, MRateLimitPolicy.DROP);
+    List<TestBean> beans = new ArrayList<>();
+    for (int pos = 0; pos < 50; pos++) {
+      beans.add(new TestBean());
+    }
+    list.addAll(beans);
+    assertThat(registered().size()).isBetween(PERMITS, PERMITS + 2);
+  }
+
+  @Test
+  public void directRegistrationIsNotLimited() throws Exception {
+    MBeans.setRegistrationRateLimit(PERMITS, MRateLimitPolicy.DROP);
+    for (int pos = 0; pos < 50; pos++) {
+      MBeans.registerMBeanFor(new TestBean());
+    }
+    assertThat(registered()).hasSize(50);
+  }
+
+  private void addBeans(int count) {
+    for (int pos = 0; pos < count; pos++) {
+      list.add(new TestBean());
+    }
+  }
+
+  private long aggregatedCount() throws Exception {
+    long count = 0;
+    for (CompositeData type : (CompositeData[]) limiterAttribute("aggregatedMBeans")) {
+      if (type.get("mBeanType").equals(TestBean.class.getName())) {
+        count += (Long) type.get("count");
+      }
+    }
+    return count;
+  }
+
+  private Object limiterAttribute(String attribute) throws Exception {
+    return server.getAttribute(new ObjectName("ivymx:type=RegistrationLimiter"), attribute);
+  }
+
+  private static Set<ObjectName> registered() throws Exception {
+    return MBeans.query(new ObjectName("Test:type=Limited,*"));
+  }
+
+  private static ObjectName name(TestBean bean) throws Exception {
+    return new ObjectName("Test:type=Limited,id=" + bean.id);
+  }
+}
@@ -0,0 +1,152 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestSampling {
+  private static final AtomicInteger IDS = new AtomicInteger();
+  private final MBeanServer server = MBeans.getMBeanServer();
+
+  @MBean("Test:type=Sampled,id=#{id}")
+  public static class TestBean {
+    private final int id = IDS.incrementAndGet();
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void everyNth() throws Exception {
+    MSampling sampling = MSampling.everyNth("everyNth", 10);
+    List<TestBean> list = MCollections.managedList(new ArrayList<>(), sampling);
+    for (int pos = 0; pos < 100; pos++) {
+      list.add(new TestBean());
+    }
+    assertThat(registered()).hasSize(10);
+    ObjectName name = new ObjectName("ivymx:type=Sampling,name=everyNth");
+    assertThat(server.getAttribute(name, "addedCount")).isEqualTo(100L);
+    assertThat(server.getAttribute(name, "sampledCount")).isEqualTo(10L);
+    assertThat(server.getAttribute(name, "unsampledCount")).isEqualTo(90L);
+
+    list.clear();
+    assertThat(registered()).isEmpty();
+    assertThat(server.getAttribute(name, "removedCount")).isEqualTo(100L);
+    assertThat(server.getAttribute(name, "sampledCount")).isEqualTo(0L);
+    assertThat(server.getAttribute(name, "unsampledCount")).isEqualTo(0L);
+  }
+
+  @Test
+  public void everyNthBatch() throws Exception {
+    List<TestBean> list = MCollections.managedList(new ArrayList<>(), MSampling.everyNth("batch", 4));
+    List<TestBean> beans = new ArrayList<>();
+    for (int pos = 0; pos < 20; pos++) {
+      beans.add(new TestBean());
+    }
+    list.addAll(beans);
+    assertThat(registered()).hasSize(5);
+  }
+
+  @Test
+  public void reservoirIsBounded() throws Exception {
+    MSampling sampling = MSampling.reservoir("reservoir", 5);
+    Map<Integer, TestBean> map = MCollections.managedMap(new ConcurrentHashMap<>(), sampling);
+    for (int pos = 0; pos < 1000; pos++) {
+      map.put(pos, new TestBean());
+    }
+    assertThat(registered()).hasSize(5);
+    assertThat(sampling.getSampledCount()).isEqualTo(5);
+    assertThat(sampling.getUnsampledCount()).isEqualTo(995);
+    for (ObjectName name : registered()) {
+      int id = Integer.parseInt(name.getKeyProperty("id"));
+      assertThat(map.values()).anyMatch(bean -> bean.id == id);
+    }
+  }
+
+  @Test
+  public void reservoirRefillsAfterRemoval() throws Exception {
+    MSampling sampling = MSampling.reservoir("refill", 2);
+    Map<Integer, TestBean> map = MCollections.managedMap(new ConcurrentHashMap<>(), sampling);
+    map.put(1, new TestBean());
+    map.put(2, new TestBean());
+    map.remove(1);
+    map.remove(2);
+    assertThat(registered()).isEmpty();
+    map.put(3, new TestBean());
+    assertThat(registered()).hasSize(1);
+  }
+
+  @Test
+  public void reservoirIgnoresComputeIfAbsentHits() throws Exception {
+    MSampling sampling = MSampling.reservoir("hits", 4);
+    Map<Integer, TestBean> map = MCollections.managedMap(new ConcurrentHashMap<>(), sampling);
+    map.put(0, new TestBean());
+    for (int pos = 0; pos < 1000; pos++) {
+      map.computeIfAbsent(0, key -> new TestBean());
+      map.computeIfPresent(0, (key, bean) -> bean);
+      map.merge(0, new TestBean(), (bean, other) -> bean);
+    }
+    assertThat(sampling.getAddedCount()).isEqualTo(1);
+    assertThat(sampling.getUnsampledCount()).isEqualTo(0);
+    map.remove(0);
+    for (int pos = 1; pos <= 4; pos++) {
+      map.put(pos, new TestBean());
+    }
+    assertThat(registered()).hasSize(4);
+  }
+
+  @Test
+  public void reservoirConcurrent() throws Exception {
+    MSampling sampling = MSampling.reservoir("concurrent", 8);
+    Map<Integer, TestBean> map = MCollections.managedMap(new ConcurrentHashMap<>(), sampling);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        int offset = thread * 10_000;
+        futures.add(executor.submit(() -> {
+          for (int pos = 0; pos < 2_000; pos++) {
+            map.put(offset + pos, new TestBean());
+            if (pos % 2 == 0) {
+              map.remove(offset + pos);
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(registered().size()).isLessThanOrEqualTo(8);
+    assertThat(sampling.getAddedCount()).isEqualTo(8_000);
+    assertThat(sampling.getRemovedCount()).isEqualTo(4_000);
+  }
+
+  @Test
+  public void invalidPolicy() {
+    assertThatThrownBy(() -> MSampling.everyNth("invalid", 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> MSampling.reservoir("invalid", 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static java.util.Set<ObjectName> registered() throws Exception {
+    return MBeans.query(new ObjectName("Test:type=Sampled,*"));
+  }
+}
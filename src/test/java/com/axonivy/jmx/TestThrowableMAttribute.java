@@ -8,10 +8,12 @@ import javax.management.IntrospectionException;
 import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanException;
 import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
 import javax.management.ReflectionException;
 import javax.management.openmbean.CompositeData;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 public class TestThrowableMAttribute extends BaseMTest<TestThrowableMAttribute.TestBean> {
@@ -28,10 +30,30 @@ public class TestThrowableMAttribute extends BaseMTest<TestThrowableMAttribute.T
     }
   }
 
+  @MBean("Test:type=Errors,id=#{id}")
+  public static class ErrorBean {
+    private final int id;
+
+    @MAttribute
+    private final Exception error;
+
+    public ErrorBean(int id) {
+      this.id = id;
+      this.error = new IllegalStateException("Error " + id);
+    }
+  }
+
   public TestThrowableMAttribute() throws MalformedObjectNameException {
     super(new TestBean(), "Test:type=TestType");
   }
 
+  @Override
+  @AfterEach
+  public void after() {
+    super.after();
+    MBeans.setThrowableStackTraceLimits(-1, -1);
+  }
+
   @Test
   public void testAttributeInfoErrorField() throws IntrospectionException, InstanceNotFoundException, ReflectionException {
     MBeanAttributeInfo attributeInfo = getAttributeInfo("errorField");
@@ -81,4 +103,67 @@ public class TestThrowableMAttribute extends BaseMTest<TestThrowableMAttribute.T
     assertThat(error.get("type")).isEqualTo(RuntimeException.class.getName());
     assertThat(error.get("stackTrace")).isEqualTo(ExceptionUtils.getStackTrace(testBean.errorMethod));
   }
+
+  @Test
+  public void testReadAttributeCauseAndSuppressed() throws AttributeNotFoundException, InstanceNotFoundException, MBeanException, ReflectionException {
+    RuntimeException error = new RuntimeException("Gugus", new IllegalStateException("Cause"));
+    error.addSuppressed(new IllegalArgumentException("Suppressed"));
+    testBean.errorField = error;
+
+    CompositeData value = (CompositeData) getAttribute("errorField");
+    assertThat(value.get("suppressedCount")).isEqualTo(1);
+    CompositeData cause = (CompositeData) value.get("cause");
+    assertThat(cause.get("message")).isEqualTo("Cause");
+    assertThat(cause.get("type")).isEqualTo(IllegalStateException.class.getName());
+
+    testBean.errorField = new RuntimeException("No cause");
+    value = (CompositeData) getAttribute("errorField");
+    assertThat(value.get("cause")).isNull();
+    assertThat(value.get("suppressedCount")).isEqualTo(0);
+  }
+
+  @Test
+  public void testReadAttributeIsCachedPerThrowable() throws AttributeNotFoundException, InstanceNotFoundException, MBeanException, ReflectionException {
+    testBean.errorField = new RuntimeException("Gugus");
+    Object value = getAttribute("errorField");
+    assertThat(getAttribute("errorField")).isSameAs(value);
+
+    testBean.errorField = new RuntimeException("Gugus");
+    assertThat(getAttribute("errorField")).isNotSameAs(value);
+  }
+
+  @Test
+  public void testReadAttributeIsCachedPerThrowableOfEveryInstance() throws Exception {
+    ErrorBean first = new ErrorBean(1);
+    ErrorBean second = new ErrorBean(2);
+    MBeans.registerMBeanFor(first);
+    MBeans.registerMBeanFor(second);
+    ObjectName firstName = new ObjectName("Test:type=Errors,id=1");
+    ObjectName secondName = new ObjectName("Test:type=Errors,id=2");
+    Object firstValue = MBeans.getMBeanServer().getAttribute(firstName, "error");
+    Object secondValue = MBeans.getMBeanServer().getAttribute(secondName, "error");
+    for (int read = 0; read < 3; read++) {
+      assertThat(MBeans.getMBeanServer().getAttribute(firstName, "error")).isSameAs(firstValue);
+      assertThat(MBeans.getMBeanServer().getAttribute(secondName, "error")).isSameAs(secondValue);
+    }
+    assertThat(((CompositeData) secondValue).get("message")).isEqualTo("Error 2");
+  }
+
+  @Test
+  public void testStackTraceLimits() throws AttributeNotFoundException, InstanceNotFoundException, MBeanException, ReflectionException {
+    RuntimeException error = new RuntimeException("Gugus", new IllegalStateException("Cause 1", new IllegalStateException("Cause 2")));
+    testBean.errorField = error;
+    Object unlimited = getAttribute("errorField");
+
+    MBeans.setThrowableStackTraceLimits(1, 1);
+    CompositeData value = (CompositeData) getAttribute("errorField");
+    assertThat(value).isNotSameAs(unlimited);
+    String stackTrace = (String) value.get("stackTrace");
+    assertThat(stackTrace.lines()).hasSize(7);
+    assertThat(stackTrace)
+        .startsWith(error.toString() + System.lineSeparator() + "\tat " + error.getStackTrace()[0])
+        .contains("Caused by: java.lang.IllegalStateException: Cause 1")
+        .doesNotContain("Cause 2")
+        .contains("Caused by: ... (further causes omitted)");
+  }
 }
@@ -0,0 +1,97 @@
+package com.axonivy.jmx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestWeakRegistration {
+  private static final ObjectName DIAGNOSTICS = objectName("ivymx:type=Diagnostics");
+  private static final ObjectName PARENT = objectName("Test:type=Weak,name=parent");
+  private static final ObjectName CHILD = objectName("Test:type=Weak,name=parent,child=Child");
+
+  @MBean("Test:type=Weak,name=#{name}")
+  public static class TestBean {
+    private final String name;
+
+    @MAttribute
+    private final int counter = 42;
+
+    @MCompositionReference(concatName = true)
+    private final ChildBean child;
+
+    public TestBean(String name) {
+      this.name = name;
+      this.child = new ChildBean(this);
+    }
+  }
+
+  @MBean("child=Child")
+  public static class ChildBean {
+    @SuppressWarnings("unused")
+    private final TestBean parent;
+
+    public ChildBean(TestBean parent) {
+      this.parent = parent;
+    }
+  }
+
+  @AfterEach
+  public void after() {
+    MBeans.unregisterAllMBeans();
+  }
+
+  @Test
+  public void registerWeakly() throws Exception {
+    TestBean bean = new TestBean("parent");
+    MBeans.registerMBeanWeaklyFor(bean);
+    assertThat(server().isRegistered(PARENT)).isTrue();
+    assertThat(server().isRegistered(CHILD)).isTrue();
+    assertThat(server().getAttribute(PARENT, "counter")).isEqualTo(42);
+    assertThat(server().getAttribute(DIAGNOSTICS, "weaklyRegisteredMBeans")).isEqualTo(2);
+  }
+
+  @Test
+  public void unregisterWeaklyRegistered() throws Exception {
+    TestBean bean = new TestBean("parent");
+    MBeans.registerMBeanWeaklyFor(bean);
+    MBeans.unregisterMBeanFor(bean);
+    assertThat(server().isRegistered(PARENT)).isFalse();
+    assertThat(server().isRegistered(CHILD)).isFalse();
+  }
+
+  @Test
+  public void garbageCollectedBeansAreUnregistered() throws Exception {
+    MBeans.registerMBeanWeaklyFor(new TestBean("parent"));
+    long reapedBefore = (Long) server().getAttribute(DIAGNOSTICS, "reapedMBeans");
+    assertThat(server().isRegistered(PARENT)).isTrue();
+    for (int count = 0; count < 200 && reaped(reapedBefore) < 2; count++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertThat(reaped(reapedBefore)).isEqualTo(2L);
+    assertThat(server().isRegistered(PARENT)).isFalse();
+    assertThat(server().isRegistered(CHILD)).isFalse();
+    assertThat(server().getAttribute(DIAGNOSTICS, "weaklyRegisteredMBeans")).isEqualTo(0);
+  }
+
+  private static long reaped(long reapedBefore) throws Exception {
+    return (Long) server().getAttribute(DIAGNOSTICS, "reapedMBeans") - reapedBefore;
+  }
+
+  private static ObjectName objectName(String name) {
+    try {
+      return new ObjectName(name);
+    } catch (MalformedObjectNameException ex) {
+      throw new MException(ex);
+    }
+  }
+
+  private static MBeanServer server() {
+    return MBeans.getMBeanServer();
+  }
+}